@@ -10,6 +10,9 @@
  */
 package com.googlecode.paradox;
 
+import com.googlecode.paradox.data.BlockCache;
+import com.googlecode.paradox.data.MappedFileCache;
+import com.googlecode.paradox.data.ScanMode;
 import com.googlecode.paradox.data.filefilters.DirectoryFilter;
 import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
@@ -17,13 +20,16 @@ import com.googlecode.paradox.exceptions.ParadoxException;
 import com.googlecode.paradox.exceptions.ParadoxNotSupportedException;
 import com.googlecode.paradox.metadata.Schema;
 import com.googlecode.paradox.metadata.schema.DirectorySchema;
+import com.googlecode.paradox.metadata.schema.SchemaCache;
 import com.googlecode.paradox.metadata.schema.SystemSchema;
 import com.googlecode.paradox.utils.Expressions;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,7 +37,7 @@ import java.util.stream.Stream;
 /**
  * Stores the connection information properties.
  *
- * @version 1.2
+ * @version 1.12
  * @since 1.6.0
  */
 public final class ConnectionInfo {
@@ -66,6 +72,36 @@ public final class ConnectionInfo {
      */
     public static final String ENABLE_CATALOG_KEY = "enable_catalogs";
 
+    /**
+     * Scan mode property key.
+     */
+    public static final String SCAN_MODE_KEY = "scan_mode";
+
+    /**
+     * Block cache size property key.
+     */
+    public static final String BLOCK_CACHE_SIZE_KEY = "block_cache_size";
+
+    /**
+     * Parallel aggregation property key.
+     */
+    public static final String PARALLEL_AGGREGATION_KEY = "parallel_aggregation";
+
+    /**
+     * Parallel scan property key.
+     */
+    public static final String PARALLEL_SCAN_KEY = "parallel_scan";
+
+    /**
+     * Sort memory property key.
+     */
+    public static final String SORT_MEMORY_KEY = "sort_memory";
+
+    /**
+     * Vectorized execution property key.
+     */
+    public static final String VECTORIZED_KEY = "vectorized";
+
     /**
      * Default charset value.
      */
@@ -96,6 +132,36 @@ public final class ConnectionInfo {
      */
     public static final String DEFAULT_USER = "sys";
 
+    /**
+     * Default scan mode.
+     */
+    public static final ScanMode DEFAULT_SCAN_MODE = ScanMode.CHANNEL;
+
+    /**
+     * Default block cache size (disabled).
+     */
+    public static final long DEFAULT_BLOCK_CACHE_SIZE = 0;
+
+    /**
+     * Default parallel aggregation.
+     */
+    public static final boolean DEFAULT_PARALLEL_AGGREGATION = false;
+
+    /**
+     * Default parallel scan.
+     */
+    public static final boolean DEFAULT_PARALLEL_SCAN = false;
+
+    /**
+     * Default sort memory (sort in memory only).
+     */
+    public static final long DEFAULT_SORT_MEMORY = 0;
+
+    /**
+     * Default vectorized execution.
+     */
+    public static final boolean DEFAULT_VECTORIZED = false;
+
     /**
      * Information schema name.
      */
@@ -151,11 +217,51 @@ public final class ConnectionInfo {
      */
     private String user = DEFAULT_USER;
 
+    /**
+     * How table blocks are read.
+     */
+    private ScanMode scanMode = DEFAULT_SCAN_MODE;
+
+    /**
+     * The shared block cache size used by this connection.
+     */
+    private long blockCacheSize = DEFAULT_BLOCK_CACHE_SIZE;
+
+    /**
+     * Group the rows in parallel.
+     */
+    private boolean parallelAggregation = DEFAULT_PARALLEL_AGGREGATION;
+
+    /**
+     * Decode the table blocks in parallel.
+     */
+    private boolean parallelScan = DEFAULT_PARALLEL_SCAN;
+
+    /**
+     * Memory budget in bytes of each ORDER BY before writing to disk.
+     */
+    private long sortMemory = DEFAULT_SORT_MEMORY;
+
+    /**
+     * Filter the table rows by column batches.
+     */
+    private boolean vectorized = DEFAULT_VECTORIZED;
+
     /**
      * Current warnings.
      */
     private SQLWarning warning;
 
+    /**
+     * The schema metadata caches by canonical directory.
+     */
+    private final Map<File, SchemaCache> schemaCaches = new ConcurrentHashMap<>();
+
+    /**
+     * The memory mapped data files.
+     */
+    private final MappedFileCache mappedFileCache = new MappedFileCache();
+
     /**
      * Creates a new instance.
      *
@@ -295,12 +401,26 @@ public final class ConnectionInfo {
         final String timeZoneId = getPropertyValue(TIMEZONE_KEY, DEFAULT_TIMEZONE.getID(), info);
         final String enableCatalog = getPropertyValue(ENABLE_CATALOG_KEY, String.valueOf(DEFAULT_ENABLE_CATALOG), info);
         final String user = getPropertyValue(USER_KEY, DEFAULT_USER, info);
+        final String blockCacheSize = getPropertyValue(BLOCK_CACHE_SIZE_KEY,
+                String.valueOf(DEFAULT_BLOCK_CACHE_SIZE), info);
+        final String parallelAggregation = getPropertyValue(PARALLEL_AGGREGATION_KEY,
+                String.valueOf(DEFAULT_PARALLEL_AGGREGATION), info);
+        final String parallelScan = getPropertyValue(PARALLEL_SCAN_KEY, String.valueOf(DEFAULT_PARALLEL_SCAN), info);
+        final String sortMemory = getPropertyValue(SORT_MEMORY_KEY, String.valueOf(DEFAULT_SORT_MEMORY), info);
+        final String vectorized = getPropertyValue(VECTORIZED_KEY, String.valueOf(DEFAULT_VECTORIZED), info);
+        final String scanMode = getPropertyValue(SCAN_MODE_KEY, DEFAULT_SCAN_MODE.name().toLowerCase(Locale.US),
+                info);
 
         final DriverPropertyInfo bcdRoundingProp = new DriverPropertyInfo(BCD_ROUNDING_KEY, bcdRounding);
         bcdRoundingProp.choices = new String[]{"true", "false"};
         bcdRoundingProp.required = false;
         bcdRoundingProp.description = "Use BCD double rounding (true to use rounding, the original used by Paradox).";
 
+        final DriverPropertyInfo blockCacheSizeProp = new DriverPropertyInfo(BLOCK_CACHE_SIZE_KEY, blockCacheSize);
+        blockCacheSizeProp.required = false;
+        blockCacheSizeProp.description = "Memory budget in bytes of the block cache shared by all connections, "
+                + "the largest one requested is used (0 to not use the cache).";
+
         final DriverPropertyInfo enableCatalogProp = new DriverPropertyInfo(ENABLE_CATALOG_KEY, enableCatalog);
         enableCatalogProp.choices = new String[]{"true", "false"};
         enableCatalogProp.required = false;
@@ -319,28 +439,61 @@ public final class ConnectionInfo {
         localeProp.description = "The locale to use internally by the driver.";
         Arrays.sort(localeProp.choices);
 
+        final DriverPropertyInfo sortMemoryProp = new DriverPropertyInfo(SORT_MEMORY_KEY, sortMemory);
+        sortMemoryProp.required = false;
+        sortMemoryProp.description = "Approximate memory budget in bytes of each ORDER BY before writing sorted "
+                + "rows to temporary files (0 to sort in memory only).";
+
         final DriverPropertyInfo timeZoneProp = new DriverPropertyInfo(TIMEZONE_KEY, timeZoneId);
         timeZoneProp.choices = TimeZone.getAvailableIDs();
         timeZoneProp.required = false;
         timeZoneProp.description = "Time zone ID for use in date and time functions.";
         Arrays.sort(timeZoneProp.choices);
 
+        final DriverPropertyInfo parallelAggregationProp = new DriverPropertyInfo(PARALLEL_AGGREGATION_KEY,
+                parallelAggregation);
+        parallelAggregationProp.choices = new String[]{"true", "false"};
+        parallelAggregationProp.required = false;
+        parallelAggregationProp.description = "Group the rows in parallel, merging the partial groups.";
+
+        final DriverPropertyInfo parallelScanProp = new DriverPropertyInfo(PARALLEL_SCAN_KEY, parallelScan);
+        parallelScanProp.choices = new String[]{"true", "false"};
+        parallelScanProp.required = false;
+        parallelScanProp.description = "Decode the table blocks in parallel when reading the whole table without filters.";
+
+        final DriverPropertyInfo scanModeProp = new DriverPropertyInfo(SCAN_MODE_KEY, scanMode);
+        scanModeProp.choices = Arrays.stream(ScanMode.values())
+                .map(mode -> mode.name().toLowerCase(Locale.US)).toArray(String[]::new);
+        scanModeProp.required = false;
+        scanModeProp.description = "How table blocks are read (mmap to use memory mapped files).";
+
         final DriverPropertyInfo userProp = new DriverPropertyInfo(USER_KEY, user);
         userProp.required = false;
         userProp.description = "User to use in connection.";
 
+        final DriverPropertyInfo vectorizedProp = new DriverPropertyInfo(VECTORIZED_KEY, vectorized);
+        vectorizedProp.choices = new String[]{"true", "false"};
+        vectorizedProp.required = false;
+        vectorizedProp.description = "Filter the table rows by column batches, one for each table block.";
+
         final DriverPropertyInfo passwordProp = new DriverPropertyInfo("password", "");
         passwordProp.required = false;
         passwordProp.description = "Password to use in connection.";
 
         return new DriverPropertyInfo[]{
                 bcdRoundingProp,
+                blockCacheSizeProp,
                 charset,
                 enableCatalogProp,
                 localeProp,
+                parallelAggregationProp,
+                parallelScanProp,
                 passwordProp,
+                scanModeProp,
+                sortMemoryProp,
                 timeZoneProp,
-                userProp
+                userProp,
+                vectorizedProp
         };
     }
 
@@ -388,6 +541,12 @@ public final class ConnectionInfo {
         properties.put(LOCALE_KEY, locale.toLanguageTag());
         properties.put(DEFAULT_TIMEZONE, timeZone.getID());
         properties.put(USER_KEY, user);
+        properties.put(BLOCK_CACHE_SIZE_KEY, Long.toString(blockCacheSize));
+        properties.put(PARALLEL_AGGREGATION_KEY, Boolean.toString(parallelAggregation));
+        properties.put(PARALLEL_SCAN_KEY, Boolean.toString(parallelScan));
+        properties.put(SORT_MEMORY_KEY, Long.toString(sortMemory));
+        properties.put(VECTORIZED_KEY, Boolean.toString(vectorized));
+        properties.put(SCAN_MODE_KEY, scanMode.name().toLowerCase(Locale.US));
 
         return properties;
     }
@@ -426,6 +585,13 @@ public final class ConnectionInfo {
                 case BCD_ROUNDING_KEY:
                     bcdRounding = getProperty(name, value, errors, DEFAULT_BCD_ROUND, Boolean::parseBoolean);
                     break;
+                case BLOCK_CACHE_SIZE_KEY:
+                    blockCacheSize = getProperty(name, value, errors, DEFAULT_BLOCK_CACHE_SIZE, Long::parseLong);
+                    if (blockCacheSize > 0) {
+                        // Only grows the shared budget, so other connections keep their blocks.
+                        BlockCache.getInstance().ensureMaxSize(blockCacheSize);
+                    }
+                    break;
                 case CHARSET_KEY:
                     charset = getProperty(name, value, errors, DEFAULT_CHARSET, Charset::forName);
                     break;
@@ -436,12 +602,29 @@ public final class ConnectionInfo {
                 case LOCALE_KEY:
                     locale = getProperty(name, value, errors, DEFAULT_LOCALE, Locale::forLanguageTag);
                     break;
+                case PARALLEL_AGGREGATION_KEY:
+                    parallelAggregation = getProperty(name, value, errors, DEFAULT_PARALLEL_AGGREGATION,
+                            Boolean::parseBoolean);
+                    break;
+                case PARALLEL_SCAN_KEY:
+                    parallelScan = getProperty(name, value, errors, DEFAULT_PARALLEL_SCAN, Boolean::parseBoolean);
+                    break;
+                case SORT_MEMORY_KEY:
+                    sortMemory = getProperty(name, value, errors, DEFAULT_SORT_MEMORY, Long::parseLong);
+                    break;
                 case TIMEZONE_KEY:
                     timeZone = getProperty(name, value, errors, DEFAULT_TIMEZONE, TimeZone::getTimeZone);
                     break;
+                case SCAN_MODE_KEY:
+                    scanMode = getProperty(name, value, errors, DEFAULT_SCAN_MODE,
+                            (String mode) -> ScanMode.valueOf(mode.toUpperCase(Locale.US)));
+                    break;
                 case USER_KEY:
                     user = getProperty(name, value, errors, USER_KEY, String::valueOf);
                     break;
+                case VECTORIZED_KEY:
+                    vectorized = getProperty(name, value, errors, DEFAULT_VECTORIZED, Boolean::parseBoolean);
+                    break;
                 case "password":
                 	// Do nothing.
                 	break;
@@ -573,6 +756,97 @@ public final class ConnectionInfo {
         return bcdRounding;
     }
 
+    /**
+     * Gets if this connection uses the shared block cache.
+     *
+     * @return {@code true} if this connection uses the shared block cache.
+     */
+    public boolean isBlockCache() {
+        return blockCacheSize > 0;
+    }
+
+    /**
+     * Gets the metadata cache of a schema directory.
+     * <p>
+     * The cache belongs to this connection, as the tables loaded use its settings (charset, scan mode and mapped
+     * files).
+     *
+     * @param directory the schema directory.
+     * @return the schema metadata cache.
+     */
+    public SchemaCache getSchemaCache(final File directory) {
+        File key;
+        try {
+            key = directory.getCanonicalFile();
+        } catch (@SuppressWarnings("java:S1166") final IOException e) {
+            key = directory.getAbsoluteFile();
+        }
+
+        return schemaCaches.computeIfAbsent(key, SchemaCache::new);
+    }
+
+    /**
+     * Gets the memory mapped data files of this connection.
+     *
+     * @return the memory mapped data files.
+     */
+    public MappedFileCache getMappedFileCache() {
+        return mappedFileCache;
+    }
+
+    /**
+     * Releases the connection resources.
+     */
+    public void close() {
+        mappedFileCache.close();
+        schemaCaches.clear();
+    }
+
+    /**
+     * Gets if the rows are grouped in parallel.
+     *
+     * @return {@code true} if the rows are grouped in parallel.
+     */
+    public boolean isParallelAggregation() {
+        return parallelAggregation;
+    }
+
+    /**
+     * Gets if the table blocks are decoded in parallel.
+     *
+     * @return {@code true} if the table blocks are decoded in parallel.
+     */
+    public boolean isParallelScan() {
+        return parallelScan;
+    }
+
+    /**
+     * Gets the memory budget in bytes of each ORDER BY before writing to disk.
+     *
+     * @return the sort memory budget or zero to sort in memory only.
+     */
+    public long getSortMemory() {
+        return sortMemory;
+    }
+
+    /**
+     * Gets if the table rows are filtered by column batches.
+     *
+     * @return {@code true} if the table rows are filtered by column batches.
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Gets the scan mode.
+     *
+     * @return the scan mode.
+     */
+    public ScanMode getScanMode() {
+        return scanMode;
+    }
+
     /**
      * Gets the connection time zone.
      *
@@ -31,7 +31,7 @@ import java.util.concurrent.Executor;
 /**
  * JDBC Paradox connection implementation.
  *
- * @version 1.3
+ * @version 1.4
  * @since 1.0
  */
 public final class ParadoxConnection implements Connection {
@@ -164,6 +164,7 @@ public final class ParadoxConnection implements Connection {
         }
 
         this.statements.clear();
+        this.connectionInfo.close();
         this.closed = true;
     }
 
@@ -10,6 +10,7 @@
  */
 package com.googlecode.paradox;
 
+import com.googlecode.paradox.data.field.LobReference;
 import com.googlecode.paradox.exceptions.ParadoxException;
 import com.googlecode.paradox.exceptions.ParadoxNotSupportedException;
 import com.googlecode.paradox.metadata.ParadoxResultSetMetaData;
@@ -37,7 +38,7 @@ import java.util.Map;
 /**
  * JDBC ResultSet implementation.
  *
- * @version 1.6
+ * @version 1.7
  * @since 1.0
  */
 public final class ParadoxResultSet implements ResultSet {
@@ -263,6 +264,12 @@ public final class ParadoxResultSet implements ResultSet {
      */
     @Override
     public InputStream getBinaryStream(final int columnIndex) throws SQLException {
+        final Object value = dataNavigation.getColumnValue(columnIndex, false);
+        if (value instanceof LobReference && !((LobReference) value).isText()) {
+            // Stream directly from blob file.
+            return ((LobReference) value).openStream();
+        }
+
         final byte[] val = ValuesConverter.getByteArray(dataNavigation.getColumnValue(columnIndex), connectionInfo);
         if (val != null) {
             return new ByteArrayInputStream(val);
@@ -284,6 +291,11 @@ public final class ParadoxResultSet implements ResultSet {
      */
     @Override
     public Blob getBlob(final int columnIndex) throws SQLException {
+        final Object value = dataNavigation.getColumnValue(columnIndex, false);
+        if (value instanceof LobReference && !((LobReference) value).isText()) {
+            return new ParadoxBlob((LobReference) value);
+        }
+
         final byte[] val = ValuesConverter.getByteArray(dataNavigation.getColumnValue(columnIndex), connectionInfo);
         if (val != null) {
             return new ParadoxBlob(val);
@@ -363,6 +375,12 @@ public final class ParadoxResultSet implements ResultSet {
      */
     @Override
     public Reader getCharacterStream(final int columnIndex) throws SQLException {
+        final Object value = dataNavigation.getColumnValue(columnIndex, false);
+        if (value instanceof LobReference && ((LobReference) value).isText()) {
+            // Stream directly from blob file.
+            return ((LobReference) value).openReader();
+        }
+
         final String val = ValuesConverter.getString(dataNavigation.getColumnValue(columnIndex), connectionInfo);
         if (val != null) {
             return new StringReader(val);
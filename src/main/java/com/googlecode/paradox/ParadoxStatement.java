@@ -29,7 +29,7 @@ import java.util.Objects;
 /**
  * JDBC statement implementation.
  *
- * @version 1.9
+ * @version 1.11
  * @since 1.0
  */
 @SuppressWarnings({"java:S1448", "java:S1200"})
@@ -149,6 +149,10 @@ class ParadoxStatement implements Statement {
             final SelectPlan selectPlan = (SelectPlan) plan;
             final SelectContext context = selectPlan.createContext(this.connectionInfo, params, types);
             context.setMaxRows(maxRows);
+            // The values are read only by the result set.
+            context.setDeferLobs(true);
+            // The sort temporary file is removed when the result set is closed.
+            context.setSpillRows(true);
             activeExecutions.add(context);
 
             try {
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Engine wide cache of decrypted table blocks, shared by all connections.
+ * <p>
+ * The blocks are keyed by file, file size, modification time and block number, so changed files never use old
+ * blocks. The blocks of old file versions are removed when a new version is seen and the least recently used blocks
+ * are removed when the memory budget is exceeded.
+ * <p>
+ * The memory budget is the largest one requested by the connections, so a connection never shrinks the cache used
+ * by the others.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public final class BlockCache {
+
+    /**
+     * The shared instance.
+     */
+    private static final BlockCache INSTANCE = new BlockCache();
+
+    /**
+     * The cached blocks in access order.
+     */
+    private final LinkedHashMap<BlockKey, byte[]> blocks = new LinkedHashMap<>(0x40, 0.75F, true);
+
+    /**
+     * The last file version seen by file canonical path.
+     */
+    private final Map<String, BlockKey> versions = new HashMap<>();
+
+    /**
+     * Cache hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Cache misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Blocks removed to respect the memory budget.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The memory budget in bytes.
+     */
+    private long maxSize;
+
+    /**
+     * The cached bytes.
+     */
+    private long size;
+
+    /**
+     * Creates a new instance.
+     */
+    private BlockCache() {
+        super();
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the shared instance.
+     */
+    public static BlockCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets a cached block.
+     *
+     * @param key the block key.
+     * @return the block data or {@code null} if not cached.
+     */
+    synchronized byte[] get(final BlockKey key) {
+        checkVersion(key);
+        final byte[] block = blocks.get(key);
+        if (block == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+
+        return block;
+    }
+
+    /**
+     * Stores a block in cache.
+     *
+     * @param key   the block key.
+     * @param block the block data.
+     */
+    synchronized void put(final BlockKey key, final byte[] block) {
+        if (block.length > maxSize) {
+            return;
+        }
+
+        checkVersion(key);
+        final byte[] old = blocks.put(key, block);
+        if (old != null) {
+            size -= old.length;
+        }
+
+        size += block.length;
+        evict();
+    }
+
+    /**
+     * Removes the blocks of the other file versions, if the key is from a new file version.
+     *
+     * @param key the block key.
+     */
+    private void checkVersion(final BlockKey key) {
+        final BlockKey current = versions.put(key.path, key);
+        if (current != null && (current.length != key.length || current.lastModified != key.lastModified)) {
+            final Iterator<Map.Entry<BlockKey, byte[]>> iterator = blocks.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<BlockKey, byte[]> entry = iterator.next();
+                if (entry.getKey().path.equals(key.path)) {
+                    size -= entry.getValue().length;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the least recently used blocks until the cache fits in memory budget.
+     */
+    private void evict() {
+        final Iterator<byte[]> iterator = blocks.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().length;
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets if the cache is enabled.
+     *
+     * @return {@code true} if the cache is enabled.
+     */
+    public synchronized boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Gets the memory budget.
+     *
+     * @return the memory budget in bytes.
+     */
+    public synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Grows the memory budget, if smaller than the requested one.
+     *
+     * @param maxSize the memory budget in bytes.
+     */
+    public synchronized void ensureMaxSize(final long maxSize) {
+        this.maxSize = Math.max(this.maxSize, maxSize);
+    }
+
+    /**
+     * Sets the memory budget for all connections. Zero disables the cache.
+     *
+     * @param maxSize the memory budget in bytes.
+     */
+    public synchronized void setMaxSize(final long maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        evict();
+    }
+
+    /**
+     * Gets the cached bytes.
+     *
+     * @return the cached bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the cache hits.
+     *
+     * @return the cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the cache misses.
+     *
+     * @return the cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the blocks removed to respect the memory budget.
+     *
+     * @return the evicted blocks.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Remove all blocks and reset the counters.
+     */
+    public synchronized void clear() {
+        blocks.clear();
+        versions.clear();
+        size = 0;
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    /**
+     * A block key.
+     */
+    static final class BlockKey {
+
+        /**
+         * The file canonical path.
+         */
+        private final String path;
+
+        /**
+         * The file length.
+         */
+        private final long length;
+
+        /**
+         * The file modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * The block number.
+         */
+        private final int block;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param path         the file canonical path.
+         * @param length       the file length.
+         * @param lastModified the file modification time.
+         * @param block        the block number.
+         */
+        BlockKey(final String path, final long length, final long lastModified, final int block) {
+            this.path = path;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.block = block;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final BlockKey key = (BlockKey) o;
+            return length == key.length && lastModified == key.lastModified && block == key.block
+                    && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, length, lastModified, block);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.metadata.BatchFilter;
+import com.googlecode.paradox.metadata.ColumnBatch;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.RowCursor;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Reads the table rows one block at a time, following the block chain or a list of blocks.
+ *
+ * @version 1.5
+ * @since 1.6.0
+ */
+final class BlockCursor implements RowCursor {
+
+    /**
+     * The block header size.
+     */
+    private static final int BLOCK_HEADER_SIZE = 6;
+
+    /**
+     * The table to read.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The fields to read.
+     */
+    private final Field[] fields;
+
+    /**
+     * The record reader, created with the first block.
+     */
+    private RowProjection projection;
+
+    /**
+     * The block reader.
+     */
+    private final BlockReader reader;
+
+    /**
+     * The current block buffer.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The next block to read or zero if there is no more blocks.
+     */
+    private int nextBlock;
+
+    /**
+     * The blocks to read instead of the block chain or {@code null} to follow the chain.
+     */
+    private final int[] blocks;
+
+    /**
+     * The next index in {@link #blocks}.
+     */
+    private int blockIndex;
+
+    /**
+     * Rows not read yet in the current block.
+     */
+    private int remainingRows;
+
+    /**
+     * The next row to return.
+     */
+    private Object[] current;
+
+    /**
+     * If this cursor was closed.
+     */
+    private boolean closed;
+
+    /**
+     * The fields needed by the filter, by projected field index.
+     */
+    private boolean[] filterColumns;
+
+    /**
+     * The row filter or {@code null} if all rows are accepted.
+     */
+    private Predicate<Object[]> filter;
+
+    /**
+     * The columns needed by the batch filter.
+     */
+    private int[] batchColumns;
+
+    /**
+     * The batch filter or {@code null} if not filtering by batch.
+     */
+    private BatchFilter batchFilter;
+
+    /**
+     * The current block batch.
+     */
+    private ColumnBatch batch;
+
+    /**
+     * The rows selected in current block batch.
+     */
+    private BitSet selected;
+
+    /**
+     * The current record index in block.
+     */
+    private int recordIndex;
+
+    /**
+     * The LOB columns loaded only when used.
+     */
+    private int[] deferredColumns;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     * @throws SQLException in case of failures.
+     */
+    BlockCursor(final ParadoxTable table, final Field[] fields) throws SQLException {
+        this.table = table;
+        this.fields = fields;
+        this.blocks = null;
+        this.reader = BlockReader.open(table);
+        if (table.getUsedBlocks() != 0) {
+            this.nextBlock = table.getFirstBlock();
+        }
+    }
+
+    /**
+     * Creates a new instance reading only some blocks.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     * @param blocks the blocks to read, in order.
+     * @throws SQLException in case of failures.
+     */
+    BlockCursor(final ParadoxTable table, final Field[] fields, final int[] blocks) throws SQLException {
+        this.table = table;
+        this.fields = fields;
+        this.blocks = blocks.clone();
+        this.reader = BlockReader.open(table);
+        this.nextBlock = nextListedBlock();
+    }
+
+    /**
+     * Gets the next block in the block list.
+     *
+     * @return the next block or zero if there is no more blocks.
+     */
+    private int nextListedBlock() {
+        if (blockIndex < blocks.length) {
+            return blocks[blockIndex++];
+        }
+
+        return 0;
+    }
+
+    @Override
+    public RowCursor filter(final int[] columns, final Predicate<Object[]> filter) {
+        this.filterColumns = new boolean[fields.length];
+        for (final int column : columns) {
+            this.filterColumns[column] = true;
+        }
+
+        this.filter = filter;
+        return this;
+    }
+
+    @Override
+    public RowCursor filterBatches(final int[] columns, final BatchFilter filter) {
+        this.batchColumns = columns.clone();
+        this.batchFilter = filter;
+        return this;
+    }
+
+    @Override
+    public RowCursor deferLobs(final int[] columns) {
+        this.deferredColumns = columns.clone();
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (current == null) {
+                if (remainingRows <= 0) {
+                    if (nextBlock == 0) {
+                        close();
+                        return false;
+                    }
+
+                    readBlock();
+                } else {
+                    remainingRows--;
+                    current = readRow();
+                }
+            }
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+
+        return true;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Object[] ret = current;
+        current = null;
+        return ret;
+    }
+
+    /**
+     * Reads the next row in current block.
+     *
+     * @return the row or {@code null} if it is not accepted by the filter.
+     * @throws SQLException in case of failures.
+     */
+    private Object[] readRow() throws SQLException {
+        if (batchFilter != null) {
+            final int index = recordIndex++;
+            if (!selected.get(index)) {
+                return null;
+            }
+
+            return projection.read(buffer, BLOCK_HEADER_SIZE + index * table.getRecordSize(), batch, index);
+        } else if (filter == null) {
+            return projection.read(buffer);
+        }
+
+        return projection.read(buffer, filterColumns, filter);
+    }
+
+    /**
+     * Reads the next block in chain.
+     *
+     * @throws SQLException in case of failures.
+     */
+    private void readBlock() throws SQLException {
+        if (projection == null) {
+            projection = new RowProjection(table, fields);
+            if (deferredColumns != null) {
+                projection.defer(deferredColumns);
+            }
+        }
+
+        buffer = reader.read(nextBlock);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        nextBlock = buffer.getShort() & 0xFFFF;
+        if (blocks != null) {
+            nextBlock = nextListedBlock();
+        }
+
+        // The block number.
+        buffer.getShort();
+
+        final int addDataSize = buffer.getShort();
+        remainingRows = (addDataSize / table.getRecordSize()) + 1;
+
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        if (batchFilter != null) {
+            filterBlock();
+        }
+    }
+
+    /**
+     * Filters all the current block rows with the batch filter.
+     *
+     * @throws SQLException in case of failures.
+     */
+    private void filterBlock() throws SQLException {
+        batch = new ColumnBatch(fields.length, remainingRows);
+        for (final int column : batchColumns) {
+            batch.setVector(column, projection.readColumn(buffer, BLOCK_HEADER_SIZE, remainingRows, column));
+        }
+
+        selected = new BitSet(remainingRows);
+        selected.set(0, remainingRows);
+        batchFilter.filter(batch, selected);
+        recordIndex = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        nextBlock = 0;
+        remainingRows = 0;
+        current = null;
+        batch = null;
+        selected = null;
+
+        try {
+            if (projection != null) {
+                projection.close();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+
+/**
+ * Reads the data blocks of a table or index file.
+ *
+ * @version 1.2
+ * @since 1.6.0
+ */
+interface BlockReader extends AutoCloseable {
+
+    /**
+     * Opens a block reader using the file connection settings.
+     *
+     * @param dataFile the data file to read.
+     * @return the block reader.
+     * @throws SQLException in case of failures.
+     */
+    static BlockReader open(final ParadoxDataFile dataFile) throws SQLException {
+        if (dataFile.getConnectionInfo() != null && dataFile.getConnectionInfo().isBlockCache()
+                && BlockCache.getInstance().isEnabled()) {
+            return new CachedBlockReader(dataFile);
+        }
+
+        return openFile(dataFile);
+    }
+
+    /**
+     * Opens a block reader over the file using the connection scan mode.
+     *
+     * @param dataFile the data file to read.
+     * @return the block reader.
+     * @throws SQLException in case of failures.
+     */
+    static BlockReader openFile(final ParadoxDataFile dataFile) throws SQLException {
+        if (dataFile.getConnectionInfo() != null && dataFile.getConnectionInfo().getScanMode() == ScanMode.MMAP) {
+            final BlockReader reader = MappedBlockReader.open(dataFile);
+            if (reader != null) {
+                return reader;
+            }
+        }
+
+        return new ChannelBlockReader(dataFile);
+    }
+
+    /**
+     * Reads a block already decrypted.
+     * <p>
+     * The returned buffer starts in the block header and is valid until the next read.
+     *
+     * @param blockNumber the block number (starting in 1).
+     * @return the block data.
+     * @throws SQLException in case of failures.
+     */
+    ByteBuffer read(final int blockNumber) throws SQLException;
+
+    /**
+     * Gets the next block in chain.
+     *
+     * @param blockNumber the block number (starting in 1).
+     * @return the next block number or zero if this is the last block.
+     * @throws SQLException in case of failures.
+     */
+    default int nextBlock(final int blockNumber) throws SQLException {
+        final ByteBuffer buffer = read(blockNumber);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer.getShort(0) & 0xFFFF;
+    }
+
+    /**
+     * Release the reader resources.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Override
+    void close() throws SQLException;
+}
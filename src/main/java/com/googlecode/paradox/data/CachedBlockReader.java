@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+/**
+ * Reads the blocks from the {@link BlockCache}, using the file only in cache misses.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+final class CachedBlockReader implements BlockReader {
+
+    /**
+     * The shared cache.
+     */
+    private final BlockCache cache = BlockCache.getInstance();
+
+    /**
+     * The data file to read.
+     */
+    private final ParadoxDataFile dataFile;
+
+    /**
+     * The file canonical path.
+     */
+    private final String path;
+
+    /**
+     * The file length.
+     */
+    private final long length;
+
+    /**
+     * The file modification time.
+     */
+    private final long lastModified;
+
+    /**
+     * The file reader, opened in the first cache miss.
+     */
+    private BlockReader reader;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dataFile the data file to read.
+     * @throws SQLException in case of failures.
+     */
+    CachedBlockReader(final ParadoxDataFile dataFile) throws SQLException {
+        this.dataFile = dataFile;
+
+        final File file = dataFile.getFile();
+        try {
+            this.path = file.getCanonicalPath();
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+
+        this.length = file.length();
+        this.lastModified = file.lastModified();
+    }
+
+    @Override
+    public ByteBuffer read(final int blockNumber) throws SQLException {
+        final BlockCache.BlockKey key = new BlockCache.BlockKey(path, length, lastModified, blockNumber);
+        byte[] block = cache.get(key);
+        if (block == null) {
+            if (reader == null) {
+                reader = BlockReader.openFile(dataFile);
+            }
+
+            final ByteBuffer buffer = reader.read(blockNumber);
+            block = new byte[dataFile.getBlockSizeBytes()];
+            buffer.get(block, 0, Math.min(block.length, buffer.remaining()));
+            cache.put(key, block);
+        }
+
+        return ByteBuffer.wrap(block);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+}
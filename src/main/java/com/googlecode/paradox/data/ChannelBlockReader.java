@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.sql.SQLException;
+
+/**
+ * Reads the blocks with a file channel into a reusable heap buffer.
+ *
+ * @version 1.2
+ * @since 1.6.0
+ */
+final class ChannelBlockReader implements BlockReader {
+
+    /**
+     * The data file to read.
+     */
+    private final ParadoxDataFile dataFile;
+
+    /**
+     * The data file stream.
+     */
+    private final FileInputStream fs;
+
+    /**
+     * The data file channel.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The block buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dataFile the data file to read.
+     * @throws SQLException in case of failures.
+     */
+    ChannelBlockReader(final ParadoxDataFile dataFile) throws SQLException {
+        this.dataFile = dataFile;
+        this.buffer = ByteBuffer.allocate(dataFile.getBlockSizeBytes());
+
+        try {
+            this.fs = new FileInputStream(dataFile.getFile());
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+
+        this.channel = fs.getChannel();
+    }
+
+    @Override
+    public ByteBuffer read(final int blockNumber) throws SQLException {
+        final int blockSize = dataFile.getBlockSizeBytes();
+
+        try {
+            channel.position(dataFile.getHeaderSize() + ((blockNumber - 1L) * blockSize));
+
+            buffer.clear();
+            channel.read(buffer);
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+
+        ParadoxData.checkDBEncryption(buffer, dataFile, blockSize, blockNumber);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public int nextBlock(final int blockNumber) throws SQLException {
+        if (dataFile.isEncrypted()) {
+            return BlockReader.super.nextBlock(blockNumber);
+        }
+
+        // Only the next block field is needed.
+        final ByteBuffer header = ByteBuffer.allocate(Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            channel.read(header, dataFile.getHeaderSize() + ((blockNumber - 1L) * dataFile.getBlockSizeBytes()));
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+
+        return header.getShort(0) & 0xFFFF;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            channel.close();
+            fs.close();
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+    }
+}
@@ -10,10 +10,16 @@
  */
 package com.googlecode.paradox.data;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Encrypted data based on http://pxlib.sourceforge.net.
+ * <p>
+ * The byte positions and the key masks are computed only once for each key, so decrypting a chunk uses only one
+ * table lookup per byte.
  *
- * @version 1.1
+ * @version 1.2
  * @since 1.5.0
  */
 public final class EncryptedData {
@@ -127,41 +133,129 @@ public final class EncryptedData {
             0x61, 0x4F, 0x69, 0x3B, 0xE5, 0x64, 0x5F, 0x3F
     };
 
-    private EncryptedData() {
-        super();
+    /**
+     * The source position of each chunk byte, by block number (only the lower byte is used).
+     */
+    private static final byte[] POSITIONS = new byte[ENCRYPTION_TABLE_SIZE * ENCRYPTION_TABLE_SIZE];
+
+    /**
+     * The key tables already computed, by key.
+     */
+    private static final Map<Integer, EncryptedData> KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * The chunk scratch buffer, by thread.
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[ENCRYPTION_TABLE_SIZE]);
+
+    static {
+        for (int d = 0; d < ENCRYPTION_TABLE_SIZE; d++) {
+            for (int x = 0; x < ENCRYPTION_TABLE_SIZE; x++) {
+                POSITIONS[(d << BLOCK_DIVISION) + x] = (byte) (ENCRYPTION_TABLE_C[x] - d);
+            }
+        }
+    }
+
+    /**
+     * The DB key masks, by block number (only the lower byte is used).
+     */
+    private final byte[] blockMasks = new byte[ENCRYPTION_TABLE_SIZE * ENCRYPTION_TABLE_SIZE];
+
+    /**
+     * The MB key mask.
+     */
+    private final byte[] blobMask = new byte[ENCRYPTION_TABLE_SIZE];
+
+    /**
+     * The MB positions offset.
+     */
+    private final int blobPositions;
+
+    /**
+     * Computes the tables of a key.
+     *
+     * @param a the first key byte.
+     * @param b the second key byte.
+     */
+    private EncryptedData(final int a, final int b) {
+        for (int i = 0; i < blockMasks.length; i++) {
+            final int x = i & 0xFF;
+            final int y = POSITIONS[i] & 0xFF;
+            blockMasks[i] = (byte) (ENCRYPTION_TABLE_A[(x + a) & 0xFF] ^ ENCRYPTION_TABLE_B[(y + b) & 0xFF]);
+        }
+
+        // MB blocks always use the same chunk and block numbers.
+        final int c = (a + 1) & 0xFF;
+        this.blobPositions = ((b + 1) & 0xFF) << BLOCK_DIVISION;
+        for (int x = 0; x < ENCRYPTION_TABLE_SIZE; x++) {
+            final int y = POSITIONS[blobPositions + x] & 0xFF;
+            blobMask[x] = (byte) (blockMasks[blobPositions + x] ^ ENCRYPTION_TABLE_C[(y + c) & 0xFF]);
+        }
     }
 
-    private static void decryptChunk(byte[] src, int offset, int a, int b, int c, int d) {
-        byte[] tmp = new byte[ENCRYPTION_TABLE_SIZE];
+    /**
+     * Gets the tables of a key.
+     *
+     * @param encryption the encryption key.
+     * @return the key tables.
+     */
+    private static EncryptedData getKey(final long encryption) {
+        final int a = (int) (encryption & 0xFF);
+        final int b = (int) ((encryption >> SECOND_BYTE) & 0xFF);
+        return KEYS.computeIfAbsent((b << SECOND_BYTE) | a, (Integer key) -> new EncryptedData(a, b));
+    }
+
+    /**
+     * Decrypts a DB chunk.
+     *
+     * @param src    the data to decrypt.
+     * @param offset the chunk offset.
+     * @param base   the positions offset of the block.
+     * @param c      the chunk number.
+     * @param tmp    the scratch buffer.
+     */
+    private void decryptChunk(final byte[] src, final int offset, final int base, final int c, final byte[] tmp) {
+        for (int x = 0; x < ENCRYPTION_TABLE_SIZE; ++x) {
+            final int y = POSITIONS[base + x] & 0xFF;
+            tmp[x] = (byte) (src[y + offset] ^ blockMasks[base + x] ^ ENCRYPTION_TABLE_C[(y + c) & 0xFF]);
+        }
+
+        System.arraycopy(tmp, 0, src, offset, ENCRYPTION_TABLE_SIZE);
+    }
 
-        for (int x = 0; x < tmp.length; ++x) {
-            int y = (ENCRYPTION_TABLE_C[x] - (d & 0xFF)) & 0xFF;
-            tmp[x] = (byte) (src[y + offset] ^
-                    ENCRYPTION_TABLE_A[(x + (a & 0xFF)) & 0xFF] ^
-                    ENCRYPTION_TABLE_B[(y + (b & 0xFF)) & 0xFF] ^
-                    ENCRYPTION_TABLE_C[(y + (c & 0xFF)) & 0xFF]);
+    /**
+     * Decrypts a MB chunk.
+     *
+     * @param src    the data to decrypt.
+     * @param offset the chunk offset.
+     * @param tmp    the scratch buffer.
+     */
+    private void decryptBlobChunk(final byte[] src, final int offset, final byte[] tmp) {
+        for (int x = 0; x < ENCRYPTION_TABLE_SIZE; ++x) {
+            tmp[x] = (byte) (src[(POSITIONS[blobPositions + x] & 0xFF) + offset] ^ blobMask[x]);
         }
 
-        System.arraycopy(tmp, 0, src, offset, tmp.length);
+        System.arraycopy(tmp, 0, src, offset, ENCRYPTION_TABLE_SIZE);
     }
 
     public static void decryptDBBlock(byte[] src, long encryption, int blockSize, long blockNo) {
-        byte a = (byte) (encryption & 0xFF);
-        byte b = (byte) ((encryption >> SECOND_BYTE) & 0xFF);
+        final EncryptedData key = getKey(encryption);
+        final byte[] tmp = SCRATCH.get();
+        final int base = ((int) blockNo & 0xFF) << BLOCK_DIVISION;
         blockSize >>= BLOCK_DIVISION;
 
         for (int chunk = 0; chunk < blockSize; ++chunk) {
-            decryptChunk(src, (chunk << BLOCK_DIVISION), a, b, chunk, (int) blockNo);
+            key.decryptChunk(src, (chunk << BLOCK_DIVISION), base, chunk, tmp);
         }
     }
 
     public static void decryptMBBlock(byte[] src, long encryption, int blockSize) {
-        byte a = (byte) (encryption & 0xFF);
-        byte b = (byte) ((encryption >> SECOND_BYTE) & 0xFF);
+        final EncryptedData key = getKey(encryption);
+        final byte[] tmp = SCRATCH.get();
         blockSize >>= BLOCK_DIVISION;
 
         for (int chunk = 0; chunk < blockSize; ++chunk) {
-            decryptChunk(src, (chunk << BLOCK_DIVISION), a, b, a + 1, b + 1);
+            key.decryptBlobChunk(src, (chunk << BLOCK_DIVISION), tmp);
         }
     }
 }
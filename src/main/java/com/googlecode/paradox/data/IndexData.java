@@ -12,23 +12,52 @@ package com.googlecode.paradox.data;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.data.filefilters.SecondaryIndexFilter;
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.Index;
+import com.googlecode.paradox.metadata.KeyRange;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
 import com.googlecode.paradox.metadata.paradox.ParadoxIndex;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.results.ParadoxType;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Reads index data files.
+ * <p>
+ * A secondary index is stored in two files: the {@code .Xnn} file has the records sorted by the index fields, with
+ * the primary key fields and the number of the table block with the row. The {@code .Ynn} file is a tree over the
+ * {@code .Xnn} blocks, in the same layout of the primary key file.
  *
- * @version 1.9
+ * @version 1.11
  * @since 1.0
  */
 public final class IndexData extends ParadoxData {
 
+    /**
+     * The block header size.
+     */
+    private static final int BLOCK_HEADER_SIZE = 6;
+
+    /**
+     * Incrementing (maintained) secondary index .Xnn file.
+     */
+    private static final byte MAINTAINED_INDEX = 0x05;
+
+    /**
+     * Incrementing (maintained) secondary index .XGn file.
+     */
+    private static final byte MAINTAINED_COMPOSITE_INDEX = 0x08;
+
     /**
      * Utility class.
      */
@@ -62,4 +91,133 @@ public final class IndexData extends ParadoxData {
 
         return indexes;
     }
+
+    /**
+     * Finds the table blocks that may have the first index field in one of the ranges.
+     * <p>
+     * Only maintained indexes in ascending order are used, as the others may not have the current table rows. The
+     * table blocks are returned in block number order.
+     *
+     * @param table  the table.
+     * @param index  the secondary index.
+     * @param ranges the first index field ranges.
+     * @return the table blocks or {@code null} if the ranges can't be searched in the index.
+     * @throws SQLException in case of failures.
+     */
+    static int[] findBlocks(final ParadoxTable table, final ParadoxIndex index, final List<KeyRange> ranges)
+            throws SQLException {
+        if (!isSearchable(index)) {
+            return null;
+        }
+
+        final Field field = index.getFields()[0];
+        // Composite indexes may also be case insensitive.
+        if ((index.getType() == MAINTAINED_COMPOSITE_INDEX && field.getType() == ParadoxType.VARCHAR)
+                || !PrimaryKeyData.isOrdered(index.getSortOrderID(), field, ranges)) {
+            return null;
+        }
+
+        if (index.getUsedBlocks() == 0) {
+            return new int[0];
+        }
+
+        final ParadoxDataFile tree = loadTree(table, index);
+        if (tree == null) {
+            return null;
+        }
+
+        final int[] indexBlocks = PrimaryKeyData.searchTree(table, tree, field, ranges);
+        if (indexBlocks == null) {
+            return null;
+        }
+
+        final BitSet blocks = new BitSet(table.getTotalBlocks() + 1);
+        try (final BlockReader reader = BlockReader.open(index)) {
+            for (final int indexBlock : indexBlocks) {
+                readBlock(table, index, ranges, reader, indexBlock, blocks);
+            }
+        }
+
+        return blocks.stream().toArray();
+    }
+
+    /**
+     * Gets if the index can be used to search the table rows.
+     *
+     * @param index the secondary index.
+     * @return {@code true} if the index can be used to search the table rows.
+     */
+    private static boolean isSearchable(final ParadoxIndex index) {
+        return (index.getType() == MAINTAINED_INDEX || index.getType() == MAINTAINED_COMPOSITE_INDEX)
+                && "A".equals(index.getOrder()) && index.getFields().length > index.getPrimaryFieldCount()
+                && index.getPrimaryFieldCount() > 0;
+    }
+
+    /**
+     * Loads the index tree file header.
+     *
+     * @param table the table.
+     * @param index the secondary index.
+     * @return the index tree file or {@code null} if not found.
+     * @throws SQLException in case of failures.
+     */
+    private static ParadoxDataFile loadTree(final ParadoxTable table, final ParadoxIndex index)
+            throws SQLException {
+        final File file = index.getFile();
+        final String name = file.getName();
+        final int extension = name.lastIndexOf('.') + 1;
+        final String treeName = name.substring(0, extension) + "Y" + name.substring(extension + 1);
+
+        final File[] fileList = file.getParentFile().listFiles(new SecondaryIndexFilter(
+                table.getConnectionInfo().getLocale(), treeName));
+        if (fileList == null || fileList.length == 0) {
+            return null;
+        }
+
+        return loadHeader(fileList[0], table.getConnectionInfo());
+    }
+
+    /**
+     * Reads the table block numbers of the index records in the ranges.
+     *
+     * @param table      the table.
+     * @param index      the secondary index.
+     * @param ranges     the first index field ranges.
+     * @param reader     the index block reader.
+     * @param indexBlock the index block to read.
+     * @param blocks     the table blocks found.
+     * @throws SQLException in case of failures.
+     */
+    private static void readBlock(final ParadoxTable table, final ParadoxIndex index, final List<KeyRange> ranges,
+                                  final BlockReader reader, final int indexBlock, final BitSet blocks)
+            throws SQLException {
+        if (indexBlock <= 0 || indexBlock > index.getTotalBlocks()) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA);
+        }
+
+        final Field[] fields = index.getFields();
+        int blockOffset = 0;
+        for (int i = 0; i < index.getPrimaryFieldCount(); i++) {
+            blockOffset += fields[i].getRealSize();
+        }
+
+        final ByteBuffer buffer = reader.read(indexBlock);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        final int count = Math.max(0, buffer.getShort(4) / index.getRecordSize() + 1);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        for (int i = 0; i < count; i++) {
+            final int offset = BLOCK_HEADER_SIZE + i * index.getRecordSize();
+            buffer.position(offset);
+            final Object key = ParadoxFieldFactory.parse(table, buffer, fields[0]);
+            if (PrimaryKeyData.overlaps(ranges, key, key, table.getConnectionInfo())) {
+                final int block = (buffer.getShort(offset + blockOffset) ^ 0x8000) & 0xFFFF;
+                if (block <= 0 || block > table.getTotalBlocks()) {
+                    throw new ParadoxDataException(DataError.ERROR_LOADING_DATA);
+                }
+
+                blocks.set(block);
+            }
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+/**
+ * Reads the blocks from a memory mapped data file.
+ * <p>
+ * The files are mapped by the connection {@link MappedFileCache} and shared by its readers, until the file changes in
+ * disk. The mapping is checked against the file length and modification time only when the reader opens, and the
+ * blocks are read only views of the mapping, copied only to decrypt them.
+ *
+ * @version 1.3
+ * @since 1.6.0
+ */
+final class MappedBlockReader implements BlockReader {
+
+    /**
+     * The mapped files cache.
+     */
+    private final MappedFileCache cache;
+
+    /**
+     * The mapping in use.
+     */
+    private final MappedFileCache.MappedFile mappedFile;
+
+    /**
+     * The data file to read.
+     */
+    private final ParadoxDataFile dataFile;
+
+    /**
+     * A private view of the mapped file.
+     */
+    private final ByteBuffer data;
+
+    /**
+     * The block buffer to decrypt or {@code null} if the file is not encrypted.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * If this reader was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param cache      the mapped files cache.
+     * @param mappedFile the mapping in use.
+     * @param dataFile   the data file to read.
+     */
+    private MappedBlockReader(final MappedFileCache cache, final MappedFileCache.MappedFile mappedFile,
+                              final ParadoxDataFile dataFile) {
+        this.cache = cache;
+        this.mappedFile = mappedFile;
+        this.dataFile = dataFile;
+        this.data = mappedFile.view();
+        if (dataFile.isEncrypted()) {
+            this.buffer = ByteBuffer.allocate(dataFile.getBlockSizeBytes());
+        } else {
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * Opens a reader over the mapped data file.
+     *
+     * @param dataFile the data file to read.
+     * @return the reader or {@code null} if the file can not be mapped.
+     * @throws SQLException in case of failures.
+     */
+    static MappedBlockReader open(final ParadoxDataFile dataFile) throws SQLException {
+        final MappedFileCache cache = dataFile.getConnectionInfo().getMappedFileCache();
+        final MappedFileCache.MappedFile mapped = cache.acquire(dataFile.getFile());
+        if (mapped == null) {
+            return null;
+        }
+
+        return new MappedBlockReader(cache, mapped, dataFile);
+    }
+
+    @Override
+    public ByteBuffer read(final int blockNumber) throws SQLException {
+        final int blockSize = dataFile.getBlockSizeBytes();
+        final long position = dataFile.getHeaderSize() + ((blockNumber - 1L) * blockSize);
+        final long end = Math.min(data.capacity(), position + blockSize);
+
+        // Reading a mapped region after the file end fails with a fault.
+        if (closed || position >= end) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA);
+        }
+
+        data.limit((int) end);
+        data.position((int) position);
+        if (buffer == null) {
+            return data.slice();
+        }
+
+        buffer.clear();
+        buffer.put(data);
+        ParadoxData.checkDBEncryption(buffer, dataFile, blockSize, blockNumber);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            cache.release(mappedFile);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The memory mapped data files of a connection.
+ * <p>
+ * The mappings are kept in least recently used order, up to {@link #MAX_MAPPED_BYTES} of files not in use. A mapping
+ * is released when evicted, when its file changes in disk or when the connection is closed, as soon as no reader
+ * uses it.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public final class MappedFileCache {
+
+    /**
+     * Maximum bytes mapped, not counting the files in use.
+     */
+    static final long MAX_MAPPED_BYTES = 0x10000000L;
+
+    /**
+     * Releases a mapping without waiting for the garbage collector, if supported.
+     */
+    private static final Consumer<ByteBuffer> UNMAPPER = getUnmapper();
+
+    /**
+     * The mapped files by canonical path, in least recently used order.
+     */
+    private final Map<String, MappedFile> files = new LinkedHashMap<>(0x10, 0.75F, true);
+
+    /**
+     * The bytes mapped.
+     */
+    private long mappedBytes;
+
+    /**
+     * Gets the unmap function.
+     *
+     * @return the unmap function.
+     */
+    @SuppressWarnings({"java:S3011", "java:S1166"})
+    private static Consumer<ByteBuffer> getUnmapper() {
+        try {
+            // Java 9 or later.
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            final Object unsafe = field.get(null);
+            return (ByteBuffer buffer) -> {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (final ReflectiveOperationException | RuntimeException e) {
+                    // Released by the garbage collector.
+                }
+            };
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            // Java 8.
+            return (ByteBuffer buffer) -> {
+                try {
+                    final Method cleaner = buffer.getClass().getMethod("cleaner");
+                    cleaner.setAccessible(true);
+                    final Object value = cleaner.invoke(buffer);
+                    if (value != null) {
+                        value.getClass().getMethod("clean").invoke(value);
+                    }
+                } catch (final ReflectiveOperationException | RuntimeException ex) {
+                    // Released by the garbage collector.
+                }
+            };
+        }
+    }
+
+    /**
+     * Gets the file mapping, creating a new one if the file was changed.
+     * <p>
+     * The mapping must be released with {@link #release(MappedFile)} after use.
+     *
+     * @param file the file to map.
+     * @return the file mapping or {@code null} if the file is too large to map.
+     * @throws SQLException in case of failures.
+     */
+    synchronized MappedFile acquire(final File file) throws SQLException {
+        final String key;
+        try {
+            key = file.getCanonicalPath();
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+
+        final long length = file.length();
+        final long lastModified = file.lastModified();
+
+        MappedFile current = files.get(key);
+        if (current != null && (current.length != length || current.lastModified != lastModified)) {
+            // A new file version.
+            remove(key);
+            current = null;
+        }
+
+        if (current == null) {
+            if (length > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            try (final FileInputStream fs = new FileInputStream(file); final FileChannel channel = fs.getChannel()) {
+                current = new MappedFile(length, lastModified, channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                        length));
+            } catch (final IOException e) {
+                throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+            }
+
+            files.put(key, current);
+            mappedBytes += length;
+        }
+
+        current.references++;
+        evict();
+        return current;
+    }
+
+    /**
+     * Releases a mapping acquired.
+     *
+     * @param file the mapping to release.
+     * @throws IllegalStateException if the mapping is not in use.
+     */
+    synchronized void release(final MappedFile file) {
+        if (file.references <= 0) {
+            throw new IllegalStateException("Mapping released more times than acquired.");
+        }
+
+        file.references--;
+        if (file.removed) {
+            file.unmap();
+        } else {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the least recently used mappings not in use while over the budget.
+     */
+    private void evict() {
+        final Iterator<Map.Entry<String, MappedFile>> iterator = files.entrySet().iterator();
+        while (mappedBytes > MAX_MAPPED_BYTES && iterator.hasNext()) {
+            final MappedFile file = iterator.next().getValue();
+            if (file.references == 0) {
+                iterator.remove();
+                mappedBytes -= file.length;
+                file.removed = true;
+                file.unmap();
+            }
+        }
+    }
+
+    /**
+     * Removes a mapping, releasing it when not in use.
+     *
+     * @param key the file canonical path.
+     */
+    private void remove(final String key) {
+        final MappedFile file = files.remove(key);
+        if (file != null) {
+            mappedBytes -= file.length;
+            file.removed = true;
+            file.unmap();
+        }
+    }
+
+    /**
+     * Gets the bytes mapped.
+     *
+     * @return the bytes mapped.
+     */
+    synchronized long getMappedBytes() {
+        return mappedBytes;
+    }
+
+    /**
+     * Gets the readers using a mapping.
+     *
+     * @param file the mapping.
+     * @return the readers using the mapping.
+     */
+    synchronized int getReferences(final MappedFile file) {
+        return file.references;
+    }
+
+    /**
+     * Releases all mappings. The mappings in use are released when their readers are closed.
+     */
+    public synchronized void close() {
+        final List<String> keys = new ArrayList<>(files.keySet());
+        keys.forEach(this::remove);
+    }
+
+    /**
+     * A mapped file.
+     */
+    static final class MappedFile {
+
+        /**
+         * File length when mapped.
+         */
+        private final long length;
+
+        /**
+         * File modification time when mapped.
+         */
+        private final long lastModified;
+
+        /**
+         * The mapped region.
+         */
+        private final MappedByteBuffer buffer;
+
+        /**
+         * The readers using this mapping.
+         */
+        private int references;
+
+        /**
+         * If this mapping was removed from the cache.
+         */
+        private boolean removed;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param length       the file length.
+         * @param lastModified the file modification time.
+         * @param buffer       the mapped region.
+         */
+        private MappedFile(final long length, final long lastModified, final MappedByteBuffer buffer) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Gets a private view of the mapped region.
+         *
+         * @return a view of the mapped region.
+         */
+        ByteBuffer view() {
+            return buffer.duplicate();
+        }
+
+        /**
+         * Releases the mapped region if no reader uses it.
+         */
+        private void unmap() {
+            if (references == 0) {
+                UNMAPPER.accept(buffer);
+            }
+        }
+    }
+}
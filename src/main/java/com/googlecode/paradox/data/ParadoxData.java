@@ -33,7 +33,7 @@ import java.util.Map;
 /**
  * Handles the paradox files (structure).
  *
- * @version 1.3
+ * @version 1.4
  * @since 1.4.0
  */
 @SuppressWarnings({"i18n-java:V1008", "java:S109", "i18n-java:V1004"})
@@ -172,6 +172,11 @@ public class ParadoxData {
             data.setFirstBlock(buffer.getShort());
             data.setLastBlock(buffer.getShort());
 
+            // Only used in index tree files.
+            buffer.position(0x1E);
+            data.setRootBlock(buffer.getShort() & 0xFFFF);
+            data.setLevels(buffer.get() & 0xFF);
+
             buffer.position(0x21);
             data.setFieldCount(buffer.getShort());
             data.setPrimaryFieldCount(buffer.getShort());
@@ -214,6 +219,8 @@ public class ParadoxData {
             if (data instanceof ParadoxIndex) {
                 parseSortID(buffer, data);
                 parseIndexName(buffer, data);
+            } else if (data instanceof ParadoxTable && data.getVersionId() > Constants.PARADOX_VERSION_4) {
+                parseSortID(buffer, data);
             }
 
             return data;
@@ -15,6 +15,7 @@ import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.results.ParadoxType;
 
 import java.nio.ByteBuffer;
 import java.sql.SQLException;
@@ -22,29 +23,75 @@ import java.sql.SQLException;
 /**
  * Factory for Paradox field parsers.
  *
- * @version 1.3
+ * @version 1.7
  * @since 1.3
  */
 public final class ParadoxFieldFactory {
 
     /**
-     * Stores all available Paradox field parsers.
+     * The auto increment field parser.
      */
-    private static final FieldParser[] ALL_PARSES = {
-            new AutoIncrementField(),
-            new BooleanField(),
-            new BlobField(),
-            new DateField(),
-            new IntegerField(),
-            new LongField(),
-            new MemoField(),
-            new NumberField(),
-            new TimeField(),
-            new TimestampField(),
-            new VarcharField(),
-            new BCDField(),
-            new BytesField()
-    };
+    private static final AutoIncrementField AUTO_INCREMENT = new AutoIncrementField();
+
+    /**
+     * The boolean field parser.
+     */
+    private static final BooleanField BOOLEAN = new BooleanField();
+
+    /**
+     * The blob field parser.
+     */
+    private static final BlobField BLOB = new BlobField();
+
+    /**
+     * The date field parser.
+     */
+    private static final DateField DATE = new DateField();
+
+    /**
+     * The integer field parser.
+     */
+    private static final IntegerField INTEGER = new IntegerField();
+
+    /**
+     * The long field parser.
+     */
+    private static final LongField LONG = new LongField();
+
+    /**
+     * The memo field parser.
+     */
+    private static final MemoField MEMO = new MemoField();
+
+    /**
+     * The number field parser.
+     */
+    private static final NumberField NUMBER = new NumberField();
+
+    /**
+     * The time field parser.
+     */
+    private static final TimeField TIME = new TimeField();
+
+    /**
+     * The timestamp field parser.
+     */
+    private static final TimestampField TIMESTAMP = new TimestampField();
+
+    /**
+     * The varchar field parser.
+     */
+    private static final VarcharField VARCHAR = new VarcharField();
+
+    /**
+     * The BCD field parser.
+     */
+    private static final BCDField BCD = new BCDField();
+
+    /**
+     * The bytes field parser.
+     */
+    private static final BytesField BYTES = new BytesField();
 
     /**
      * Utility class.
@@ -54,7 +101,7 @@ public final class ParadoxFieldFactory {
     }
 
     /**
-     * Parses the filter;
+     * Parses a field value.
      *
      * @param table  the  table.
      * @param buffer the buffer to read of.
@@ -64,12 +111,84 @@ public final class ParadoxFieldFactory {
      */
     public static Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field)
             throws SQLException {
-        for (final FieldParser parser : ALL_PARSES) {
-            if (parser.match(field.getType())) {
-                return parser.parse(table, buffer, field);
-            }
+        return getParser(field).parse(table, buffer, field);
+    }
+
+    /**
+     * Gets the LOB parser for a field.
+     *
+     * @param field the field.
+     * @return the LOB parser or {@code null} if the field is not a LOB.
+     */
+    public static AbstractLobField getLobParser(final Field field) {
+        final FieldParser parser = find(field.getType());
+        if (parser instanceof AbstractLobField) {
+            return (AbstractLobField) parser;
         }
 
-        throw new ParadoxDataException(DataError.FIELD_TYPE_NOT_SUPPORTED);
+        return null;
+    }
+
+    /**
+     * Gets the parser for a field.
+     * <p>
+     * Callers decoding many values should get the parser once per field, so the type dispatch is not repeated for
+     * each value.
+     *
+     * @param field the field to parse.
+     * @return the field parser.
+     * @throws SQLException if the field type is not supported.
+     */
+    public static FieldParser getParser(final Field field) throws SQLException {
+        final FieldParser parser = find(field.getType());
+        if (parser == null) {
+            throw new ParadoxDataException(DataError.FIELD_TYPE_NOT_SUPPORTED);
+        }
+
+        return parser;
+    }
+
+    /**
+     * Finds the parser for a field type.
+     *
+     * @param type the field type.
+     * @return the field parser or {@code null} if the field type is not supported.
+     */
+    @SuppressWarnings({"java:S1142", "java:S1541"})
+    static FieldParser find(final ParadoxType type) {
+        switch (type) {
+            case VARCHAR:
+                return VARCHAR;
+            case LONG:
+                return LONG;
+            case INTEGER:
+                return INTEGER;
+            case DATE:
+                return DATE;
+            case CURRENCY:
+            case NUMBER:
+                return NUMBER;
+            case BCD:
+                return BCD;
+            case AUTO_INCREMENT:
+                return AUTO_INCREMENT;
+            case BOOLEAN:
+                return BOOLEAN;
+            case TIME:
+                return TIME;
+            case TIMESTAMP:
+                return TIMESTAMP;
+            case MEMO:
+            case FORMATTED_MEMO:
+                return MEMO;
+            case BLOB:
+            case OLE:
+            case GRAPHIC:
+                return BLOB;
+            case BYTES:
+                return BYTES;
+            default:
+                return null;
+        }
     }
 }
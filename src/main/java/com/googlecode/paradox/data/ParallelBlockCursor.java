@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.metadata.BatchFilter;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.RowCursor;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+
+/**
+ * A cursor that decodes the table blocks in parallel.
+ * <p>
+ * The block chain is resolved in the first read and split in small ranges decoded by the fork join pool, each with
+ * its own reader and field projection. The rows are returned in the chain order and only a few ranges per pool
+ * thread are decoded ahead of the rows read, so the memory used does not grow with the table size.
+ * <p>
+ * Filtered cursors read the blocks in sequence, so the filters decode only the columns they need.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+final class ParallelBlockCursor implements RowCursor {
+
+    /**
+     * Blocks in each range.
+     */
+    private static final int BLOCKS_PER_RANGE = 0x10;
+
+    /**
+     * Ranges decoded ahead per pool thread.
+     */
+    private static final int RANGES_PER_THREAD = 2;
+
+    /**
+     * The table to read.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The fields to read.
+     */
+    private final Field[] fields;
+
+    /**
+     * The pool to decode the ranges.
+     */
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * The ranges being decoded, in chain order.
+     */
+    private final Deque<ForkJoinTask<List<Object[]>>> ranges = new ArrayDeque<>();
+
+    /**
+     * The LOB columns to defer or {@code null} to load all values.
+     */
+    private int[] deferredColumns;
+
+    /**
+     * The sequential cursor used when filtering or {@code null} if not filtered.
+     */
+    private BlockCursor sequential;
+
+    /**
+     * The table blocks in chain order or {@code null} if not read yet.
+     */
+    private int[] chain;
+
+    /**
+     * The next chain index to decode.
+     */
+    private int nextIndex;
+
+    /**
+     * The remaining rows of the current range.
+     */
+    private Iterator<Object[]> rows = Collections.emptyIterator();
+
+    /**
+     * If this cursor was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     */
+    ParallelBlockCursor(final ParadoxTable table, final Field[] fields) {
+        this.table = table;
+        this.fields = fields;
+    }
+
+    /**
+     * Gets the sequential cursor to filter.
+     *
+     * @return the sequential cursor.
+     * @throws SQLException in case of failures.
+     */
+    private BlockCursor getSequential() throws SQLException {
+        if (sequential == null) {
+            sequential = new BlockCursor(table, fields);
+            if (deferredColumns != null) {
+                sequential.deferLobs(deferredColumns);
+            }
+        }
+
+        return sequential;
+    }
+
+    @Override
+    public RowCursor filter(final int[] columns, final Predicate<Object[]> filter) {
+        try {
+            getSequential().filter(columns, filter);
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+
+        return this;
+    }
+
+    @Override
+    public RowCursor filterBatches(final int[] columns, final BatchFilter filter) {
+        try {
+            getSequential().filterBatches(columns, filter);
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+
+        return this;
+    }
+
+    @Override
+    public RowCursor deferLobs(final int[] columns) {
+        this.deferredColumns = columns.clone();
+        if (sequential != null) {
+            sequential.deferLobs(columns);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (sequential != null) {
+            return sequential.hasNext();
+        }
+
+        if (closed) {
+            return false;
+        }
+
+        if (chain == null) {
+            try {
+                chain = ParallelBlockScan.resolveChain(table);
+            } catch (final SQLException e) {
+                throw new InternalException(e);
+            }
+
+            submit();
+        }
+
+        while (!rows.hasNext()) {
+            final ForkJoinTask<List<Object[]>> range = ranges.poll();
+            if (range == null) {
+                return false;
+            }
+
+            // Keep the pool busy while the range rows are read.
+            submit();
+            rows = range.join().iterator();
+        }
+
+        return true;
+    }
+
+    /**
+     * Submits the next ranges, up to the ranges decoded ahead.
+     */
+    private void submit() {
+        final int maxRanges = pool.getParallelism() * RANGES_PER_THREAD;
+        while (ranges.size() < maxRanges && nextIndex < chain.length) {
+            final int[] blocks = Arrays.copyOfRange(chain, nextIndex,
+                    Math.min(chain.length, nextIndex + BLOCKS_PER_RANGE));
+            nextIndex += blocks.length;
+
+            final int[] deferred = deferredColumns;
+            ranges.add(pool.submit(() -> ParallelBlockScan.decode(table, fields, blocks, deferred)));
+        }
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (sequential != null) {
+            return sequential.next();
+        }
+
+        return rows.next();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        ranges.forEach(range -> range.cancel(false));
+        ranges.clear();
+        rows = Collections.emptyIterator();
+        if (sequential != null) {
+            sequential.close();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads the table blocks in parallel.
+ * <p>
+ * The block chain is resolved first, reading only the block headers, and then split in ranges decoded by the fork
+ * join pool. The rows are returned in the chain order. Each range has its own block reader and field projection,
+ * so the blob files are not shared by the pool threads.
+ * <p>
+ * Used to load whole tables and by the {@link ParallelBlockCursor} of unfiltered table scans.
+ *
+ * @version 1.3
+ * @since 1.6.0
+ */
+final class ParallelBlockScan {
+
+    /**
+     * Block ranges per pool thread, to balance blocks with different row counts.
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * Utility class.
+     */
+    private ParallelBlockScan() {
+        // Utility class.
+    }
+
+    /**
+     * Load the table data.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     * @return the row values.
+     * @throws SQLException in case of failures.
+     */
+    static List<Object[]> load(final ParadoxTable table, final Field[] fields) throws SQLException {
+        final int[] chain = resolveChain(table);
+
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int ranges = Math.min(chain.length, pool.getParallelism() * RANGES_PER_THREAD);
+        final List<ForkJoinTask<List<Object[]>>> tasks = new ArrayList<>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            final int start = (int) ((long) chain.length * i / ranges);
+            final int end = (int) ((long) chain.length * (i + 1) / ranges);
+            tasks.add(pool.submit(() -> decode(table, fields, Arrays.copyOfRange(chain, start, end), null)));
+        }
+
+        final List<Object[]> ret = new ArrayList<>(table.getRowCount());
+        try {
+            for (final ForkJoinTask<List<Object[]>> task : tasks) {
+                ret.addAll(task.join());
+            }
+        } catch (@SuppressWarnings("java:S1166") final InternalException e) {
+            tasks.forEach(task -> task.cancel(false));
+            throw e.getCause();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the table blocks in chain order.
+     *
+     * @param table the table to read.
+     * @return the block numbers.
+     * @throws SQLException in case of failures.
+     */
+    static int[] resolveChain(final ParadoxTable table) throws SQLException {
+        int[] chain = new int[Math.max(table.getUsedBlocks(), 1)];
+        int count = 0;
+
+        try (final BlockReader reader = BlockReader.open(table)) {
+            int block = table.getFirstBlock();
+            while (block != 0) {
+                if (count == chain.length) {
+                    chain = Arrays.copyOf(chain, count * 2);
+                }
+
+                chain[count++] = block;
+                block = reader.nextBlock(block);
+            }
+        }
+
+        return Arrays.copyOf(chain, count);
+    }
+
+    /**
+     * Decodes a block range.
+     *
+     * @param table           the table to read.
+     * @param fields          the fields to read.
+     * @param blocks          the blocks to decode.
+     * @param deferredColumns the LOB columns to defer or {@code null} to load all values.
+     * @return the row values.
+     */
+    static List<Object[]> decode(final ParadoxTable table, final Field[] fields, final int[] blocks,
+                                 final int[] deferredColumns) {
+        final List<Object[]> ret = new ArrayList<>();
+        final RowProjection projection;
+        try {
+            projection = new RowProjection(table, fields);
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+
+        if (deferredColumns != null) {
+            projection.defer(deferredColumns);
+        }
+
+        try (final BlockReader reader = BlockReader.open(table)) {
+            for (final int block : blocks) {
+                final ByteBuffer buffer = reader.read(block);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+                // The next block and the block number.
+                buffer.position(Short.BYTES * 2);
+
+                final int addDataSize = buffer.getShort();
+                final int rows = (addDataSize / table.getRecordSize()) + 1;
+
+                buffer.order(ByteOrder.BIG_ENDIAN);
+                for (int i = 0; i < rows; i++) {
+                    ret.add(projection.read(buffer));
+                }
+            }
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        } finally {
+            try {
+                projection.close();
+            } catch (@SuppressWarnings("java:S1166") final SQLException e) {
+                // Nothing to do, the rows were already read.
+            }
+        }
+
+        return ret;
+    }
+}
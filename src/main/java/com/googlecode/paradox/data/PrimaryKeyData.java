@@ -12,21 +12,56 @@ package com.googlecode.paradox.data;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.data.filefilters.PrimaryKeyFilter;
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.KeyRange;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
 import com.googlecode.paradox.metadata.paradox.ParadoxPK;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.io.File;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.Date;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
  * Reads primary key data fields.
+ * <p>
+ * The primary key file is a tree of blocks with the same layout of the table blocks. Each entry has the first key of
+ * a child block, its block number, the child row count and a reserved value. The entries in the last level point to
+ * the table blocks, that are stored in key order.
  *
- * @version 1.4
+ * @version 1.7
  * @since 1.0
  */
 public final class PrimaryKeyData extends ParadoxData {
 
+    /**
+     * The block header size.
+     */
+    private static final int BLOCK_HEADER_SIZE = 6;
+
+    /**
+     * The entry size after the key fields.
+     */
+    private static final int ENTRY_SIZE = 6;
+
+    /**
+     * Marks the entries with no next key in the tree.
+     */
+    private static final Object NO_LIMIT = new Object();
+
     /**
      * Utility class.
      */
@@ -56,4 +91,278 @@ public final class PrimaryKeyData extends ParadoxData {
 
         return null;
     }
+
+    /**
+     * Finds the table blocks that may have the first key field in one of the ranges.
+     *
+     * @param table  the table.
+     * @param pk     the table primary key.
+     * @param ranges the first key field ranges.
+     * @return the table blocks in key order or {@code null} if the ranges can't be searched in the index.
+     * @throws SQLException in case of failures.
+     */
+    static int[] findBlocks(final ParadoxTable table, final ParadoxPK pk, final List<KeyRange> ranges)
+            throws SQLException {
+        final Field field = table.getFields()[0];
+        if (!isOrdered(table.getSortOrderID(), field, ranges)) {
+            return null;
+        }
+
+        return searchTree(table, pk, field, ranges);
+    }
+
+    /**
+     * Finds the blocks pointed by an index tree that may have the first key field in one of the ranges.
+     *
+     * @param table  the table.
+     * @param tree   the index tree file.
+     * @param field  the first key field.
+     * @param ranges the first key field ranges.
+     * @return the blocks in key order or {@code null} if the tree is empty.
+     * @throws SQLException in case of failures.
+     */
+    static int[] searchTree(final ParadoxTable table, final ParadoxDataFile tree, final Field field,
+                            final List<KeyRange> ranges) throws SQLException {
+        if (tree.getRootBlock() == 0 || tree.getLevels() == 0 || tree.getRecordSize() <= ENTRY_SIZE) {
+            return null;
+        }
+
+        final IntStream.Builder blocks = IntStream.builder();
+        try (final BlockReader reader = BlockReader.open(tree)) {
+            search(new Search(table, tree, field, ranges, reader, blocks), tree.getRootBlock(), 1, NO_LIMIT);
+        }
+
+        return blocks.build().toArray();
+    }
+
+    /**
+     * Gets if the comparison of the field values with all range bounds keeps the index order.
+     *
+     * @param sortOrderID the index sort order.
+     * @param field       the key field.
+     * @param ranges      the key ranges.
+     * @return {@code true} if the comparison keeps the index order.
+     */
+    static boolean isOrdered(final String sortOrderID, final Field field, final List<KeyRange> ranges) {
+        for (final KeyRange range : ranges) {
+            if (!isOrdered(sortOrderID, field, range.getLow()) || !isOrdered(sortOrderID, field, range.getHigh())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets if the keys from {@code first} to {@code next} may be in one of the ranges.
+     * <p>
+     * Empty keys are stored as {@code null} and are the first in the index.
+     *
+     * @param ranges         the key ranges.
+     * @param first          the first key.
+     * @param next           the last key or {@link #NO_LIMIT} if there is no limit.
+     * @param connectionInfo the connection information.
+     * @return {@code true} if the keys may be in one of the ranges.
+     */
+    static boolean overlaps(final List<KeyRange> ranges, final Object first, final Object next,
+                            final ConnectionInfo connectionInfo) {
+        for (final KeyRange range : ranges) {
+            final boolean belowHigh = range.getHigh() == null || first == null
+                    || ValuesComparator.compare(first, range.getHigh(), connectionInfo) <= 0;
+            final boolean aboveLow = range.getLow() == null || next == NO_LIMIT
+                    || (next != null && ValuesComparator.compare(next, range.getLow(), connectionInfo) >= 0);
+            if (belowHigh && aboveLow) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Search the index block entries that may have keys in the ranges.
+     * <p>
+     * An entry has the keys from its own key to the next entry key, or the parent limit in the last entry.
+     *
+     * @param search      the search state.
+     * @param blockNumber the index block number.
+     * @param level       the block level in the tree, starting in 1.
+     * @param limit       the last key in this block or {@link #NO_LIMIT} if there is no limit.
+     * @throws SQLException in case of failures.
+     */
+    private static void search(final Search search, final int blockNumber, final int level, final Object limit)
+            throws SQLException {
+        final ParadoxDataFile tree = search.tree;
+        if (level > tree.getLevels() || blockNumber <= 0 || blockNumber > tree.getTotalBlocks()) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA);
+        }
+
+        // Decode all entries first: the reader buffer is reused by the child blocks.
+        final ByteBuffer buffer = search.reader.read(blockNumber);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        final int count = Math.max(0, buffer.getShort(4) / tree.getRecordSize() + 1);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        final int keySize = tree.getRecordSize() - ENTRY_SIZE;
+        final Object[] keys = new Object[count];
+        final int[] children = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int offset = BLOCK_HEADER_SIZE + i * tree.getRecordSize();
+            buffer.position(offset);
+            keys[i] = ParadoxFieldFactory.parse(search.table, buffer, search.field);
+            children[i] = (buffer.getShort(offset + keySize) ^ 0x8000) & 0xFFFF;
+        }
+
+        for (int i = 0; i < count; i++) {
+            Object next = limit;
+            if (i + 1 < count) {
+                next = keys[i + 1];
+            }
+
+            if (overlaps(search.ranges, keys[i], next, search.table.getConnectionInfo())) {
+                if (level == tree.getLevels()) {
+                    search.blocks.add(children[i]);
+                } else {
+                    search(search, children[i], level + 1, next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets if the comparison of the field values with a value keeps the index order.
+     * <p>
+     * The values are compared like in the statement conditions, where the key value may be converted to the value
+     * type. Only conversions that keeps the order are accepted. Strings are only ordered in the {@code ascii} sort
+     * order and if the value has only ASCII characters, so it is compared with the key bytes in the same way.
+     *
+     * @param sortOrderID the index sort order.
+     * @param field       the key field.
+     * @param value       the value to compare or {@code null} if unlimited.
+     * @return {@code true} if the comparison keeps the index order.
+     */
+    @SuppressWarnings({"java:S1142", "java:S1541"})
+    private static boolean isOrdered(final String sortOrderID, final Field field, final Object value) {
+        if (value == null) {
+            return true;
+        }
+
+        switch (field.getType()) {
+            case VARCHAR:
+                return value instanceof String && "ascii".equalsIgnoreCase(sortOrderID)
+                        && ((String) value).chars().allMatch(c -> c < 0x80);
+            case INTEGER:
+            case AUTO_INCREMENT:
+                return isNumber(value) || isParseable(value, Integer::valueOf) || isParseable(value, BigDecimal::new);
+            case LONG:
+                return isNumber(value) || isParseable(value, Long::valueOf) || isParseable(value, BigDecimal::new);
+            case NUMBER:
+            case CURRENCY:
+                return isNumber(value) || isParseable(value, Double::valueOf);
+            case BCD:
+                return isNumber(value) || isParseable(value, BigDecimal::new);
+            case DATE:
+                return value instanceof Date || value instanceof Timestamp
+                        || isParseable(value, v -> Date.valueOf(v.trim())) || isParseable(value, Timestamp::valueOf);
+            case TIME:
+                return value instanceof java.util.Date || isParseable(value, v -> Time.valueOf(v.trim()))
+                        || isParseable(value, Date::valueOf) || isParseable(value, Timestamp::valueOf);
+            case TIMESTAMP:
+                return value instanceof Timestamp || value instanceof Date
+                        || isParseable(value, v -> Timestamp.valueOf(v.trim())) || isParseable(value, Date::valueOf)
+                        || isParseable(value, Time::valueOf);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Gets if the value is a string accepted by one of the conversions used in the comparison.
+     * <p>
+     * The value converters add a warning to the connection for each failed conversion, so the planning only probes
+     * the same parsers.
+     *
+     * @param value  the value.
+     * @param parser the parser to probe.
+     * @return {@code true} if the value is a string accepted by the parser.
+     */
+    private static boolean isParseable(final Object value, final Function<String, ?> parser) {
+        if (!(value instanceof String)) {
+            return false;
+        }
+
+        try {
+            parser.apply((String) value);
+            return true;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets if the value is a number compared by its numeric value.
+     *
+     * @param value the value.
+     * @return {@code true} if the value is a number compared by its numeric value.
+     */
+    private static boolean isNumber(final Object value) {
+        // Byte values are compared as byte, with overflow.
+        return value instanceof Number && !(value instanceof Byte);
+    }
+
+    /**
+     * The index search state.
+     */
+    private static final class Search {
+
+        /**
+         * The table.
+         */
+        private final ParadoxTable table;
+
+        /**
+         * The index tree file.
+         */
+        private final ParadoxDataFile tree;
+
+        /**
+         * The first key field.
+         */
+        private final Field field;
+
+        /**
+         * The key ranges.
+         */
+        private final List<KeyRange> ranges;
+
+        /**
+         * The index block reader.
+         */
+        private final BlockReader reader;
+
+        /**
+         * The blocks found.
+         */
+        private final IntStream.Builder blocks;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param table  the table.
+         * @param tree   the index tree file.
+         * @param field  the first key field.
+         * @param ranges the key ranges.
+         * @param reader the index block reader.
+         * @param blocks the blocks found.
+         */
+        Search(final ParadoxTable table, final ParadoxDataFile tree, final Field field, final List<KeyRange> ranges,
+               final BlockReader reader, final IntStream.Builder blocks) {
+            this.table = table;
+            this.tree = tree;
+            this.field = field;
+            this.ranges = ranges;
+            this.reader = reader;
+            this.blocks = blocks;
+        }
+    }
 }
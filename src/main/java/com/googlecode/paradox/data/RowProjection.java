@@ -0,0 +1,388 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.data.field.AbstractLobField;
+import com.googlecode.paradox.data.field.AutoIncrementField;
+import com.googlecode.paradox.data.field.BlobFile;
+import com.googlecode.paradox.data.field.BooleanField;
+import com.googlecode.paradox.data.field.DateField;
+import com.googlecode.paradox.data.field.IntegerField;
+import com.googlecode.paradox.data.field.LongField;
+import com.googlecode.paradox.data.field.NumberField;
+import com.googlecode.paradox.data.field.TimeField;
+import com.googlecode.paradox.data.field.TimestampField;
+import com.googlecode.paradox.data.field.VarcharField;
+import com.googlecode.paradox.metadata.ColumnBatch;
+import com.googlecode.paradox.metadata.ColumnVector;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.results.ParadoxType;
+import com.googlecode.paradox.utils.DateUtils;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Precomputed plan to read only some fields of a table record.
+ * <p>
+ * Each projected field keeps its offset inside the record, so the record is read with random access and the other
+ * fields are never visited. The field types are checked once, when the projection is created. The blob file is
+ * opened only once for all the records and must be released with {@link #close()}.
+ *
+ * @version 1.7
+ * @since 1.6.0
+ */
+final class RowProjection {
+
+    /**
+     * The table to read.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The projected fields.
+     */
+    private final Field[] fields;
+
+    /**
+     * The field offset inside the record or -1 if not in table.
+     */
+    private final int[] offsets;
+
+    /**
+     * The record size.
+     */
+    private final int recordSize;
+
+    /**
+     * The parser of each projected field or {@code null} if it is not in the table.
+     */
+    private final FieldParser[] parsers;
+
+    /**
+     * The projected field types, to call the common parsers directly.
+     */
+    private final ParadoxType[] types;
+
+    /**
+     * The date cache of the default time zone, resolved once for all the rows read.
+     */
+    private final DateUtils.DateCache dates = DateUtils.getCache();
+
+    /**
+     * The LOB parser of each projected field or {@code null} if it is not a LOB.
+     */
+    private final AbstractLobField[] lobParsers;
+
+    /**
+     * The table blob file.
+     */
+    private final BlobFile blobs;
+
+    /**
+     * The LOB fields loaded only when used, by projected field index.
+     */
+    private boolean[] deferred;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     * @throws SQLException in case of unsupported field types.
+     */
+    RowProjection(final ParadoxTable table, final Field[] fields) throws SQLException {
+        this.table = table;
+        this.fields = fields;
+        this.offsets = new int[fields.length];
+        this.parsers = new FieldParser[fields.length];
+        this.types = new ParadoxType[fields.length];
+
+        Arrays.fill(offsets, -1);
+
+        int offset = 0;
+        for (final Field field : table.getFields()) {
+            for (int i = 0; i < fields.length; i++) {
+                if (offsets[i] == -1 && Objects.equals(fields[i], field)) {
+                    offsets[i] = offset;
+                    // Dispatch by type only once, failing early on unsupported types.
+                    parsers[i] = ParadoxFieldFactory.getParser(field);
+                    types[i] = field.getType();
+                }
+            }
+
+            offset += field.getRealSize();
+        }
+
+        this.recordSize = offset;
+        this.lobParsers = new AbstractLobField[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            if (offsets[i] != -1) {
+                lobParsers[i] = ParadoxFieldFactory.getLobParser(fields[i]);
+            }
+        }
+
+        this.blobs = new BlobFile(table);
+    }
+
+    /**
+     * Sets the LOB fields to be loaded only when used.
+     * <p>
+     * These fields are read as {@link com.googlecode.paradox.data.field.LobReference} when stored in the blob file.
+     *
+     * @param columns the projected field indexes.
+     */
+    void defer(final int[] columns) {
+        this.deferred = new boolean[fields.length];
+        for (final int column : columns) {
+            this.deferred[column] = true;
+        }
+    }
+
+    /**
+     * Reads the record in the current buffer position and moves to the next record.
+     *
+     * @param buffer the block buffer.
+     * @return the row with the projected fields.
+     * @throws SQLException in case of parse errors.
+     */
+    Object[] read(final ByteBuffer buffer) throws SQLException {
+        final int start = buffer.position();
+        final Object[] row = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            row[i] = parse(buffer, start, i);
+        }
+
+        buffer.position(start + recordSize);
+        return row;
+    }
+
+    /**
+     * Reads the record in the current buffer position and moves to the next record, decoding only the filter fields
+     * before the filter is evaluated. The other fields are decoded only in accepted rows.
+     *
+     * @param buffer        the block buffer.
+     * @param filterColumns the fields needed by the filter, by projected field index.
+     * @param filter        the row filter.
+     * @return the row with the projected fields or {@code null} if the row is not accepted.
+     * @throws SQLException in case of parse errors.
+     */
+    Object[] read(final ByteBuffer buffer, final boolean[] filterColumns, final Predicate<Object[]> filter)
+            throws SQLException {
+        final int start = buffer.position();
+        final Object[] row = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            if (filterColumns[i]) {
+                row[i] = parse(buffer, start, i);
+            }
+        }
+
+        Object[] ret = null;
+        if (filter.test(row)) {
+            for (int i = 0; i < fields.length; i++) {
+                if (!filterColumns[i]) {
+                    row[i] = parse(buffer, start, i);
+                }
+            }
+
+            ret = row;
+        }
+
+        buffer.position(start + recordSize);
+        return ret;
+    }
+
+    /**
+     * Reads the projected field of all records in a block into a column vector.
+     *
+     * @param buffer the block buffer.
+     * @param start  the first record start in buffer.
+     * @param rows   the record count.
+     * @param index  the projected field index.
+     * @return the column vector.
+     * @throws SQLException in case of parse errors.
+     */
+    ColumnVector readColumn(final ByteBuffer buffer, final int start, final int rows, final int index)
+            throws SQLException {
+        final Field field = fields[index];
+        final ColumnVector vector = new ColumnVector(getVectorType(field), rows);
+        if (offsets[index] == -1) {
+            for (int row = 0; row < rows; row++) {
+                vector.setNull(row);
+            }
+
+            return vector;
+        }
+
+        for (int row = 0; row < rows; row++) {
+            buffer.position(start + row * recordSize + offsets[index]);
+            switch (field.getType()) {
+                case INTEGER:
+                    IntegerField.read(buffer, vector, row);
+                    break;
+                case AUTO_INCREMENT:
+                    AutoIncrementField.read(buffer, vector, row);
+                    break;
+                case LONG:
+                    LongField.read(buffer, vector, row);
+                    break;
+                case NUMBER:
+                case CURRENCY:
+                    NumberField.read(buffer, field, vector, row);
+                    break;
+                default:
+                    vector.setObject(row, parse(buffer, index));
+                    break;
+            }
+        }
+
+        return vector;
+    }
+
+    /**
+     * Gets the column vector type for a field.
+     *
+     * @param field the field.
+     * @return the column vector type.
+     */
+    private static ColumnVector.Type getVectorType(final Field field) {
+        switch (field.getType()) {
+            case INTEGER:
+            case AUTO_INCREMENT:
+                return ColumnVector.Type.INT;
+            case LONG:
+                return ColumnVector.Type.LONG;
+            case NUMBER:
+            case CURRENCY:
+                return ColumnVector.Type.DOUBLE;
+            default:
+                return ColumnVector.Type.OBJECT;
+        }
+    }
+
+    /**
+     * Reads a record from a block already filtered by batch.
+     *
+     * @param buffer the block buffer.
+     * @param start  the record start in buffer.
+     * @param batch  the batch with the already loaded fields.
+     * @param index  the record index in batch.
+     * @return the row with the projected fields.
+     * @throws SQLException in case of parse errors.
+     */
+    Object[] read(final ByteBuffer buffer, final int start, final ColumnBatch batch, final int index)
+            throws SQLException {
+        final Object[] row = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            final ColumnVector vector = batch.getVector(i);
+            if (vector == null) {
+                row[i] = parse(buffer, start, i);
+            } else {
+                row[i] = vector.getObject(index);
+            }
+        }
+
+        return row;
+    }
+
+    /**
+     * Parses a single projected field.
+     *
+     * @param buffer the block buffer.
+     * @param start  the record start in buffer.
+     * @param index  the projected field index.
+     * @return the field value.
+     * @throws SQLException in case of parse errors.
+     */
+    Object parse(final ByteBuffer buffer, final int start, final int index) throws SQLException {
+        if (offsets[index] == -1) {
+            return null;
+        }
+
+        buffer.position(start + offsets[index]);
+        return parse(buffer, index);
+    }
+
+    /**
+     * Parses a single projected field in the current buffer position.
+     *
+     * @param buffer the block buffer.
+     * @param index  the projected field index.
+     * @return the field value.
+     * @throws SQLException in case of parse errors.
+     */
+    private Object parse(final ByteBuffer buffer, final int index) throws SQLException {
+        final AbstractLobField lobParser = lobParsers[index];
+        if (lobParser == null) {
+            return parseScalar(buffer, index);
+        } else if (deferred != null && deferred[index]) {
+            return lobParser.defer(table, buffer, fields[index]);
+        }
+
+        return lobParser.parse(table, buffer, fields[index], blobs);
+    }
+
+    /**
+     * Parses a non LOB field, calling the parsers of the common types directly.
+     *
+     * @param buffer the block buffer.
+     * @param index  the projected field index.
+     * @return the field value.
+     * @throws SQLException in case of parse errors.
+     */
+    private Object parseScalar(final ByteBuffer buffer, final int index) throws SQLException {
+        switch (types[index]) {
+            case VARCHAR:
+                return VarcharField.parseValue(table, buffer, fields[index]);
+            case INTEGER:
+                return IntegerField.parseValue(buffer);
+            case LONG:
+                return LongField.parseValue(buffer);
+            case AUTO_INCREMENT:
+                return AutoIncrementField.parseValue(buffer);
+            case NUMBER:
+            case CURRENCY:
+                return NumberField.parseValue(buffer, fields[index]);
+            case DATE:
+                return DateField.parseValue(buffer, dates);
+            case TIME:
+                return TimeField.parseValue(buffer, dates);
+            case TIMESTAMP:
+                return TimestampField.parseValue(buffer);
+            case BOOLEAN:
+                return BooleanField.parseValue(buffer);
+            default:
+                return parsers[index].parse(table, buffer, fields[index]);
+        }
+    }
+
+    /**
+     * Releases the blob file.
+     *
+     * @throws SQLException in case of failures.
+     */
+    void close() throws SQLException {
+        blobs.close();
+    }
+
+    /**
+     * Gets the record size.
+     *
+     * @return the record size.
+     */
+    int getRecordSize() {
+        return recordSize;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+/**
+ * How table blocks are read from disk.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public enum ScanMode {
+
+    /**
+     * Read each block with a file channel into a heap buffer.
+     */
+    CHANNEL,
+
+    /**
+     * Map the table file in memory and read the blocks from the mapped region.
+     */
+    MMAP
+}
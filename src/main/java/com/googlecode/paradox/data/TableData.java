@@ -12,25 +12,24 @@ package com.googlecode.paradox.data;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.data.filefilters.TableFilter;
-import com.googlecode.paradox.exceptions.DataError;
-import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.exceptions.InternalException;
 import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.Index;
+import com.googlecode.paradox.metadata.KeyRange;
+import com.googlecode.paradox.metadata.RowCursor;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxIndex;
+import com.googlecode.paradox.metadata.paradox.ParadoxPK;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 import java.sql.SQLException;
 import java.util.*;
 
 /**
  * Utility class for loading table files.
  *
- * @version 1.10
+ * @version 1.17
  * @since 1.0
  */
 public final class TableData extends ParadoxData {
@@ -59,10 +58,7 @@ public final class TableData extends ParadoxData {
             Arrays.sort(fileList);
             for (final File file : fileList) {
                 try {
-                    final ParadoxTable table = loadHeader(file, connectionInfo);
-                    Arrays.stream(table.getFields()).forEach(field -> field.setTable(table));
-                    table.loadIndexes();
-                    tables.add(table);
+                    tables.add(loadTable(file, connectionInfo));
                 } catch (final SQLException e) {
                     connectionInfo.addWarning(e);
                 }
@@ -72,6 +68,21 @@ public final class TableData extends ParadoxData {
         return tables;
     }
 
+    /**
+     * Loads the table header and its indexes.
+     *
+     * @param file           the table file.
+     * @param connectionInfo the connection information.
+     * @return the table.
+     * @throws SQLException in case of failures.
+     */
+    public static ParadoxTable loadTable(final File file, final ConnectionInfo connectionInfo) throws SQLException {
+        final ParadoxTable table = loadHeader(file, connectionInfo);
+        Arrays.stream(table.getFields()).forEach(field -> field.setTable(table));
+        table.loadIndexes();
+        return table;
+    }
+
     /**
      * Load the table data from file.
      *
@@ -81,86 +92,86 @@ public final class TableData extends ParadoxData {
      * @throws SQLException in case of failures.
      */
     public static List<Object[]> loadData(final ParadoxTable table, final Field[] fields) throws SQLException {
+        if (table.getUsedBlocks() == 0) {
+            return Collections.emptyList();
+        }
 
-        final int blockSize = table.getBlockSizeBytes();
-        final int recordSize = table.getRecordSize();
-        final int headerSize = table.getHeaderSize();
-
-        try (final FileInputStream fs = new FileInputStream(table.getFile());
-             final FileChannel channel = fs.getChannel()) {
-            if (table.getUsedBlocks() == 0) {
-                return Collections.emptyList();
-            }
-
-            final List<Object[]> ret = new ArrayList<>(table.getRowCount());
-            long nextBlock = table.getFirstBlock();
-
-            final ByteBuffer buffer = ByteBuffer.allocate(blockSize);
-            do {
-                buffer.order(ByteOrder.LITTLE_ENDIAN);
-                long position = headerSize + ((nextBlock - 1) * blockSize);
-                channel.position(position);
-
-                buffer.clear();
-                channel.read(buffer);
-                checkDBEncryption(buffer, table, blockSize, nextBlock);
-                buffer.flip();
-
-                nextBlock = buffer.getShort() & 0xFFFF;
-
-                // The block number.
-                buffer.getShort();
-
-                final int addDataSize = buffer.getShort();
-                final int rowsInBlock = (addDataSize / recordSize) + 1;
+        if (isParallelScan(table)) {
+            return ParallelBlockScan.load(table, fields);
+        }
 
-                buffer.order(ByteOrder.BIG_ENDIAN);
+        final List<Object[]> ret = new ArrayList<>(table.getRowCount());
+        try (final RowCursor cursor = new BlockCursor(table, fields)) {
+            cursor.forEachRemaining(ret::add);
+        } catch (@SuppressWarnings("java:S1166") final InternalException e) {
+            throw e.getCause();
+        }
 
-                for (int loop = 0; loop < rowsInBlock; loop++) {
-                    ret.add(TableData.readRow(table, fields, buffer));
-                }
-            } while (nextBlock != 0);
+        return ret;
+    }
 
-            return ret;
-        } catch (final IOException e) {
-            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+    /**
+     * Opens a cursor to read the table data one block at a time.
+     * <p>
+     * With parallel scan enabled, the blocks of unfiltered cursors are decoded in parallel, a few ranges ahead of the
+     * rows read. Filtered cursors read the blocks in sequence, so the filters decode only the columns they need.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     * @return the row cursor.
+     * @throws SQLException in case of failures.
+     */
+    public static RowCursor cursor(final ParadoxTable table, final Field[] fields) throws SQLException {
+        if (isParallelScan(table)) {
+            return new ParallelBlockCursor(table, fields);
         }
+
+        return new BlockCursor(table, fields);
     }
 
     /**
-     * Read a entire row.
+     * Opens a cursor over the table blocks that may have the first index field in one of the ranges.
      *
-     * @param table  the table to read of.
+     * @param table  the table to read.
      * @param fields the fields to read.
-     * @param buffer the buffer to read of.
-     * @return the row.
-     * @throws SQLException in case of parse errors.
+     * @param index  the index to use.
+     * @param ranges the key ranges.
+     * @return the row cursor or {@code null} if the index can't be used.
+     * @throws SQLException in case of failures.
      */
-    private static Object[] readRow(final ParadoxTable table, final Field[] fields, final ByteBuffer buffer)
-            throws SQLException {
-        final Object[] row = new Object[fields.length];
-
-        for (final Field field : table.getFields()) {
-            // Field filter
-            final int index = search(fields, field);
-            if (index != -1) {
-                row[index] = ParadoxFieldFactory.parse(table, buffer, field);
-            } else {
-                int size = field.getRealSize();
-                buffer.position(buffer.position() + size);
-            }
+    public static RowCursor seek(final ParadoxTable table, final Field[] fields, final Index index,
+                                 final List<KeyRange> ranges) throws SQLException {
+        if (!(index instanceof ParadoxPK || index instanceof ParadoxIndex)
+                || !Arrays.asList(table.getIndexes()).contains(index)) {
+            return null;
         }
 
-        return row;
-    }
+        if (table.getUsedBlocks() == 0) {
+            return new BlockCursor(table, fields);
+        }
 
-    private static int search(final Field[] values, Object find) {
-        for (int i = 0; i < values.length; i++) {
-            if (Objects.equals(values[i], find)) {
-                return i;
-            }
+        final int[] blocks;
+        if (index instanceof ParadoxPK) {
+            blocks = PrimaryKeyData.findBlocks(table, (ParadoxPK) index, ranges);
+        } else {
+            blocks = IndexData.findBlocks(table, (ParadoxIndex) index, ranges);
+        }
+
+        if (blocks == null) {
+            return null;
         }
 
-        return -1;
+        return new BlockCursor(table, fields, blocks);
+    }
+
+    /**
+     * Gets if the table blocks should be decoded in parallel.
+     *
+     * @param table the table to read.
+     * @return {@code true} if the table blocks should be decoded in parallel.
+     */
+    private static boolean isParallelScan(final ParadoxTable table) {
+        return table.getUsedBlocks() > 1 && table.getConnectionInfo() != null
+                && table.getConnectionInfo().isParallelScan();
     }
 }
@@ -10,7 +10,6 @@
  */
 package com.googlecode.paradox.data.field;
 
-import com.googlecode.paradox.data.EncryptedData;
 import com.googlecode.paradox.data.FieldParser;
 import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
@@ -18,18 +17,14 @@ import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
 
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 import java.sql.SQLException;
-import java.util.Arrays;
 
 /**
  * Parses LOB fields.
  *
- * @version 1.8
+ * @version 1.11
  * @since 1.5.0
  */
 public abstract class AbstractLobField implements FieldParser {
@@ -64,43 +59,6 @@ public abstract class AbstractLobField implements FieldParser {
      */
     public static final int LEADER_SIZE_PADDING = 10;
 
-    private static ByteBuffer readBlock(final FileChannel channel, final int size, final ParadoxTable table)
-            throws IOException {
-        // Calculate the block size.
-        final long pos = channel.position();
-        final long offset = pos & 0xFFFFFF00;
-        int blockSize = (int) (size + pos - offset);
-        if ((blockSize & 0xFF) > 0) {
-            blockSize = ((blockSize >> 0x08) + 1) << 0x08;
-        }
-
-        // Read the block data
-        ByteBuffer buffer = ByteBuffer.allocate(blockSize);
-        channel.position(offset);
-        channel.read(buffer);
-        channel.position(pos + size);
-
-        // Handle encryption.
-        if (table.isEncrypted()) {
-            byte[] b = buffer.array();
-            EncryptedData.decryptMBBlock(b, table.getEncryptedData(), blockSize);
-        }
-
-        buffer.flip();
-
-        // recalculate offset.
-        int bufferOffset = (int) (pos - offset);
-        if (bufferOffset > 0) {
-            buffer.position(bufferOffset);
-            buffer = buffer.slice();
-            buffer.limit(size);
-        } else {
-            buffer.limit(size);
-        }
-
-        return buffer;
-    }
-
     protected abstract Object getValue(final ParadoxTable table, final ByteBuffer value) throws ParadoxDataException;
 
     /**
@@ -109,55 +67,124 @@ public abstract class AbstractLobField implements FieldParser {
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field)
             throws SQLException {
-        int leader = field.getRealSize() - LEADER_SIZE_PADDING;
-
-        final ByteBuffer value = ByteBuffer.allocate(leader);
-
-        System.arraycopy(buffer.array(), buffer.position(), value.array(), 0, leader);
-        buffer.position(buffer.position() + leader);
+        try (final BlobFile blobs = new BlobFile(table)) {
+            return parse(table, buffer, field, blobs);
+        }
+    }
 
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
-        value.position(leader);
+    /**
+     * Parses the value using an already opened blob file.
+     *
+     * @param table  the table.
+     * @param buffer the buffer to read of.
+     * @param field  the field.
+     * @param blobs  the table blob file.
+     * @return the value.
+     * @throws SQLException in case of failures.
+     */
+    public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field, final BlobFile blobs)
+            throws SQLException {
+        return parse(table, buffer, field, blobs, false);
+    }
 
-        // All fields are 9, only graphics is 17.
-        int headerSize = BLOB_HEADER_SIZE;
+    /**
+     * Parses the value, but keeping only a reference for values stored in the blob file.
+     *
+     * @param table  the table.
+     * @param buffer the buffer to read of.
+     * @param field  the field.
+     * @return the value or a {@link LobReference} if the value is in blob file.
+     * @throws SQLException in case of failures.
+     */
+    public Object defer(final ParadoxTable table, final ByteBuffer buffer, final Field field) throws SQLException {
+        return parse(table, buffer, field, null, true);
+    }
 
-        // Graphic field?
-        if (field.getType() == ParadoxType.GRAPHIC) {
-            headerSize = GRAPH_HEADER_SIZE;
-        }
+    /**
+     * Parses the field.
+     *
+     * @param table    the table.
+     * @param buffer   the buffer to read of.
+     * @param field    the field.
+     * @param blobs    the table blob file.
+     * @param deferred if the values in blob file should not be loaded.
+     * @return the value.
+     * @throws SQLException in case of failures.
+     */
+    private Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field, final BlobFile blobs,
+                         final boolean deferred) throws SQLException {
+        final int leader = field.getRealSize() - LEADER_SIZE_PADDING;
+        final int start = buffer.position();
 
-        long beginIndex = buffer.getInt();
-        final int size = buffer.getInt();
-        buffer.getShort();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        final long beginIndex = buffer.getInt(start + leader);
+        final int size = buffer.getInt(start + leader + Integer.BYTES);
         buffer.order(ByteOrder.BIG_ENDIAN);
+
+        buffer.position(start + field.getRealSize());
         if (size <= 0) {
             return null;
         } else if (size <= leader) {
-            byte[] currentValue = Arrays.copyOf(value.array(), size);
-            return getValue(table, ByteBuffer.wrap(currentValue));
+            final byte[] value = new byte[size];
+            buffer.position(start);
+            buffer.get(value);
+            buffer.position(start + field.getRealSize());
+            return getValue(table, ByteBuffer.wrap(value));
+        } else if (deferred) {
+            return new LobReference(this, table, field, beginIndex, size);
         }
 
-        try (final FileInputStream fs = table.openBlobs(); final FileChannel channel = fs.getChannel()) {
-            final long offset = beginIndex & 0xFFFFFF00;
-            channel.position(offset);
+        return read(table, field, blobs, beginIndex, size);
+    }
 
-            ByteBuffer head = readBlock(channel, HEAD_SIZE, table);
-            head.order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Reads the value from blob file.
+     *
+     * @param table      the table.
+     * @param field      the field.
+     * @param blobs      the table blob file.
+     * @param beginIndex the value position in blob file.
+     * @param size       the value size.
+     * @return the value.
+     * @throws SQLException in case of failures.
+     */
+    Object read(final ParadoxTable table, final Field field, final BlobFile blobs, final long beginIndex,
+                final int size) throws SQLException {
+        final long position = locate(field, blobs, beginIndex, size);
+        return getValue(table, blobs.read(position, size));
+    }
 
-            byte type = head.get();
-            head.getShort();
+    /**
+     * Finds the value data in blob file, checking the block headers.
+     *
+     * @param field      the field.
+     * @param blobs      the table blob file.
+     * @param beginIndex the value position in blob file.
+     * @param size       the value size.
+     * @return the data position in blob file.
+     * @throws SQLException in case of failures.
+     */
+    long locate(final Field field, final BlobFile blobs, final long beginIndex, final int size) throws SQLException {
+        // All fields are 9, only graphics is 17.
+        int headerSize = BLOB_HEADER_SIZE;
 
-            final long index = beginIndex & 0xFF;
-            return processBlobByBlockType(table, headerSize, size, channel, offset, type, index);
-        } catch (final IOException ex) {
-            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, ex);
+        // Graphic field?
+        if (field.getType() == ParadoxType.GRAPHIC) {
+            headerSize = GRAPH_HEADER_SIZE;
         }
+
+        final long offset = beginIndex & 0xFFFFFF00;
+        final ByteBuffer head = blobs.read(offset, HEAD_SIZE);
+        head.order(ByteOrder.LITTLE_ENDIAN);
+
+        final byte type = head.get();
+        final long index = beginIndex & 0xFF;
+        return locateByBlockType(headerSize, size, blobs, offset, type, index);
     }
 
-    private Object processBlobByBlockType(final ParadoxTable table, final int headerSize, final int size,
-                                          final FileChannel channel, final long offset, final byte type,
-                                          final long index) throws SQLException, IOException {
+    private static long locateByBlockType(final int headerSize, final int size, final BlobFile blobs,
+                                          final long offset, final byte type, final long index)
+            throws SQLException {
         switch (type) {
             case 0x0:
                 throw new ParadoxDataException(DataError.BLOB_READ_HEAD_BLOCK);
@@ -166,20 +193,17 @@ public abstract class AbstractLobField implements FieldParser {
             case FREE_BLOCK:
                 throw new ParadoxDataException(DataError.BLOB_INVALID_HEADER);
             case SINGLE_BLOCK:
-                return parseSingleBlock(table, index, size, headerSize, channel);
+                return locateSingleBlock(index, size, headerSize, blobs, offset);
             case SUB_BLOCK:
-                return parseSubBlock(table, index, offset, size, headerSize, channel);
+                return locateSubBlock(index, offset, size, blobs);
             default:
                 throw new ParadoxDataException(DataError.BLOB_INVALID_HEADER_TYPE);
         }
     }
 
-    private Object parseSubBlock(final ParadoxTable table, final long index, final long offset, final int size,
-                                 final int headerSize, final FileChannel channel) throws IOException, SQLException {
-        channel.position(channel.position() + headerSize);
-
-        channel.position(offset + 0x0CL + index * 0x05L);
-        final ByteBuffer head = readBlock(channel, 5, table);
+    private static long locateSubBlock(final long index, final long offset, final int size, final BlobFile blobs)
+            throws SQLException {
+        final ByteBuffer head = blobs.read(offset + 0x0CL + index * 0x05L, 5);
         head.order(ByteOrder.LITTLE_ENDIAN);
 
         // Data offset divided by 16.
@@ -195,19 +219,17 @@ public abstract class AbstractLobField implements FieldParser {
             throw new ParadoxDataException(DataError.BLOB_INVALID_DECLARED_SIZE);
         }
 
-        channel.position(offset + blockOffset * 0x10);
-        final ByteBuffer blocks = readBlock(channel, size, table);
-
-        return getValue(table, blocks);
+        return offset + blockOffset * 0x10;
     }
 
-    private Object parseSingleBlock(ParadoxTable table, long index, int size, int headerSize, final FileChannel channel)
-            throws SQLException, IOException {
+    private static long locateSingleBlock(final long index, final int size, final int headerSize,
+                                          final BlobFile blobs, final long offset) throws SQLException {
         if (index != 0xFF) {
             throw new ParadoxDataException(DataError.BLOB_SINGLE_BLOCK_INVALID_INDEX);
         }
+
         // Read the remaining 6 bytes from the header.
-        final ByteBuffer head = readBlock(channel, headerSize - HEAD_SIZE, table);
+        final ByteBuffer head = blobs.read(offset + HEAD_SIZE, headerSize - HEAD_SIZE);
         head.order(ByteOrder.LITTLE_ENDIAN);
 
         int internalSize = head.getInt();
@@ -215,7 +237,6 @@ public abstract class AbstractLobField implements FieldParser {
             throw new ParadoxDataException(DataError.BLOB_INVALID_DECLARED_SIZE);
         }
 
-        final ByteBuffer blocks = readBlock(channel, size, table);
-        return getValue(table, blocks);
+        return offset + headerSize;
     }
 }
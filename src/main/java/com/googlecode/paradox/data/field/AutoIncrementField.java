@@ -11,6 +11,7 @@
 package com.googlecode.paradox.data.field;
 
 import com.googlecode.paradox.data.FieldParser;
+import com.googlecode.paradox.metadata.ColumnVector;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
@@ -20,7 +21,7 @@ import java.nio.ByteBuffer;
 /**
  * Parses auto increment fields.
  *
- * @version 1.4
+ * @version 1.7
  * @since 1.3
  */
 public final class AutoIncrementField implements FieldParser {
@@ -38,6 +39,37 @@ public final class AutoIncrementField implements FieldParser {
      */
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
+        return parseValue(buffer);
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value.
+     */
+    public static Integer parseValue(final ByteBuffer buffer) {
+        return decode(buffer);
+    }
+
+    /**
+     * Reads the field value into a column vector.
+     *
+     * @param buffer the buffer to read of.
+     * @param vector the column vector.
+     * @param index  the vector index.
+     */
+    public static void read(final ByteBuffer buffer, final ColumnVector vector, final int index) {
+        vector.setInt(index, decode(buffer));
+    }
+
+    /**
+     * Decodes the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value.
+     */
+    private static int decode(final ByteBuffer buffer) {
         return buffer.getInt() & 0x0FFF_FFFF;
     }
 }
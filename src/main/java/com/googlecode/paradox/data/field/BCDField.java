@@ -17,12 +17,16 @@ import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 /**
  * Parses boolean fields.
+ * <p>
+ * The digits are accumulated in two longs (16 digits each) directly from the buffer, so no intermediary string is
+ * created.
  *
- * @version 1.3
+ * @version 1.5
  * @since 1.3
  */
 public final class BCDField implements FieldParser {
@@ -31,10 +35,92 @@ public final class BCDField implements FieldParser {
     public static final int MAX_DIGITS = 32;
     public static final byte SECOND_BYTE = 4;
 
-    private static void removeLeadingZeroes(final StringBuilder builder) {
-        while (builder.length() > 1 && builder.charAt(0) == '0') {
-            builder.deleteCharAt(0);
+    /**
+     * Digits stored in each half of the value.
+     */
+    private static final int HALF_DIGITS = MAX_DIGITS / 2;
+
+    /**
+     * Bytes used by each half of the value.
+     */
+    private static final int HALF_BYTES = HALF_DIGITS / 2;
+
+    /**
+     * Multiplier of the high half.
+     */
+    private static final BigInteger HIGH_MULTIPLIER = BigInteger.TEN.pow(HALF_DIGITS);
+
+    /**
+     * Largest integer exactly represented as double.
+     */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    /**
+     * Powers of ten exactly represented as double.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11, 1E12, 1E13, 1E14, 1E15, 1E16, 1E17, 1E18,
+            1E19, 1E20, 1E21, 1E22
+    };
+
+    /**
+     * Reads one half of the value digits.
+     *
+     * @param buffer the buffer to read.
+     * @param offset the first byte offset.
+     * @param mask   the mask to apply in each byte.
+     * @return the digits value.
+     */
+    private static long readDigits(final ByteBuffer buffer, final int offset, final int mask) {
+        long value = 0;
+        for (int i = offset; i < offset + HALF_BYTES; i++) {
+            final int digits = (buffer.get(i) ^ mask) & 0xFF;
+            value = value * 100 + (digits >>> SECOND_BYTE) * 10 + (digits & 0x0F);
+        }
+
+        return value;
+    }
+
+    /**
+     * Converts the digits to {@link BigDecimal}.
+     *
+     * @param high      the high digits.
+     * @param low       the low digits.
+     * @param precision the field precision.
+     * @return the absolute value.
+     */
+    private static BigDecimal toBigDecimal(final long high, final long low, final int precision) {
+        BigDecimal value;
+        if (high == 0) {
+            value = BigDecimal.valueOf(low, precision);
+        } else {
+            value = new BigDecimal(BigInteger.valueOf(high).multiply(HIGH_MULTIPLIER).add(BigInteger.valueOf(low)),
+                    precision);
+        }
+
+        if (precision == 0) {
+            // Integer values are always loaded with one decimal place.
+            value = value.setScale(1);
         }
+
+        return value;
+    }
+
+    /**
+     * Converts the digits to double.
+     *
+     * @param high      the high digits.
+     * @param low       the low digits.
+     * @param precision the field precision.
+     * @return the absolute value.
+     */
+    private static double toDouble(final long high, final long low, final int precision) {
+        if (high == 0 && low <= MAX_EXACT_LONG && precision < POWERS_OF_TEN.length) {
+            // Both operands are exact, so the division is correctly rounded.
+            return low / POWERS_OF_TEN[precision];
+        }
+
+        return toBigDecimal(high, low, precision).doubleValue();
     }
 
     /**
@@ -50,53 +136,40 @@ public final class BCDField implements FieldParser {
      */
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field originalField) {
-        final byte[] valueBuffer = new byte[BCD_SIZE];
+        final int offset = buffer.position();
+        buffer.position(offset + BCD_SIZE);
 
-        System.arraycopy(buffer.array(), buffer.position(), valueBuffer, 0, valueBuffer.length);
-        buffer.position(buffer.position() + valueBuffer.length);
-
-        if (valueBuffer[0] == 0) {
+        final byte first = buffer.get(offset);
+        if (first == 0) {
             return null;
         }
 
-        boolean negative = (valueBuffer[0] & 0x80) == 0;
+        final boolean negative = (first & 0x80) == 0;
+        final int mask;
         if (negative) {
-            for (int i = 1; i < valueBuffer.length; i++) {
-                valueBuffer[i] ^= 0xFF;
-            }
+            mask = 0xFF;
+        } else {
+            mask = 0;
         }
 
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 1; i < valueBuffer.length; i++) {
-            byte high = (byte) (valueBuffer[i] & 0xF0);
-            high >>>= SECOND_BYTE;
-            high = (byte) (high & 0x0f);
-            byte low = (byte) (valueBuffer[i] & 0x0F);
+        final long high = readDigits(buffer, offset + 1, mask);
+        final long low = readDigits(buffer, offset + 1 + HALF_BYTES, mask);
 
-            sb.append(high);
-            sb.append(low);
-        }
-
-        final ParadoxField field = (ParadoxField) originalField;
-        final int precision = field.getPrecision();
-        if (precision == MAX_DIGITS) {
-            sb.insert(0, "0.");
-        } else {
-            sb.insert(sb.length() - precision, '.');
-            if (precision == 0) {
-                sb.append('0');
+        final int precision = ((ParadoxField) originalField).getPrecision();
+        if (table.getConnectionInfo().isBcdRounding()) {
+            final double value = toDouble(high, low, precision);
+            if (negative) {
+                return -value;
             }
-            removeLeadingZeroes(sb);
-        }
 
-        if (negative) {
-            sb.insert(0, '-');
+            return value;
         }
 
-        if (table.getConnectionInfo().isBcdRounding()) {
-            return Double.valueOf(sb.toString());
+        final BigDecimal value = toBigDecimal(high, low, precision);
+        if (negative) {
+            return value.negate();
         }
 
-        return new BigDecimal(sb.toString());
+        return value;
     }
 }
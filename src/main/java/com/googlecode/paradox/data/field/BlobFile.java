@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data.field;
+
+import com.googlecode.paradox.data.EncryptedData;
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.sql.SQLException;
+
+/**
+ * The table blob file (MB), opened once and shared by all the LOB values read in a scan.
+ * <p>
+ * The file is opened in the first read and all reads are positional, so the same instance can be used by many
+ * threads.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public final class BlobFile implements AutoCloseable {
+
+    /**
+     * The table.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The file stream, opened in the first read.
+     */
+    private FileInputStream stream;
+
+    /**
+     * The file channel.
+     */
+    private FileChannel channel;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table the table.
+     */
+    public BlobFile(final ParadoxTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Reads a file region, already decrypted.
+     *
+     * @param position the region position.
+     * @param size     the region size.
+     * @return the region data.
+     * @throws SQLException in case of failures.
+     */
+    ByteBuffer read(final long position, final int size) throws SQLException {
+        return read(position, size, null);
+    }
+
+    /**
+     * Reads a file region, already decrypted, reusing a buffer if it is big enough.
+     *
+     * @param position the region position.
+     * @param size     the region size.
+     * @param scratch  the buffer to reuse (it may be {@code null}).
+     * @return the region data.
+     * @throws SQLException in case of failures.
+     */
+    ByteBuffer read(final long position, final int size, final ByteBuffer scratch) throws SQLException {
+        // Calculate the block size.
+        final long offset = position & 0xFFFFFF00;
+        int blockSize = (int) (size + position - offset);
+        if ((blockSize & 0xFF) > 0) {
+            blockSize = ((blockSize >> 0x08) + 1) << 0x08;
+        }
+
+        // Read the block data
+        ByteBuffer buffer;
+        if (scratch != null && scratch.capacity() >= blockSize) {
+            buffer = scratch;
+            buffer.clear();
+            buffer.limit(blockSize);
+        } else {
+            buffer = ByteBuffer.allocate(blockSize);
+        }
+
+        try {
+            getChannel().read(buffer, offset);
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+
+        // Handle encryption.
+        if (table.isEncrypted()) {
+            EncryptedData.decryptMBBlock(buffer.array(), table.getEncryptedData(), blockSize);
+        }
+
+        buffer.flip();
+
+        // recalculate offset.
+        final int bufferOffset = (int) (position - offset);
+        if (bufferOffset > 0) {
+            buffer.position(bufferOffset);
+            buffer = buffer.slice();
+        }
+
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * Gets the file channel, opening the file if needed.
+     *
+     * @return the file channel.
+     * @throws SQLException in case of failures.
+     */
+    private synchronized FileChannel getChannel() throws SQLException {
+        if (channel == null) {
+            stream = table.openBlobs();
+            channel = stream.getChannel();
+        }
+
+        return channel;
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (final IOException e) {
+                throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+            } finally {
+                stream = null;
+                channel = null;
+            }
+        }
+    }
+}
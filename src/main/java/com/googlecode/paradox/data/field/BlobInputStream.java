@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data.field;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+/**
+ * Reads a LOB value from the blob file in fixed size chunks.
+ * <p>
+ * Only one chunk is kept in memory, so the memory used does not depend on the value size.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+final class BlobInputStream extends InputStream {
+
+    /**
+     * The chunk size (multiple of the encryption block size).
+     */
+    static final int CHUNK_SIZE = 0x2000;
+
+    /**
+     * The blob file, closed with this stream.
+     */
+    private final BlobFile blobs;
+
+    /**
+     * The chunk buffer.
+     */
+    private final ByteBuffer scratch = ByteBuffer.allocate(CHUNK_SIZE);
+
+    /**
+     * The next chunk position in blob file.
+     */
+    private long position;
+
+    /**
+     * Bytes not read yet from blob file.
+     */
+    private int remaining;
+
+    /**
+     * The current chunk.
+     */
+    private ByteBuffer chunk;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param blobs    the blob file.
+     * @param position the value position in blob file.
+     * @param size     the value size.
+     */
+    BlobInputStream(final BlobFile blobs, final long position, final int size) {
+        this.blobs = blobs;
+        this.position = position;
+        this.remaining = size;
+    }
+
+    /**
+     * Reads the next chunk if the current one is over.
+     *
+     * @return <code>false</code> if there is no more data.
+     * @throws IOException in case of failures.
+     */
+    private boolean fill() throws IOException {
+        if (chunk != null && chunk.hasRemaining()) {
+            return true;
+        } else if (remaining <= 0) {
+            return false;
+        }
+
+        // Align the chunks with the file blocks.
+        final int size = Math.min(remaining, CHUNK_SIZE - (int) (position & 0xFF));
+        try {
+            chunk = blobs.read(position, size, scratch);
+        } catch (final SQLException e) {
+            throw new IOException(e);
+        }
+
+        position += size;
+        remaining -= size;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+
+        return chunk.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        while (count < len && fill()) {
+            final int size = Math.min(len - count, chunk.remaining());
+            chunk.get(b, off + count, size);
+            count += size;
+        }
+
+        if (count == 0) {
+            return -1;
+        }
+
+        return count;
+    }
+
+    @Override
+    public int available() {
+        int ret = remaining;
+        if (chunk != null) {
+            ret += chunk.remaining();
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void close() throws IOException {
+        remaining = 0;
+        chunk = null;
+        try {
+            blobs.close();
+        } catch (final SQLException e) {
+            throw new IOException(e);
+        }
+    }
+}
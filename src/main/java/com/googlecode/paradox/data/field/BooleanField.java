@@ -20,7 +20,7 @@ import java.nio.ByteBuffer;
 /**
  * Parses boolean fields.
  *
- * @version 1.5
+ * @version 1.6
  * @since 1.3
  */
 public final class BooleanField implements FieldParser {
@@ -41,6 +41,16 @@ public final class BooleanField implements FieldParser {
      */
     @Override
     public Boolean parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
+        return parseValue(buffer);
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value.
+     */
+    public static Boolean parseValue(final ByteBuffer buffer) {
         final byte v = buffer.get();
         Boolean ret = null;
         if (v == TRUE_VALUE) {
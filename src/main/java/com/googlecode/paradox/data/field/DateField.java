@@ -22,7 +22,7 @@ import java.sql.Date;
 /**
  * Parses date fields.
  *
- * @version 1.5
+ * @version 1.6
  * @since 1.3
  */
 public final class DateField implements FieldParser {
@@ -40,11 +40,22 @@ public final class DateField implements FieldParser {
      */
     @Override
     public Date parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
+        return parseValue(buffer, DateUtils.getCache());
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @param dates  the date cache of the time zone to use.
+     * @return the field value.
+     */
+    public static Date parseValue(final ByteBuffer buffer, final DateUtils.DateCache dates) {
         final long days = buffer.getInt() & 0x0FFF_FFFFL;
 
         Date date = null;
         if (days != 0) {
-            date = DateUtils.sdnToGregorian(days + 1_721_425);
+            date = DateUtils.sdnToGregorian(days + 1_721_425, dates);
         }
 
         return date;
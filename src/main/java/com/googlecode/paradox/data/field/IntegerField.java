@@ -11,6 +11,7 @@
 package com.googlecode.paradox.data.field;
 
 import com.googlecode.paradox.data.FieldParser;
+import com.googlecode.paradox.metadata.ColumnVector;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
@@ -20,11 +21,14 @@ import java.nio.ByteBuffer;
 /**
  * Parses integer fields.
  *
- * @version 1.5
+ * @version 1.8
  * @since 1.3
  */
 public final class IntegerField implements FieldParser {
 
+    /**
+     * The null value.
+     */
     private static final int NULL_VALUE = -32768;
 
     /**
@@ -43,7 +47,17 @@ public final class IntegerField implements FieldParser {
      */
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
-        final int v = (short) (buffer.getShort() ^ 0x8000);
+        return parseValue(buffer);
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value.
+     */
+    public static Integer parseValue(final ByteBuffer buffer) {
+        final int v = decode(buffer);
 
         if (v == NULL_VALUE) {
             return null;
@@ -51,4 +65,31 @@ public final class IntegerField implements FieldParser {
 
         return v;
     }
+
+    /**
+     * Reads the field value into a column vector.
+     *
+     * @param buffer the buffer to read of.
+     * @param vector the column vector.
+     * @param index  the vector index.
+     */
+    public static void read(final ByteBuffer buffer, final ColumnVector vector, final int index) {
+        final int v = decode(buffer);
+
+        if (v == NULL_VALUE) {
+            vector.setNull(index);
+        } else {
+            vector.setInt(index, v);
+        }
+    }
+
+    /**
+     * Decodes the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value or {@link #NULL_VALUE} if the value is null.
+     */
+    private static int decode(final ByteBuffer buffer) {
+        return (short) (buffer.getShort() ^ 0x8000);
+    }
 }
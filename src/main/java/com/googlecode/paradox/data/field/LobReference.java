@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data.field;
+
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.sql.SQLException;
+
+/**
+ * A LOB value not loaded yet.
+ * <p>
+ * Stores only the value position in the blob file (MB), so the value is read only if requested. The value can also
+ * be streamed, reading the blob file in chunks.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public final class LobReference {
+
+    /**
+     * The field parser.
+     */
+    private final AbstractLobField parser;
+
+    /**
+     * The table.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The field.
+     */
+    private final Field field;
+
+    /**
+     * The value position in blob file.
+     */
+    private final long beginIndex;
+
+    /**
+     * The value size.
+     */
+    private final int size;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param parser     the field parser.
+     * @param table      the table.
+     * @param field      the field.
+     * @param beginIndex the value position in blob file.
+     * @param size       the value size.
+     */
+    LobReference(final AbstractLobField parser, final ParadoxTable table, final Field field, final long beginIndex,
+                 final int size) {
+        this.parser = parser;
+        this.table = table;
+        this.field = field;
+        this.beginIndex = beginIndex;
+        this.size = size;
+    }
+
+    /**
+     * Loads the value from blob file.
+     *
+     * @return the value.
+     * @throws SQLException in case of failures.
+     */
+    public Object load() throws SQLException {
+        try (final BlobFile blobs = new BlobFile(table)) {
+            return parser.read(table, field, blobs, beginIndex, size);
+        }
+    }
+
+    /**
+     * Opens a stream over the value bytes.
+     *
+     * @return the value stream.
+     * @throws SQLException in case of failures.
+     */
+    @SuppressWarnings("java:S2095")
+    public InputStream openStream() throws SQLException {
+        final BlobFile blobs = new BlobFile(table);
+        try {
+            return new BlobInputStream(blobs, parser.locate(field, blobs, beginIndex, size), size);
+        } catch (final SQLException e) {
+            blobs.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a reader over the value text, using the table charset.
+     *
+     * @return the value reader.
+     * @throws SQLException in case of failures.
+     */
+    public Reader openReader() throws SQLException {
+        final CharsetDecoder decoder = table.getCharset().newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.IGNORE);
+        decoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
+        return new InputStreamReader(openStream(), decoder);
+    }
+
+    /**
+     * Gets if the value is a text.
+     *
+     * @return <code>true</code> if the value is a text.
+     */
+    public boolean isText() {
+        return parser instanceof MemoField;
+    }
+
+    /**
+     * Gets the value size.
+     *
+     * @return the value size.
+     */
+    public int getSize() {
+        return size;
+    }
+}
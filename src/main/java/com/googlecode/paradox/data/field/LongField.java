@@ -11,6 +11,7 @@
 package com.googlecode.paradox.data.field;
 
 import com.googlecode.paradox.data.FieldParser;
+import com.googlecode.paradox.metadata.ColumnVector;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
@@ -20,11 +21,16 @@ import java.nio.ByteBuffer;
 /**
  * Parses long fields.
  *
- * @version 1.5
+ * @version 1.8
  * @since 1.3
  */
 public final class LongField implements FieldParser {
 
+    /**
+     * The null value.
+     */
+    private static final long NULL_VALUE = Integer.MIN_VALUE;
+
     /**
      * {@inheritDoc}
      */
@@ -38,11 +44,47 @@ public final class LongField implements FieldParser {
      */
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
-        final long l = buffer.getInt() ^ 0x8000_0000;
-        if (l == 0x8000_0000) {
+        return parseValue(buffer);
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value.
+     */
+    public static Long parseValue(final ByteBuffer buffer) {
+        final long l = decode(buffer);
+        if (l == NULL_VALUE) {
             return null;
         }
 
         return l;
     }
+
+    /**
+     * Reads the field value into a column vector.
+     *
+     * @param buffer the buffer to read of.
+     * @param vector the column vector.
+     * @param index  the vector index.
+     */
+    public static void read(final ByteBuffer buffer, final ColumnVector vector, final int index) {
+        final long l = decode(buffer);
+        if (l == NULL_VALUE) {
+            vector.setNull(index);
+        } else {
+            vector.setLong(index, l);
+        }
+    }
+
+    /**
+     * Decodes the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value or {@link #NULL_VALUE} if the value is null.
+     */
+    private static long decode(final ByteBuffer buffer) {
+        return buffer.getInt() ^ 0x8000_0000;
+    }
 }
@@ -11,6 +11,7 @@
 package com.googlecode.paradox.data.field;
 
 import com.googlecode.paradox.data.FieldParser;
+import com.googlecode.paradox.metadata.ColumnVector;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
@@ -22,7 +23,7 @@ import java.nio.ByteBuffer;
 /**
  * Parses the numeric fields.
  *
- * @version 1.6
+ * @version 1.8
  * @since 1.3
  */
 public final class NumberField implements FieldParser {
@@ -40,6 +41,50 @@ public final class NumberField implements FieldParser {
      */
     @Override
     public Double parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
+        return parseValue(buffer, field);
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @param field  the field to parse.
+     * @return the field value.
+     */
+    public static Double parseValue(final ByteBuffer buffer, final Field field) {
+        final double v = decode(buffer, field);
+        if (Double.isNaN(v)) {
+            return null;
+        }
+
+        return v;
+    }
+
+    /**
+     * Reads the field value into a column vector.
+     *
+     * @param buffer the buffer to read of.
+     * @param field  the field to read.
+     * @param vector the column vector.
+     * @param index  the vector index.
+     */
+    public static void read(final ByteBuffer buffer, final Field field, final ColumnVector vector, final int index) {
+        final double v = decode(buffer, field);
+        if (Double.isNaN(v)) {
+            vector.setNull(index);
+        } else {
+            vector.setDouble(index, v);
+        }
+    }
+
+    /**
+     * Decodes the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @param field  the field to read.
+     * @return the field value or {@link Double#NaN} if the value is null.
+     */
+    private static double decode(final ByteBuffer buffer, final Field field) {
         long value = buffer.getLong();
         if ((value & 0x8000_0000_0000_0000L) != 0) {
             value &= 0x7FFF_FFFF_FFFF_FFFFL;
@@ -49,11 +94,7 @@ public final class NumberField implements FieldParser {
 
         double v = Double.longBitsToDouble(value);
 
-        if (Double.isNaN(v)) {
-            return null;
-        }
-
-        if (field.getType() == ParadoxType.CURRENCY) {
+        if (!Double.isNaN(v) && field.getType() == ParadoxType.CURRENCY) {
             final BigDecimal decimal = BigDecimal.valueOf(v);
             v = decimal.setScale(field.getPrecision(), RoundingMode.HALF_UP).doubleValue();
         }
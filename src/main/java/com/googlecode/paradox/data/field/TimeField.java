@@ -14,16 +14,15 @@ import com.googlecode.paradox.data.FieldParser;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
+import com.googlecode.paradox.utils.DateUtils;
 
 import java.nio.ByteBuffer;
 import java.sql.Time;
-import java.util.Calendar;
-import java.util.GregorianCalendar;
 
 /**
  * Parses time fields.
  *
- * @version 1.6
+ * @version 1.8
  * @since 1.3
  */
 public final class TimeField implements FieldParser {
@@ -41,12 +40,21 @@ public final class TimeField implements FieldParser {
      */
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
+        return parseValue(buffer, DateUtils.getCache());
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @param dates  the date cache of the time zone to use.
+     * @return the field value.
+     */
+    public static Time parseValue(final ByteBuffer buffer, final DateUtils.DateCache dates) {
         final long timeInMillis = buffer.getInt() & 0x0FFF_FFFFL;
 
         if (timeInMillis != 0) {
-            final Calendar calendar = new GregorianCalendar(1, Calendar.JANUARY, 0);
-            calendar.add(Calendar.MILLISECOND, (int) timeInMillis);
-            return new Time(calendar.getTimeInMillis());
+            return new Time(dates.getTimeOrigin() + timeInMillis);
         }
 
         return null;
@@ -21,7 +21,7 @@ import java.sql.Timestamp;
 /**
  * Parses time stamp fields.
  *
- * @version 1.4
+ * @version 1.5
  * @since 1.2
  */
 public final class TimestampField implements FieldParser {
@@ -41,6 +41,16 @@ public final class TimestampField implements FieldParser {
      */
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
+        return parseValue(buffer);
+    }
+
+    /**
+     * Parses the field value.
+     *
+     * @param buffer the buffer to read of.
+     * @return the field value.
+     */
+    public static Timestamp parseValue(final ByteBuffer buffer) {
         long rawValue = buffer.getLong();
 
         if (rawValue == 0) {
@@ -16,15 +16,40 @@ import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
 
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Parses a VARCHAR field.
  *
- * @version 1.5
+ * @version 1.8
  * @since 1.3
  */
 public final class VarcharField implements FieldParser {
 
+    /**
+     * Number of byte values.
+     */
+    private static final int TABLE_SIZE = 0x100;
+
+    /**
+     * First byte value outside ASCII.
+     */
+    private static final int ASCII_LIMIT = 0x80;
+
+    /**
+     * Flag value for charsets that keep the ASCII values.
+     */
+    private static final char ASCII_COMPATIBLE = 1;
+
+    /**
+     * Decoding tables for single byte charsets.
+     */
+    private static final Map<Charset, char[]> TABLES = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}.
      */
@@ -38,29 +63,130 @@ public final class VarcharField implements FieldParser {
      */
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
-        final ByteBuffer valueString = ByteBuffer.allocate(field.getSize());
-
-        System.arraycopy(buffer.array(), buffer.position(), valueString.array(), 0, field.getSize());
-        buffer.position(buffer.position() + field.getSize());
+        return parseValue(table, buffer, field);
+    }
 
-        final byte[] value = valueString.array();
-        int length = value.length;
+    /**
+     * Parses the field value.
+     *
+     * @param table  the table with the field.
+     * @param buffer the buffer to read of.
+     * @param field  the field to parse.
+     * @return the field value.
+     */
+    public static String parseValue(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
+        final int start = buffer.position();
+        int length = field.getSize();
+        buffer.position(start + length);
 
         for (; length > 0; length--) {
             // array value starts with zero, not 1
-            if (value[length - 1] != 0) {
+            if (buffer.get(start + length - 1) != 0) {
                 break;
             }
         }
-        valueString.flip();
-        valueString.limit(length);
-        final String str = table.getCharset().decode(valueString).toString();
 
-        if (str.isEmpty()) {
+        if (length == 0) {
             return null;
         }
 
-        return str;
+        final char[] chars = getTable(table.getCharset());
+        if (chars.length == 0) {
+            final byte[] value = new byte[length];
+            for (int i = 0; i < length; i++) {
+                value[i] = buffer.get(start + i);
+            }
+
+            final String str = table.getCharset().decode(ByteBuffer.wrap(value)).toString();
+            if (str.isEmpty()) {
+                return null;
+            }
+
+            return str;
+        }
+
+        return decode(buffer, start, length, chars);
+    }
+
+    /**
+     * Decodes a single byte charset value.
+     *
+     * @param buffer the buffer to read of.
+     * @param start  the value start.
+     * @param length the value length.
+     * @param chars  the charset table.
+     * @return the decoded value.
+     */
+    private static String decode(final ByteBuffer buffer, final int start, final int length, final char[] chars) {
+        if (buffer.hasArray() && chars[TABLE_SIZE] == ASCII_COMPATIBLE) {
+            final byte[] array = buffer.array();
+            final int offset = buffer.arrayOffset() + start;
+
+            boolean ascii = true;
+            for (int i = offset; i < offset + length; i++) {
+                if (array[i] < 0) {
+                    ascii = false;
+                    break;
+                }
+            }
+
+            if (ascii) {
+                return new String(array, offset, length, StandardCharsets.US_ASCII);
+            }
+        }
+
+        final char[] value = new char[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = chars[buffer.get(start + i) & 0xFF];
+        }
+
+        return new String(value);
+    }
+
+    /**
+     * Gets the decoding table for a charset.
+     *
+     * @param charset the charset.
+     * @return the decoding table or an empty array if the charset is not single byte.
+     */
+    private static char[] getTable(final Charset charset) {
+        return TABLES.computeIfAbsent(charset, VarcharField::createTable);
     }
 
+    /**
+     * Creates the decoding table for a charset.
+     * <p>
+     * The table has the char for each byte value and an extra entry flagging if the charset keeps the ASCII values.
+     *
+     * @param charset the charset.
+     * @return the decoding table or an empty array if the charset is not single byte.
+     */
+    private static char[] createTable(final Charset charset) {
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() > 1.0F) {
+            return new char[0];
+        }
+
+        final byte[] bytes = new byte[TABLE_SIZE];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        final CharBuffer decoded = charset.decode(ByteBuffer.wrap(bytes));
+        if (decoded.remaining() != bytes.length) {
+            return new char[0];
+        }
+
+        final char[] chars = new char[bytes.length + 1];
+        decoded.get(chars, 0, bytes.length);
+
+        chars[TABLE_SIZE] = ASCII_COMPATIBLE;
+        for (int i = 0; i < ASCII_LIMIT; i++) {
+            if (chars[i] != i) {
+                chars[TABLE_SIZE] = 0;
+                break;
+            }
+        }
+
+        return chars;
+    }
 }
@@ -13,7 +13,7 @@ package com.googlecode.paradox.exceptions;
 /**
  * Error codes.
  *
- * @version 1.2
+ * @version 1.3
  * @since 1.6.0
  */
 public enum DataError {
@@ -111,7 +111,12 @@ public enum DataError {
     /**
      * Unsupported file type.
      */
-    UNSUPPORTED_FILE_TYPE("019", "Unsupported file type: %s");
+    UNSUPPORTED_FILE_TYPE("019", "Unsupported file type: %s"),
+
+    /**
+     * Error in temporary sort files.
+     */
+    ERROR_SORTING_DATA("020", "Error sorting data in temporary files");
 
     /**
      * SQL state code.
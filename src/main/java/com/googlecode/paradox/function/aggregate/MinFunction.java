@@ -16,7 +16,6 @@ import com.googlecode.paradox.parser.nodes.SQLNode;
 import com.googlecode.paradox.planner.nodes.FieldNode;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
-import com.googlecode.paradox.rowset.ValuesConverter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -24,7 +23,7 @@ import java.util.List;
 /**
  * The SQL MIN function.
  *
- * @version 1.2
+ * @version 1.3
  * @since 1.6.0
  */
 public class MinFunction extends AbstractGroupingFunction<BigDecimal> {
@@ -55,8 +54,7 @@ public class MinFunction extends AbstractGroupingFunction<BigDecimal> {
     @Override
     public MinContext execute(final ConnectionInfo connectionInfo, final Object[] values,
                               final ParadoxType[] types, final FieldNode[] fields) {
-        final BigDecimal value = ValuesConverter.getBigDecimal(values[0], connectionInfo);
-        return new MinContext(value);
+        return new MinContext(values[0], types[0], connectionInfo);
     }
 
     @Override
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.function.aggregate.context;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.function.aggregate.IGroupingContext;
+import com.googlecode.paradox.results.ParadoxType;
+import com.googlecode.paradox.rowset.ValuesComparator;
+import com.googlecode.paradox.rowset.ValuesConverter;
+
+import java.math.BigDecimal;
+
+/**
+ * Base class for the numeric aggregation contexts.
+ * <p>
+ * The value representation is chosen by the argument type: integer types are kept in a {@code long}, promoted to
+ * {@link BigDecimal} on overflow, floating point types in a {@code double} with compensated sums and the other types
+ * (like BCD and currency) in a {@link BigDecimal}. Values of different representations are merged as
+ * {@link BigDecimal}.
+ * <p>
+ * Each row still creates its own context. Only the group context is changed in place when the other row contexts
+ * are merged, so the merge allocates no values.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public abstract class AbstractNumericContext implements IGroupingContext<BigDecimal> {
+
+    /**
+     * The value representation.
+     */
+    private enum Mode {
+        /**
+         * The value is in {@link #longValue}.
+         */
+        LONG,
+
+        /**
+         * The value is in {@link #doubleValue}, with {@link #compensation}.
+         */
+        DOUBLE,
+
+        /**
+         * The value is in {@link #decimalValue}.
+         */
+        DECIMAL
+    }
+
+    /**
+     * The value representation.
+     */
+    private Mode mode;
+
+    /**
+     * The integer value.
+     */
+    private long longValue;
+
+    /**
+     * The floating point value.
+     */
+    private double doubleValue;
+
+    /**
+     * The low order bits lost in the floating point sums.
+     */
+    private double compensation;
+
+    /**
+     * The decimal value or {@code null} if there is no value.
+     */
+    private BigDecimal decimalValue;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param value the decimal value.
+     */
+    protected AbstractNumericContext(final BigDecimal value) {
+        this.mode = Mode.DECIMAL;
+        this.decimalValue = value;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param value          the argument value.
+     * @param type           the argument type.
+     * @param connectionInfo the connection information.
+     */
+    protected AbstractNumericContext(final Object value, final ParadoxType type,
+                                     final ConnectionInfo connectionInfo) {
+        if (isInteger(type) && (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte)) {
+            this.mode = Mode.LONG;
+            this.longValue = ((Number) value).longValue();
+        } else if (isFloatingPoint(type) && (value instanceof Double || value instanceof Float)) {
+            this.mode = Mode.DOUBLE;
+            this.doubleValue = ((Number) value).doubleValue();
+        } else {
+            this.mode = Mode.DECIMAL;
+            this.decimalValue = ValuesConverter.getBigDecimal(value, connectionInfo);
+        }
+    }
+
+    /**
+     * Gets if the type values are kept as integers.
+     *
+     * @param type the argument type.
+     * @return {@code true} if the type values are kept as integers.
+     */
+    private static boolean isInteger(final ParadoxType type) {
+        return type == ParadoxType.INTEGER || type == ParadoxType.LONG || type == ParadoxType.AUTO_INCREMENT;
+    }
+
+    /**
+     * Gets if the type values are kept as floating point.
+     *
+     * @param type the argument type.
+     * @return {@code true} if the type values are kept as floating point.
+     */
+    private static boolean isFloatingPoint(final ParadoxType type) {
+        return type == ParadoxType.NUMBER || type == ParadoxType.NUMERIC || type == ParadoxType.DECIMAL;
+    }
+
+    /**
+     * Adds the other context value to this one.
+     *
+     * @param other the context to add.
+     */
+    protected void add(final AbstractNumericContext other) {
+        if (mode == Mode.LONG && other.mode == Mode.LONG) {
+            try {
+                longValue = Math.addExact(longValue, other.longValue);
+            } catch (@SuppressWarnings("java:S1166") final ArithmeticException e) {
+                decimalValue = BigDecimal.valueOf(longValue).add(BigDecimal.valueOf(other.longValue));
+                mode = Mode.DECIMAL;
+            }
+        } else if (mode == Mode.DOUBLE && other.mode == Mode.DOUBLE) {
+            addDouble(other.doubleValue);
+            compensation += other.compensation;
+        } else {
+            final BigDecimal value = getValue();
+            final BigDecimal otherValue = other.getValue();
+            if (value == null) {
+                decimalValue = otherValue;
+            } else if (otherValue != null) {
+                decimalValue = value.add(otherValue);
+            } else {
+                decimalValue = value;
+            }
+
+            mode = Mode.DECIMAL;
+        }
+    }
+
+    /**
+     * Adds a floating point value, keeping the lost bits in the compensation (Kahan-Babuska sum).
+     *
+     * @param value the value to add.
+     */
+    private void addDouble(final double value) {
+        final double sum = doubleValue + value;
+        if (Math.abs(doubleValue) >= Math.abs(value)) {
+            compensation += (doubleValue - sum) + value;
+        } else {
+            compensation += (value - sum) + doubleValue;
+        }
+
+        doubleValue = sum;
+    }
+
+    /**
+     * Compares this context value with other.
+     *
+     * @param other          the context to compare.
+     * @param connectionInfo the connection information.
+     * @return the comparison result, like {@link ValuesComparator#compare(Object, Object, ConnectionInfo)}.
+     */
+    protected int compare(final AbstractNumericContext other, final ConnectionInfo connectionInfo) {
+        if (mode == Mode.LONG && other.mode == Mode.LONG) {
+            return Long.compare(longValue, other.longValue);
+        } else if (mode == Mode.DOUBLE && other.mode == Mode.DOUBLE) {
+            return Double.compare(doubleValue + compensation, other.doubleValue + other.compensation);
+        }
+
+        return ValuesComparator.compare(getValue(), other.getValue(), connectionInfo);
+    }
+
+    /**
+     * Replaces this context value with the other one.
+     *
+     * @param other the context to copy.
+     */
+    protected void set(final AbstractNumericContext other) {
+        this.mode = other.mode;
+        this.longValue = other.longValue;
+        this.doubleValue = other.doubleValue;
+        this.compensation = other.compensation;
+        this.decimalValue = other.decimalValue;
+    }
+
+    /**
+     * Gets if this context has no value.
+     *
+     * @return {@code true} if this context has no value.
+     */
+    protected boolean isNull() {
+        return mode == Mode.DECIMAL && decimalValue == null;
+    }
+
+    /**
+     * Gets the context value.
+     *
+     * @return the context value or {@code null} if there is no value.
+     */
+    protected BigDecimal getValue() {
+        switch (mode) {
+            case LONG:
+                // Integer values are always returned with one decimal place.
+                return BigDecimal.valueOf(longValue).setScale(1);
+            case DOUBLE:
+                return BigDecimal.valueOf(doubleValue + compensation);
+            default:
+                return decimalValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(getValue());
+    }
+}
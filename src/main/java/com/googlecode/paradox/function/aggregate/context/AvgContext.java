@@ -12,6 +12,7 @@ package com.googlecode.paradox.function.aggregate.context;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.function.aggregate.IGroupingContext;
+import com.googlecode.paradox.results.ParadoxType;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -19,22 +20,34 @@ import java.math.RoundingMode;
 /**
  * AVG context.
  *
- * @version 1.2
+ * @version 1.3
  * @since 1.6.0
  */
-public class AvgContext implements IGroupingContext<BigDecimal> {
-
-    private BigDecimal value;
+public class AvgContext extends AbstractNumericContext {
 
+    /**
+     * The values count.
+     */
     private int total = 1;
 
     /**
      * Creates a new instance.
      *
-     * @param value the amount to count.
+     * @param value the decimal value.
      */
     public AvgContext(final BigDecimal value) {
-        this.value = value;
+        super(value);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param value          the argument value.
+     * @param type           the argument type.
+     * @param connectionInfo the connection information.
+     */
+    public AvgContext(final Object value, final ParadoxType type, final ConnectionInfo connectionInfo) {
+        super(value, type, connectionInfo);
     }
 
     @Override
@@ -42,25 +55,17 @@ public class AvgContext implements IGroupingContext<BigDecimal> {
         final AvgContext current = (AvgContext) context;
         if (current != null) {
             this.total += current.total;
-            if (this.value == null) {
-                this.value = current.value;
-            } else if (current.value != null) {
-                this.value = this.value.add(current.value);
-            }
+            add(current);
         }
     }
 
     @Override
     public BigDecimal toValue() {
-        if (this.value != null && total != 0) {
+        final BigDecimal value = getValue();
+        if (value != null && total != 0) {
             return value.divide(BigDecimal.valueOf(total), RoundingMode.FLOOR);
         }
 
         return null;
     }
-
-    @Override
-    public String toString() {
-        return value.toString();
-    }
 }
@@ -12,47 +12,52 @@ package com.googlecode.paradox.function.aggregate.context;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.function.aggregate.IGroupingContext;
-import com.googlecode.paradox.rowset.ValuesComparator;
+import com.googlecode.paradox.results.ParadoxType;
 
 import java.math.BigDecimal;
 
 /**
  * Max context.
+ * <p>
+ * Contexts without value are ignored.
  *
- * @version 1.1
+ * @version 1.4
  * @since 1.6.0
  */
-public class MaxContext implements IGroupingContext<BigDecimal> {
-
-    private BigDecimal value;
+public class MaxContext extends AbstractNumericContext {
 
     /**
      * Creates a new instance.
      *
-     * @param value the amount to count.
+     * @param value the decimal value.
      */
     public MaxContext(final BigDecimal value) {
-        this.value = value;
+        super(value);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param value          the argument value.
+     * @param type           the argument type.
+     * @param connectionInfo the connection information.
+     */
+    public MaxContext(final Object value, final ParadoxType type, final ConnectionInfo connectionInfo) {
+        super(value, type, connectionInfo);
     }
 
     @Override
     public void process(final IGroupingContext<BigDecimal> context, final ConnectionInfo connectionInfo) {
         if (context != null) {
-            final BigDecimal other = ((MaxContext) context).value;
-
-            if (ValuesComparator.compare(this.value, other, connectionInfo) < 0) {
-                this.value = other;
+            final MaxContext other = (MaxContext) context;
+            if (!other.isNull() && (isNull() || compare(other, connectionInfo) < 0)) {
+                set(other);
             }
         }
     }
 
     @Override
     public BigDecimal toValue() {
-        return value;
-    }
-
-    @Override
-    public String toString() {
-        return value.toString();
+        return getValue();
     }
 }
@@ -12,47 +12,52 @@ package com.googlecode.paradox.function.aggregate.context;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.function.aggregate.IGroupingContext;
-import com.googlecode.paradox.rowset.ValuesComparator;
+import com.googlecode.paradox.results.ParadoxType;
 
 import java.math.BigDecimal;
 
 /**
  * Min context.
+ * <p>
+ * Contexts without value are ignored.
  *
- * @version 1.2
+ * @version 1.4
  * @since 1.6.0
  */
-public class MinContext implements IGroupingContext<BigDecimal> {
-
-    private BigDecimal value;
+public class MinContext extends AbstractNumericContext {
 
     /**
      * Creates a new instance.
      *
-     * @param value the amount to count.
+     * @param value the decimal value.
      */
     public MinContext(final BigDecimal value) {
-        this.value = value;
+        super(value);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param value          the argument value.
+     * @param type           the argument type.
+     * @param connectionInfo the connection information.
+     */
+    public MinContext(final Object value, final ParadoxType type, final ConnectionInfo connectionInfo) {
+        super(value, type, connectionInfo);
     }
 
     @Override
     public void process(final IGroupingContext<BigDecimal> context, final ConnectionInfo connectionInfo) {
         if (context != null) {
-            final BigDecimal other = ((MinContext) context).value;
-
-            if (ValuesComparator.compare(this.value, other, connectionInfo) > 0) {
-                this.value = other;
+            final MinContext other = (MinContext) context;
+            if (!other.isNull() && (isNull() || compare(other, connectionInfo) > 0)) {
+                set(other);
             }
         }
     }
 
     @Override
     public BigDecimal toValue() {
-        return value;
-    }
-
-    @Override
-    public String toString() {
-        return value.toString();
+        return getValue();
     }
 }
@@ -12,42 +12,47 @@ package com.googlecode.paradox.function.aggregate.context;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.function.aggregate.IGroupingContext;
+import com.googlecode.paradox.results.ParadoxType;
 
 import java.math.BigDecimal;
 
 /**
  * Sum context.
  *
- * @version 1.2
+ * @version 1.3
  * @since 1.6.0
  */
-public class SumContext implements IGroupingContext<BigDecimal> {
-
-    private BigDecimal value;
+public class SumContext extends AbstractNumericContext {
 
     /**
      * Creates a new instance.
      *
-     * @param value the amount to count.
+     * @param value the decimal value.
      */
     public SumContext(final BigDecimal value) {
-        this.value = value;
+        super(value);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param value          the argument value.
+     * @param type           the argument type.
+     * @param connectionInfo the connection information.
+     */
+    public SumContext(final Object value, final ParadoxType type, final ConnectionInfo connectionInfo) {
+        super(value, type, connectionInfo);
     }
 
     @Override
     public void process(final IGroupingContext<BigDecimal> context, final ConnectionInfo connectionInfo) {
         if (context != null) {
-            this.value = value.add(((SumContext) context).value);
+            add((SumContext) context);
         }
     }
 
     @Override
     public BigDecimal toValue() {
-        return value;
-    }
-
-    @Override
-    public String toString() {
-        return value.toString();
+        return getValue();
     }
 }
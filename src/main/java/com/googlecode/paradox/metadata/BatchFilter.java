@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata;
+
+import java.util.BitSet;
+
+/**
+ * Filters the rows of a {@link ColumnBatch}.
+ * <p>
+ * Failures are thrown as {@link com.googlecode.paradox.exceptions.InternalException}, like in the stream API.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+@FunctionalInterface
+public interface BatchFilter {
+
+    /**
+     * Filters the batch rows.
+     *
+     * @param batch    the rows to filter.
+     * @param selected the selected rows. Rejected rows must be cleared.
+     */
+    void filter(final ColumnBatch batch, final BitSet selected);
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata;
+
+/**
+ * A set of rows stored by column.
+ * <p>
+ * Only the columns needed by the consumer have vectors. The others are {@code null}.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public final class ColumnBatch {
+
+    /**
+     * The column vectors.
+     */
+    private final ColumnVector[] vectors;
+
+    /**
+     * The row count.
+     */
+    private final int size;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param columns the column count.
+     * @param size    the row count.
+     */
+    public ColumnBatch(final int columns, final int size) {
+        this.vectors = new ColumnVector[columns];
+        this.size = size;
+    }
+
+    /**
+     * Creates a batch with a single row.
+     *
+     * @param row     the row values.
+     * @param columns the columns to store.
+     * @return the batch.
+     */
+    public static ColumnBatch of(final Object[] row, final int[] columns) {
+        final ColumnBatch batch = new ColumnBatch(row.length, 1);
+        for (final int column : columns) {
+            final ColumnVector vector = new ColumnVector(ColumnVector.Type.OBJECT, 1);
+            vector.setObject(0, row[column]);
+            batch.vectors[column] = vector;
+        }
+
+        return batch;
+    }
+
+    /**
+     * Gets the row count.
+     *
+     * @return the row count.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the column count.
+     *
+     * @return the column count.
+     */
+    public int getColumnCount() {
+        return vectors.length;
+    }
+
+    /**
+     * Gets a column vector.
+     *
+     * @param column the column index.
+     * @return the column vector or {@code null} if the column is not loaded.
+     */
+    public ColumnVector getVector(final int column) {
+        return vectors[column];
+    }
+
+    /**
+     * Sets a column vector.
+     *
+     * @param column the column index.
+     * @param vector the column vector.
+     */
+    public void setVector(final int column, final ColumnVector vector) {
+        vectors[column] = vector;
+    }
+
+    /**
+     * Copy the loaded column values of a row.
+     *
+     * @param index the row index.
+     * @param row   the row to fill.
+     */
+    public void fill(final int index, final Object[] row) {
+        for (int i = 0; i < vectors.length; i++) {
+            if (vectors[i] != null) {
+                row[i] = vectors[i].getObject(index);
+            }
+        }
+    }
+}
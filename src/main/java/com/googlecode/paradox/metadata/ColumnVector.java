@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata;
+
+import java.util.BitSet;
+
+/**
+ * The values of one column in a {@link ColumnBatch}.
+ * <p>
+ * Numeric columns are stored in primitive arrays with a null bitmap, avoiding a boxed value per cell.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public final class ColumnVector {
+
+    /**
+     * The vector storage types.
+     */
+    public enum Type {
+        /**
+         * Integer values.
+         */
+        INT,
+
+        /**
+         * Long values.
+         */
+        LONG,
+
+        /**
+         * Double values.
+         */
+        DOUBLE,
+
+        /**
+         * Any other value.
+         */
+        OBJECT
+    }
+
+    /**
+     * The storage type.
+     */
+    private final Type type;
+
+    /**
+     * Integer values.
+     */
+    private final int[] ints;
+
+    /**
+     * Long values.
+     */
+    private final long[] longs;
+
+    /**
+     * Double values.
+     */
+    private final double[] doubles;
+
+    /**
+     * Object values.
+     */
+    private final Object[] values;
+
+    /**
+     * The null values.
+     */
+    private final BitSet nulls;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param type     the storage type.
+     * @param capacity the vector capacity.
+     */
+    public ColumnVector(final Type type, final int capacity) {
+        this.type = type;
+        this.ints = type == Type.INT ? new int[capacity] : null;
+        this.longs = type == Type.LONG ? new long[capacity] : null;
+        this.doubles = type == Type.DOUBLE ? new double[capacity] : null;
+        this.values = type == Type.OBJECT ? new Object[capacity] : null;
+        this.nulls = new BitSet(capacity);
+    }
+
+    /**
+     * Gets the storage type.
+     *
+     * @return the storage type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets if the value is null.
+     *
+     * @param index the value index.
+     * @return {@code true} if the value is null.
+     */
+    public boolean isNull(final int index) {
+        return nulls.get(index);
+    }
+
+    /**
+     * Sets a null value.
+     *
+     * @param index the value index.
+     */
+    public void setNull(final int index) {
+        nulls.set(index);
+    }
+
+    /**
+     * Gets an integer value.
+     *
+     * @param index the value index.
+     * @return the value.
+     */
+    public int getInt(final int index) {
+        return ints[index];
+    }
+
+    /**
+     * Sets an integer value.
+     *
+     * @param index the value index.
+     * @param value the value.
+     */
+    public void setInt(final int index, final int value) {
+        ints[index] = value;
+    }
+
+    /**
+     * Gets a long value.
+     *
+     * @param index the value index.
+     * @return the value.
+     */
+    public long getLong(final int index) {
+        return longs[index];
+    }
+
+    /**
+     * Sets a long value.
+     *
+     * @param index the value index.
+     * @param value the value.
+     */
+    public void setLong(final int index, final long value) {
+        longs[index] = value;
+    }
+
+    /**
+     * Gets a double value.
+     *
+     * @param index the value index.
+     * @return the value.
+     */
+    public double getDouble(final int index) {
+        return doubles[index];
+    }
+
+    /**
+     * Sets a double value.
+     *
+     * @param index the value index.
+     * @param value the value.
+     */
+    public void setDouble(final int index, final double value) {
+        doubles[index] = value;
+    }
+
+    /**
+     * Gets the value as object.
+     *
+     * @param index the value index.
+     * @return the value.
+     */
+    public Object getObject(final int index) {
+        if (nulls.get(index)) {
+            return null;
+        }
+
+        switch (type) {
+            case INT:
+                return ints[index];
+            case LONG:
+                return longs[index];
+            case DOUBLE:
+                return doubles[index];
+            default:
+                return values[index];
+        }
+    }
+
+    /**
+     * Sets the value from an object.
+     *
+     * @param index the value index.
+     * @param value the value.
+     */
+    public void setObject(final int index, final Object value) {
+        if (value == null) {
+            nulls.set(index);
+            return;
+        }
+
+        switch (type) {
+            case INT:
+                ints[index] = ((Number) value).intValue();
+                break;
+            case LONG:
+                longs[index] = ((Number) value).longValue();
+                break;
+            case DOUBLE:
+                doubles[index] = ((Number) value).doubleValue();
+                break;
+            default:
+                values[index] = value;
+                break;
+        }
+    }
+}
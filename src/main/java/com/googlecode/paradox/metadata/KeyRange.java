@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata;
+
+/**
+ * A closed range of index key values.
+ * <p>
+ * The bounds are compared like the statement values, so they may have any type. A {@code null} bound is unlimited.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public final class KeyRange {
+
+    /**
+     * The lower bound or {@code null} if unlimited.
+     */
+    private final Object low;
+
+    /**
+     * The upper bound or {@code null} if unlimited.
+     */
+    private final Object high;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param low  the lower bound or {@code null} if unlimited.
+     * @param high the upper bound or {@code null} if unlimited.
+     */
+    public KeyRange(final Object low, final Object high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Creates a range with only one value.
+     *
+     * @param value the value.
+     * @return the range.
+     */
+    public static KeyRange of(final Object value) {
+        return new KeyRange(value, value);
+    }
+
+    /**
+     * Gets the lower bound.
+     *
+     * @return the lower bound or {@code null} if unlimited.
+     */
+    public Object getLow() {
+        return low;
+    }
+
+    /**
+     * Gets the upper bound.
+     *
+     * @return the upper bound or {@code null} if unlimited.
+     */
+    public Object getHigh() {
+        return high;
+    }
+
+    /**
+     * Gets if the range has only one key value.
+     *
+     * @return {@code true} if the range has only one key value.
+     */
+    public boolean isPoint() {
+        return low != null && low.equals(high);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + low + ", " + high + "]";
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata;
+
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A pull based cursor over the table rows.
+ * <p>
+ * Failures while reading rows are thrown as {@link com.googlecode.paradox.exceptions.InternalException}, like in the
+ * stream API.
+ *
+ * @version 1.3
+ * @since 1.6.0
+ */
+public interface RowCursor extends Iterator<Object[]>, AutoCloseable {
+
+    /**
+     * Creates a cursor over an already loaded row iterator.
+     *
+     * @param iterator the row iterator.
+     * @return the row cursor.
+     */
+    static RowCursor of(final Iterator<Object[]> iterator) {
+        return new RowCursor() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    /**
+     * Filters the cursor rows.
+     * <p>
+     * Only the columns in {@code columns} are required to be loaded when the filter is evaluated, so cursors reading
+     * from the table files may decode the other columns only in accepted rows. This method must be called before the
+     * first row is read.
+     *
+     * @param columns the column indexes used by the filter.
+     * @param filter  the row filter.
+     * @return the filtered cursor.
+     */
+    default RowCursor filter(final int[] columns, final Predicate<Object[]> filter) {
+        final RowCursor source = this;
+        return new RowCursor() {
+            private Object[] current;
+
+            @Override
+            public boolean hasNext() {
+                while (current == null && source.hasNext()) {
+                    final Object[] row = source.next();
+                    if (filter.test(row)) {
+                        current = row;
+                    }
+                }
+
+                return current != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final Object[] ret = current;
+                current = null;
+                return ret;
+            }
+
+            @Override
+            public void close() throws SQLException {
+                source.close();
+            }
+        };
+    }
+
+    /**
+     * Filters the cursor rows by batches.
+     * <p>
+     * Only the columns in {@code columns} are loaded in the batches. Cursors reading from the table files build a
+     * batch for each block and decode the other columns only in selected rows. This method must be called before the
+     * first row is read.
+     *
+     * @param columns the column indexes used by the filter.
+     * @param filter  the batch filter.
+     * @return the filtered cursor.
+     */
+    default RowCursor filterBatches(final int[] columns, final BatchFilter filter) {
+        return filter(columns, (Object[] row) -> {
+            final BitSet selected = new BitSet(1);
+            selected.set(0);
+            filter.filter(ColumnBatch.of(row, columns), selected);
+            return selected.get(0);
+        });
+    }
+
+    /**
+     * Defers the loading of LOB columns.
+     * <p>
+     * Cursors reading from the table files return a {@link com.googlecode.paradox.data.field.LobReference} instead
+     * of the values stored in the blob file, so only the values actually used are read. Other cursors return the
+     * values. This method must be called before the first row is read.
+     *
+     * @param columns the LOB column indexes.
+     * @return the cursor.
+     */
+    default RowCursor deferLobs(final int[] columns) {
+        return this;
+    }
+
+    /**
+     * Gets a sequential stream over the remaining rows.
+     *
+     * @return the row stream.
+     */
+    default Stream<Object[]> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Release the cursor resources.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Override
+    default void close() throws SQLException {
+        // Nothing to release.
+    }
+}
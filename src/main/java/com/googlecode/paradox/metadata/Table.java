@@ -19,7 +19,7 @@ import java.util.List;
 /**
  * A generic table.
  *
- * @version 1.2
+ * @version 1.4
  * @since 1.6.0
  */
 public interface Table {
@@ -92,6 +92,33 @@ public interface Table {
      */
     List<Object[]> load(final Field[] fields) throws SQLException;
 
+    /**
+     * Opens a cursor over the table rows.
+     *
+     * @param fields the fields to load.
+     * @return the row cursor filtered by {@code fields}.
+     * @throws SQLException in case of failures.
+     */
+    default RowCursor cursor(final Field[] fields) throws SQLException {
+        return RowCursor.of(load(fields).iterator());
+    }
+
+    /**
+     * Opens a cursor over the rows that may have the first index field in one of the ranges.
+     * <p>
+     * The cursor only skips the table parts out of the ranges, so the rows must still be filtered.
+     *
+     * @param fields the fields to load.
+     * @param index  the index to use.
+     * @param ranges the key ranges.
+     * @return the row cursor or {@code null} if the index can't be used.
+     * @throws SQLException in case of failures.
+     */
+    default RowCursor seek(final Field[] fields, final Index index, final List<KeyRange> ranges)
+            throws SQLException {
+        return null;
+    }
+
     /**
      * Gets the primary key index.
      *
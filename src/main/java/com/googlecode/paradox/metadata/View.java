@@ -32,7 +32,7 @@ import java.util.stream.Collectors;
 /**
  * View support.
  *
- * @version 1.3
+ * @version 1.4
  * @since 1.6.0
  */
 public class View implements Table {
@@ -240,6 +240,17 @@ public class View implements Table {
      */
     public static View load(final ConnectionInfo connectionInfo, final String schemaName,
                             final String name, final InputStream inputStream) throws IOException {
+        return new View(connectionInfo, schemaName, name, readDefinition(inputStream));
+    }
+
+    /**
+     * Reads a view definition from a stream.
+     *
+     * @param inputStream the {@link InputStream to load}.
+     * @return the view definition.
+     * @throws IOException in case of load failures.
+     */
+    private static String readDefinition(final InputStream inputStream) throws IOException {
         final char[] buffer = new char[0x800];
         final StringBuilder out = new StringBuilder();
         try (final InputStreamReader in = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
@@ -249,7 +260,20 @@ public class View implements Table {
             }
         }
 
-        return new View(connectionInfo, schemaName, name, out.toString());
+        return out.toString();
+    }
+
+    /**
+     * Reads a view definition from a file.
+     *
+     * @param file the view file.
+     * @return the view definition.
+     * @throws IOException in case of load failures.
+     */
+    public static String readDefinition(final File file) throws IOException {
+        try (final FileInputStream fis = new FileInputStream(file)) {
+            return readDefinition(fis);
+        }
     }
 
     /**
@@ -263,8 +287,6 @@ public class View implements Table {
      */
     public static View load(final ConnectionInfo connectionInfo, final String schemaName, final File file)
             throws IOException {
-        try (final FileInputStream fis = new FileInputStream(file)) {
-            return load(connectionInfo, schemaName, Utils.removeSuffix(file.getName()), fis);
-        }
+        return new View(connectionInfo, schemaName, Utils.removeSuffix(file.getName()), readDefinition(file));
     }
 }
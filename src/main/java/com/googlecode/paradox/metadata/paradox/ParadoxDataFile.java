@@ -20,7 +20,7 @@ import java.nio.charset.Charset;
 /**
  * Defines the paradox default file structure.
  *
- * @version 1.6
+ * @version 1.8
  * @since 1.0
  */
 @SuppressWarnings({"java:S1448", "java:S1820"})
@@ -76,6 +76,16 @@ public class ParadoxDataFile {
      */
     private int firstFreeBlock;
 
+    /**
+     * The index tree root block.
+     */
+    private int rootBlock;
+
+    /**
+     * The index tree levels.
+     */
+    private int levels;
+
     /**
      * Size of file header.
      */
@@ -231,6 +241,16 @@ public class ParadoxDataFile {
         this.blockSize = blockSize;
     }
 
+    /**
+     * Return the block size in bytes.
+     *
+     * @return the block size in bytes.
+     */
+    public int getBlockSizeBytes() {
+        // The blockSize is always in KiB.
+        return this.blockSize * 1_024;
+    }
+
     /**
      * Gets the charset.
      *
@@ -348,6 +368,46 @@ public class ParadoxDataFile {
         this.firstFreeBlock = firstFreeBlock;
     }
 
+    /**
+     * Gets the index tree root block.
+     * <p>
+     * Only used in primary key and secondary index tree files.
+     *
+     * @return the index tree root block.
+     */
+    public int getRootBlock() {
+        return this.rootBlock;
+    }
+
+    /**
+     * Sets the index tree root block.
+     *
+     * @param rootBlock the index tree root block.
+     */
+    public void setRootBlock(final int rootBlock) {
+        this.rootBlock = rootBlock;
+    }
+
+    /**
+     * Gets the index tree levels.
+     * <p>
+     * The blocks in the last level point to the indexed file blocks.
+     *
+     * @return the index tree levels.
+     */
+    public int getLevels() {
+        return this.levels;
+    }
+
+    /**
+     * Sets the index tree levels.
+     *
+     * @param levels the index tree levels.
+     */
+    public void setLevels(final int levels) {
+        this.levels = levels;
+    }
+
     /**
      * Gets the header size.
      *
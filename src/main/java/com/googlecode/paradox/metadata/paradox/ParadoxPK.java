@@ -19,7 +19,7 @@ import java.io.File;
 /**
  * Stores a primary key definition..
  *
- * @version 1.3
+ * @version 1.5
  * @since 1.0
  */
 public final class ParadoxPK extends ParadoxDataFile implements Index {
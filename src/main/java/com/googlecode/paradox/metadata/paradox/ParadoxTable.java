@@ -19,6 +19,8 @@ import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.Index;
+import com.googlecode.paradox.metadata.KeyRange;
+import com.googlecode.paradox.metadata.RowCursor;
 import com.googlecode.paradox.metadata.Table;
 import com.googlecode.paradox.metadata.TableType;
 
@@ -31,7 +33,7 @@ import java.util.List;
 /**
  * Stores a table data file.
  *
- * @version 1.10
+ * @version 1.13
  * @since 1.0
  */
 public final class ParadoxTable extends ParadoxDataFile implements Table {
@@ -41,6 +43,11 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
      */
     private Index[] indexes = new Index[0];
 
+    /**
+     * The blob file (MB), found in the first use.
+     */
+    private File blobFile;
+
     /**
      * Creates a new instance.
      *
@@ -58,6 +65,24 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
      * @throws SQLException in case of failures.
      */
     public FileInputStream openBlobs() throws SQLException {
+        if (blobFile == null || !blobFile.isFile()) {
+            blobFile = findBlobs();
+        }
+
+        try {
+            return new FileInputStream(blobFile);
+        } catch (final FileNotFoundException e) {
+            throw new ParadoxDataException(DataError.ERROR_OPENING_BLOB_FILE, e);
+        }
+    }
+
+    /**
+     * Finds the associated blob file (MB).
+     *
+     * @return the associated blob file (MB).
+     * @throws SQLException in case of failures.
+     */
+    private File findBlobs() throws SQLException {
         final File[] fileList = file.getParentFile().listFiles(new TableFilter(connectionInfo.getLocale(), name, "mb"));
         if ((fileList == null) || (fileList.length == 0)) {
             throw new ParadoxDataException(DataError.BLOB_FILE_NOT_FOUND);
@@ -67,12 +92,7 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
             throw new ParadoxDataException(DataError.TOO_MANY_BLOB_FILES);
         }
 
-        File blobFile = fileList[0];
-        try {
-            return new FileInputStream(blobFile);
-        } catch (final FileNotFoundException e) {
-            throw new ParadoxDataException(DataError.ERROR_OPENING_BLOB_FILE, e);
-        }
+        return fileList[0];
     }
 
     public void loadIndexes() throws SQLException {
@@ -90,15 +110,15 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
         return TableData.loadData(this, fields);
     }
 
-    /**
-     * Return the block size in bytes.
-     *
-     * @return the block size in bytes.
-     */
     @Override
-    public int getBlockSizeBytes() {
-        // The blockSize is always in KiB.
-        return this.blockSize * 1_024;
+    public RowCursor cursor(final Field[] fields) throws SQLException {
+        return TableData.cursor(this, fields);
+    }
+
+    @Override
+    public RowCursor seek(final Field[] fields, final Index index, final List<KeyRange> ranges)
+            throws SQLException {
+        return TableData.seek(this, fields, index, ranges);
     }
 
     /**
@@ -11,10 +11,8 @@
 package com.googlecode.paradox.metadata.schema;
 
 import com.googlecode.paradox.ConnectionInfo;
-import com.googlecode.paradox.data.TableData;
 import com.googlecode.paradox.metadata.Schema;
 import com.googlecode.paradox.metadata.Table;
-import com.googlecode.paradox.metadata.View;
 
 import java.io.File;
 import java.sql.SQLException;
@@ -23,8 +21,11 @@ import java.util.List;
 
 /**
  * A directory schema.
+ * <p>
+ * The tables and views are loaded through the connection {@link SchemaCache}, so the files are parsed only when
+ * they change.
  *
- * @version 1.1
+ * @version 1.2
  * @since 1.6.0
  */
 public class DirectorySchema implements Schema {
@@ -45,9 +46,10 @@ public class DirectorySchema implements Schema {
 
     @Override
     public List<Table> list(final ConnectionInfo connectionInfo, final String tablePattern) throws SQLException {
+        final SchemaCache cache = connectionInfo.getSchemaCache(schemaFile);
         final List<Table> ret = new ArrayList<>();
-        ret.addAll(TableData.listTables(schemaFile, tablePattern, connectionInfo));
-        ret.addAll(View.listViews(schemaFile, tablePattern, connectionInfo));
+        ret.addAll(cache.listTables(connectionInfo, tablePattern));
+        ret.addAll(cache.listViews(connectionInfo, name(), tablePattern));
         return ret;
     }
 
@@ -63,9 +65,10 @@ public class DirectorySchema implements Schema {
 
     @Override
     public Table findTable(final ConnectionInfo connectionInfo, final String tableName) throws SQLException {
+        final SchemaCache cache = connectionInfo.getSchemaCache(schemaFile);
         final List<Table> tables = new ArrayList<>();
-        tables.addAll(TableData.listTables(schemaFile, null, connectionInfo));
-        tables.addAll(View.search(connectionInfo, name(), schemaFile));
+        tables.addAll(cache.listTables(connectionInfo, null));
+        tables.addAll(cache.listViews(connectionInfo, name(), null));
         return tables.stream().filter(table -> tableName.equalsIgnoreCase(table.getName())).findFirst().orElse(null);
     }
 }
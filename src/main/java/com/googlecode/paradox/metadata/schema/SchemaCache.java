@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata.schema;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.TableData;
+import com.googlecode.paradox.data.filefilters.SQLFilter;
+import com.googlecode.paradox.data.filefilters.TableFilter;
+import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.View;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.utils.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the table headers and view definitions of a schema directory, for one connection.
+ * <p>
+ * Each entry is validated by the modification time and size of the files with the same name (the table, its indexes
+ * and the other related files), so the files are parsed again only when they change. Listing the directory is still
+ * needed to find new and removed files.
+ * <p>
+ * The cache is not shared between connections, since the tables loaded are bound to the connection settings.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public final class SchemaCache {
+
+    /**
+     * The schema directory.
+     */
+    private final File directory;
+
+    /**
+     * The loaded tables by file name.
+     */
+    private final Map<String, Entry<ParadoxTable>> tables = new HashMap<>();
+
+    /**
+     * The loaded view definitions by file name.
+     */
+    private final Map<String, Entry<String>> views = new HashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param directory the schema directory.
+     */
+    public SchemaCache(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the tables within a pattern.
+     *
+     * @param connectionInfo the connection information.
+     * @param pattern        the table name pattern or {@code null} for all tables.
+     * @return the tables.
+     */
+    public synchronized List<Table> listTables(final ConnectionInfo connectionInfo, final String pattern) {
+        final List<Table> ret = new ArrayList<>();
+        final File[] files = listFiles();
+        final Map<String, List<FileState>> states = getStates(files, connectionInfo.getLocale());
+        tables.keySet().retainAll(getNames(files));
+
+        final TableFilter filter = new TableFilter(connectionInfo.getLocale(), pattern);
+        for (final File file : files) {
+            if (filter.accept(file)) {
+                final List<FileState> state = states.get(getKey(file, connectionInfo.getLocale()));
+                Entry<ParadoxTable> entry = tables.get(file.getName());
+                if (entry == null || !entry.state.equals(state)) {
+                    try {
+                        entry = new Entry<>(state, TableData.loadTable(file, connectionInfo));
+                        tables.put(file.getName(), entry);
+                    } catch (final SQLException e) {
+                        tables.remove(file.getName());
+                        connectionInfo.addWarning(e);
+                        continue;
+                    }
+                }
+
+                ret.add(entry.value);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the views within a pattern.
+     *
+     * @param connectionInfo the connection information.
+     * @param schemaName     the schema name.
+     * @param pattern        the view name pattern or {@code null} for all views.
+     * @return the views.
+     */
+    public synchronized List<View> listViews(final ConnectionInfo connectionInfo, final String schemaName,
+                                             final String pattern) {
+        final List<View> ret = new ArrayList<>();
+        final File[] files = listFiles();
+        final Map<String, List<FileState>> states = getStates(files, connectionInfo.getLocale());
+        views.keySet().retainAll(getNames(files));
+
+        final SQLFilter filter = new SQLFilter(connectionInfo.getLocale(), pattern);
+        for (final File file : files) {
+            if (filter.accept(file)) {
+                final List<FileState> state = states.get(getKey(file, connectionInfo.getLocale()));
+                Entry<String> entry = views.get(file.getName());
+                if (entry == null || !entry.state.equals(state)) {
+                    try {
+                        entry = new Entry<>(state, View.readDefinition(file));
+                        views.put(file.getName(), entry);
+                    } catch (final IOException e) {
+                        views.remove(file.getName());
+                        connectionInfo.addWarning(e);
+                        continue;
+                    }
+                }
+
+                // The view plan is created again, so it uses the current tables.
+                ret.add(new View(connectionInfo, schemaName, Utils.removeSuffix(file.getName()), entry.value));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Lists the directory files sorted by name.
+     *
+     * @return the directory files.
+     */
+    private File[] listFiles() {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return new File[0];
+        }
+
+        Arrays.sort(files);
+        return files;
+    }
+
+    /**
+     * Gets the file names.
+     *
+     * @param files the directory files.
+     * @return the file names.
+     */
+    private static Set<String> getNames(final File[] files) {
+        return Arrays.stream(files).map(File::getName).collect(Collectors.toSet());
+    }
+
+    /**
+     * Gets the files state grouped by file name without extension.
+     *
+     * @param files  the directory files.
+     * @param locale the locale to use.
+     * @return the files state.
+     */
+    private static Map<String, List<FileState>> getStates(final File[] files, final Locale locale) {
+        final Map<String, List<FileState>> states = new HashMap<>();
+        for (final File file : files) {
+            states.computeIfAbsent(getKey(file, locale), key -> new ArrayList<>()).add(new FileState(file));
+        }
+
+        return states;
+    }
+
+    /**
+     * Gets the key to group the related files.
+     *
+     * @param file   the file.
+     * @param locale the locale to use.
+     * @return the group key.
+     */
+    private static String getKey(final File file, final Locale locale) {
+        return Utils.removeSuffix(file.getName()).toUpperCase(locale);
+    }
+
+    /**
+     * A cached value.
+     *
+     * @param <T> the value type.
+     */
+    private static final class Entry<T> {
+
+        /**
+         * The related files state when the value was loaded.
+         */
+        private final List<FileState> state;
+
+        /**
+         * The loaded value.
+         */
+        private final T value;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param state the related files state.
+         * @param value the loaded value.
+         */
+        Entry(final List<FileState> state, final T value) {
+            this.state = state;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The file state used to detect changes.
+     */
+    private static final class FileState {
+
+        /**
+         * The file name.
+         */
+        private final String name;
+
+        /**
+         * The last modified time.
+         */
+        private final long lastModified;
+
+        /**
+         * The file size.
+         */
+        private final long length;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param file the file.
+         */
+        FileState(final File file) {
+            this.name = file.getName();
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final FileState fileState = (FileState) o;
+            return lastModified == fileState.lastModified && length == fileState.length
+                    && name.equals(fileState.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, lastModified, length);
+        }
+    }
+}
@@ -10,6 +10,7 @@
  */
 package com.googlecode.paradox.parser.nodes;
 
+import com.googlecode.paradox.metadata.ColumnBatch;
 import com.googlecode.paradox.parser.ScannerPosition;
 import com.googlecode.paradox.planner.FieldValueUtils;
 import com.googlecode.paradox.planner.context.Context;
@@ -19,13 +20,14 @@ import com.googlecode.paradox.results.Column;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 
 /**
  * Stores a abstract comparable node.
  *
- * @version 1.10
+ * @version 1.11
  * @since 1.1
  */
 public abstract class AbstractConditionalNode extends SQLNode {
@@ -59,6 +61,28 @@ public abstract class AbstractConditionalNode extends SQLNode {
     public abstract boolean evaluate(final Context context, final Object[] row, final List<Column> columnsLoaded)
             throws SQLException;
 
+    /**
+     * Evaluates the selected rows of a batch, clearing the rejected ones.
+     * <p>
+     * The default implementation evaluates row by row.
+     *
+     * @param context       the execution context.
+     * @param batch         the rows to evaluate.
+     * @param selected      the selected rows.
+     * @param columnsLoaded the loaded columns.
+     * @throws SQLException in case of failures.
+     */
+    public void evaluate(final Context context, final ColumnBatch batch, final BitSet selected,
+                         final List<Column> columnsLoaded) throws SQLException {
+        final Object[] row = new Object[batch.getColumnCount()];
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            batch.fill(i, row);
+            if (!evaluate(context, row, columnsLoaded)) {
+                selected.clear(i);
+            }
+        }
+    }
+
     public void setFieldIndexes(final List<Column> columns, final List<PlanTableNode> tables) throws SQLException {
         FieldValueUtils.setFieldIndex(field, columns, tables);
     }
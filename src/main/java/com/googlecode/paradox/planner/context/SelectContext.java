@@ -16,7 +16,7 @@ import com.googlecode.paradox.results.ParadoxType;
 /**
  * The SELECT execution context.
  *
- * @version 1.0
+ * @version 1.2
  * @since 1.6.0
  */
 public class SelectContext extends Context {
@@ -26,6 +26,16 @@ public class SelectContext extends Context {
      */
     private int maxRows;
 
+    /**
+     * If the LOB values can be loaded only when read from the result.
+     */
+    private boolean deferLobs;
+
+    /**
+     * If the sorted rows over the memory budget can be returned in a temporary file.
+     */
+    private boolean spillRows;
+
     /**
      * Creates a new SELECT context.
      *
@@ -63,4 +73,42 @@ public class SelectContext extends Context {
     public void setMaxRows(int maxRows) {
         this.maxRows = maxRows;
     }
+
+    /**
+     * Gets if the LOB values can be loaded only when read from the result.
+     *
+     * @return <code>true</code> if the LOB values can be loaded only when read from the result.
+     */
+    public boolean isDeferLobs() {
+        return deferLobs;
+    }
+
+    /**
+     * Sets if the LOB values can be loaded only when read from the result.
+     *
+     * @param deferLobs <code>true</code> if the LOB values can be loaded only when read from the result.
+     */
+    public void setDeferLobs(final boolean deferLobs) {
+        this.deferLobs = deferLobs;
+    }
+
+    /**
+     * Gets if the sorted rows over the memory budget can be returned in a temporary file.
+     *
+     * @return <code>true</code> if the sorted rows can be returned in a temporary file.
+     */
+    public boolean isSpillRows() {
+        return spillRows;
+    }
+
+    /**
+     * Sets if the sorted rows over the memory budget can be returned in a temporary file.
+     * <p>
+     * The caller must close the returned rows, when {@link java.io.Closeable}, to remove the file.
+     *
+     * @param spillRows <code>true</code> if the sorted rows can be returned in a temporary file.
+     */
+    public void setSpillRows(final boolean spillRows) {
+        this.spillRows = spillRows;
+    }
 }
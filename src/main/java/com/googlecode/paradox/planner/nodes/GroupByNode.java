@@ -30,7 +30,7 @@ import static com.googlecode.paradox.utils.FunctionalUtils.functionWrapper;
 /**
  * Group by node.
  *
- * @version 1.1
+ * @version 1.3
  * @since 1.6.0
  */
 public class GroupByNode {
@@ -172,9 +172,19 @@ public class GroupByNode {
             return stream;
         }
 
-        // Is not possible to group in parallel.
-        return stream.filter(FunctionalUtils.groupingByKeys(functionColumns, groupColumns, context.getConnectionInfo()))
-                .collect(Collectors.toList()).stream()
+        final List<Object[]> values;
+        if (context.getConnectionInfo().isParallelAggregation()) {
+            // The functions are still executed in the stream thread.
+            values = HashAggregation.parallel(functionColumns, groupColumns, context.getConnectionInfo(),
+                    stream.sequential().collect(Collectors.toList()));
+        } else {
+            final HashAggregation aggregation = new HashAggregation(functionColumns, groupColumns,
+                    context.getConnectionInfo());
+            stream.sequential().forEach(aggregation::add);
+            values = aggregation.getValues();
+        }
+
+        return values.stream()
                 .filter(context.getCancelPredicate())
                 .map(functionWrapper(FunctionalUtils.removeGrouping(context, functionColumns, columns)));
     }
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.nodes;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.function.aggregate.IGroupingContext;
+import com.googlecode.paradox.rowset.ValuesComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Groups the rows by the key columns using a hash table.
+ * <p>
+ * The keys are normalized by {@link ValuesComparator#getHashKey(Object)}, so the rows are grouped as in the
+ * comparator. If a key column has values that can't be hashed or values of different classes, the remaining rows are
+ * grouped by comparing with each group found.
+ * <p>
+ * The rows may also be split in ranges grouped by the fork join pool. The partial groups are merged in range order
+ * with {@link IGroupingContext#process(IGroupingContext, ConnectionInfo)}, so the groups keep the order of their first
+ * row.
+ *
+ * @version 1.2
+ * @since 1.6.0
+ */
+final class HashAggregation {
+
+    /**
+     * Row ranges per pool thread, to balance ranges with different group counts.
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * Minimum rows in each range.
+     */
+    private static final int MIN_RANGE_ROWS = 0x1000;
+
+    /**
+     * The columns with grouping functions.
+     */
+    private final int[] indexes;
+
+    /**
+     * The key columns.
+     */
+    private final int[] columns;
+
+    /**
+     * The connection information.
+     */
+    private final ConnectionInfo connectionInfo;
+
+    /**
+     * The value class of each key column.
+     */
+    private final Class<?>[] classes;
+
+    /**
+     * The groups by key or {@code null} if grouping by comparison.
+     */
+    private Map<Object, Object[]> groups = new HashMap<>();
+
+    /**
+     * The groups found, in the order of the first row.
+     */
+    private final List<Object[]> values = new ArrayList<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param indexes        the columns with grouping functions.
+     * @param columns        the key columns.
+     * @param connectionInfo the connection information.
+     */
+    HashAggregation(final int[] indexes, final int[] columns, final ConnectionInfo connectionInfo) {
+        this.indexes = indexes;
+        this.columns = columns;
+        this.connectionInfo = connectionInfo;
+        this.classes = new Class<?>[columns.length];
+    }
+
+    /**
+     * Groups the rows in parallel.
+     *
+     * @param indexes        the columns with grouping functions.
+     * @param columns        the key columns.
+     * @param connectionInfo the connection information.
+     * @param rows           the rows to group.
+     * @return the group rows, in the order of the first row of each group.
+     */
+    static List<Object[]> parallel(final int[] indexes, final int[] columns, final ConnectionInfo connectionInfo,
+                                   final List<Object[]> rows) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int ranges = Math.min(rows.size() / MIN_RANGE_ROWS, pool.getParallelism() * RANGES_PER_THREAD);
+        final HashAggregation aggregation = new HashAggregation(indexes, columns, connectionInfo);
+        if (ranges <= 1) {
+            rows.forEach(aggregation::add);
+            return aggregation.getValues();
+        }
+
+        final List<ForkJoinTask<List<Object[]>>> tasks = new ArrayList<>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            final List<Object[]> range = rows.subList((int) ((long) rows.size() * i / ranges),
+                    (int) ((long) rows.size() * (i + 1) / ranges));
+            tasks.add(pool.submit(() -> {
+                final HashAggregation partial = new HashAggregation(indexes, columns, connectionInfo);
+                range.forEach(partial::add);
+                return partial.getValues();
+            }));
+        }
+
+        try {
+            for (final ForkJoinTask<List<Object[]>> task : tasks) {
+                task.join().forEach(aggregation::add);
+            }
+        } catch (final RuntimeException e) {
+            tasks.forEach(task -> task.cancel(false));
+            throw e;
+        }
+
+        return aggregation.getValues();
+    }
+
+    /**
+     * Adds a row to its group.
+     *
+     * @param row the row to add.
+     */
+    void add(final Object[] row) {
+        Object[] current = null;
+        if (groups != null) {
+            final Object key = getKey(row);
+            if (key != null) {
+                current = groups.putIfAbsent(key, row);
+                if (current == null) {
+                    values.add(row);
+                    return;
+                }
+            } else {
+                groups = null;
+            }
+        }
+
+        if (groups == null) {
+            current = values.stream().filter(o -> equalsAggregate(o, row)).findAny().orElse(null);
+            if (current == null) {
+                values.add(row);
+                return;
+            }
+        }
+
+        process(current, row);
+    }
+
+    /**
+     * Process the row grouping values in the group.
+     * <p>
+     * A function with a null argument has no context, so a group without a context takes the row context.
+     *
+     * @param group the group row.
+     * @param row   the row to add.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void process(final Object[] group, final Object[] row) {
+        for (final int index : indexes) {
+            if (group[index] == null) {
+                group[index] = row[index];
+            } else {
+                ((IGroupingContext<?>) group[index]).process((IGroupingContext) row[index], connectionInfo);
+            }
+        }
+    }
+
+    /**
+     * Gets the groups found.
+     *
+     * @return the group rows, in the order of the first row of each group.
+     */
+    List<Object[]> getValues() {
+        return values;
+    }
+
+    /**
+     * Gets the row key.
+     *
+     * @param row the row.
+     * @return the row key or {@code null} if the row can't be hashed.
+     */
+    private Object getKey(final Object[] row) {
+        final Object[] key = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            final Object value = row[columns[i]];
+            if (value != null) {
+                if (classes[i] == null) {
+                    classes[i] = value.getClass();
+                } else if (classes[i] != value.getClass()) {
+                    return null;
+                }
+
+                key[i] = ValuesComparator.getHashKey(value);
+                if (key[i] == null) {
+                    return null;
+                }
+            }
+        }
+
+        // Null values are in the same group.
+        return Arrays.asList(key);
+    }
+
+    /**
+     * Compute an equals in array ignores grouping values.
+     *
+     * @param o1 the first array to compare.
+     * @param o2 the second array to compare.
+     * @return <code>true</code> if the two arrays are equals.
+     */
+    private boolean equalsAggregate(final Object[] o1, final Object[] o2) {
+        for (final int i : columns) {
+            // NULL are equals only in aggregation.
+            if (o1[i] != o2[i] && !ValuesComparator.equals(o1[i], o2[i], connectionInfo)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
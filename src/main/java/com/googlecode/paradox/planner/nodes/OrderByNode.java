@@ -17,8 +17,10 @@ import com.googlecode.paradox.exceptions.SyntaxError;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.parser.nodes.SelectNode;
 import com.googlecode.paradox.planner.plan.SelectUtils;
+import com.googlecode.paradox.planner.sorting.ExternalSort;
 import com.googlecode.paradox.planner.sorting.OrderByComparator;
 import com.googlecode.paradox.planner.sorting.OrderType;
+import com.googlecode.paradox.planner.sorting.TopRows;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.rowset.ValuesConverter;
 
@@ -30,7 +32,7 @@ import java.util.stream.Stream;
 /**
  * Stores one order by field information.
  *
- * @version 1.5
+ * @version 1.7
  * @since 1.6.0
  */
 public class OrderByNode {
@@ -105,6 +107,9 @@ public class OrderByNode {
 
     /**
      * Process the stream with the order by.
+     * <p>
+     * If the connection has a sort memory budget, the rows exceeding it are sorted in temporary files removed when
+     * the returned stream is closed.
      *
      * @param stream         the stream to process.
      * @param selectColumns  the SELECT columns.
@@ -118,6 +123,54 @@ public class OrderByNode {
             return stream;
         }
 
+        final Comparator<Object[]> comparator = getComparator(selectColumns, connectionInfo);
+        if (connectionInfo.getSortMemory() > 0) {
+            final ExternalSort sort = new ExternalSort(comparator, connectionInfo.getSortMemory());
+            try {
+                stream.sequential().forEach(sort);
+            } catch (final RuntimeException e) {
+                sort.close();
+                throw e;
+            }
+
+            return sort.getRows();
+        }
+
+        return stream.sorted(comparator);
+    }
+
+    /**
+     * Process the stream with the order by, keeping only the first rows.
+     * <p>
+     * Only the rows returned are kept in memory while sorting.
+     *
+     * @param stream         the stream to process.
+     * @param selectColumns  the SELECT columns.
+     * @param connectionInfo the connection information.
+     * @param maxRows        the maximum number of rows to return.
+     * @return the processes stream.
+     */
+    public Stream<Object[]> processStream(final Stream<Object[]> stream, final List<Column> selectColumns,
+                                          final ConnectionInfo connectionInfo, final int maxRows) {
+        if (this.columns.isEmpty()) {
+            // Nothing to do here, there are no order by fields.
+            return stream.limit(maxRows);
+        }
+
+        final TopRows rows = new TopRows(getComparator(selectColumns, connectionInfo), maxRows);
+        stream.sequential().forEach(rows);
+        return rows.getRows().stream();
+    }
+
+    /**
+     * Gets the row comparator.
+     *
+     * @param selectColumns  the SELECT columns.
+     * @param connectionInfo the connection information.
+     * @return the row comparator.
+     */
+    private Comparator<Object[]> getComparator(final List<Column> selectColumns,
+                                               final ConnectionInfo connectionInfo) {
         final int[] mapColumns = new int[this.columns.size()];
         Arrays.fill(mapColumns, -1);
         for (int i = 0; i < this.columns.size(); i++) {
@@ -143,7 +196,7 @@ public class OrderByNode {
             }
         }
 
-        return stream.sorted(Objects.requireNonNull(comparator));
+        return Objects.requireNonNull(comparator);
     }
 
     /**
@@ -14,6 +14,9 @@ import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.Index;
+import com.googlecode.paradox.metadata.KeyRange;
+import com.googlecode.paradox.metadata.RowCursor;
 import com.googlecode.paradox.metadata.Schema;
 import com.googlecode.paradox.metadata.Table;
 import com.googlecode.paradox.parser.nodes.*;
@@ -24,12 +27,13 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
  * Stores the execution plan table node.
  *
- * @version 1.6
+ * @version 1.8
  * @since 1.1
  */
 public final class PlanTableNode {
@@ -127,6 +131,32 @@ public final class PlanTableNode {
         return table.load(this.columns.stream().map(Column::getField).toArray(Field[]::new));
     }
 
+    /**
+     * Opens a cursor over the table data.
+     *
+     * @return the table data cursor.
+     * @throws SQLException in case of failures.
+     */
+    public RowCursor cursor() throws SQLException {
+        if (this.columns.isEmpty()) {
+            return RowCursor.of(new FixedValueCollection<>(this.table.getRowCount(), new Object[0]).iterator());
+        }
+
+        return table.cursor(this.columns.stream().map(Column::getField).toArray(Field[]::new));
+    }
+
+    /**
+     * Opens a cursor over the table data that may have the first index field in one of the ranges.
+     *
+     * @param index  the index to use.
+     * @param ranges the key ranges.
+     * @return the table data cursor or {@code null} if the index can't be used.
+     * @throws SQLException in case of failures.
+     */
+    public RowCursor seek(final Index index, final List<KeyRange> ranges) throws SQLException {
+        return table.seek(this.columns.stream().map(Column::getField).toArray(Field[]::new), index, ranges);
+    }
+
     /**
      * Gets the columns to load.
      *
@@ -10,21 +10,30 @@
  */
 package com.googlecode.paradox.planner.nodes.comparable;
 
+import com.googlecode.paradox.metadata.ColumnBatch;
+import com.googlecode.paradox.metadata.ColumnVector;
 import com.googlecode.paradox.parser.ScannerPosition;
 import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
 import com.googlecode.paradox.planner.FieldValueUtils;
+import com.googlecode.paradox.planner.context.Context;
 import com.googlecode.paradox.planner.nodes.FieldNode;
+import com.googlecode.paradox.planner.nodes.FunctionNode;
+import com.googlecode.paradox.planner.nodes.ParameterNode;
 import com.googlecode.paradox.planner.nodes.PlanTableNode;
+import com.googlecode.paradox.planner.nodes.ValueNode;
 import com.googlecode.paradox.results.Column;
+import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.IntPredicate;
 
 /**
  * Comparable node common code.
  *
- * @version 1.5
+ * @version 1.6
  * @since 1.6.0
  */
 public abstract class AbstractComparableNode extends AbstractConditionalNode {
@@ -67,6 +76,151 @@ public abstract class AbstractComparableNode extends AbstractConditionalNode {
         return nodes;
     }
 
+    /**
+     * Gets the condition over the comparison result used to evaluate batches.
+     *
+     * @return the condition or {@code null} to evaluate batches row by row.
+     */
+    protected IntPredicate getBatchCondition() {
+        return null;
+    }
+
+    /**
+     * Gets if this node compares by equality, so doubles are compared with tolerance.
+     *
+     * @return {@code true} if this node compares by equality.
+     */
+    protected boolean isEquality() {
+        return false;
+    }
+
+    /**
+     * Gets if null values are accepted.
+     *
+     * @return {@code true} if null values are accepted.
+     */
+    protected boolean isNullAccepted() {
+        return false;
+    }
+
+    @Override
+    public void evaluate(final Context context, final ColumnBatch batch, final BitSet selected,
+                         final List<Column> columnsLoaded) throws SQLException {
+        final IntPredicate condition = getBatchCondition();
+        if (condition != null) {
+            if (isVectorColumn(field, batch) && isConstant(last)
+                    && evaluate(batch.getVector(field.getIndex()), last.getName(), selected, condition, false)) {
+                return;
+            } else if (isConstant(field) && isVectorColumn(last, batch)
+                    && evaluate(batch.getVector(last.getIndex()), field.getName(), selected, condition, true)) {
+                return;
+            }
+        }
+
+        super.evaluate(context, batch, selected, columnsLoaded);
+    }
+
+    /**
+     * Compares a primitive column vector with a constant value.
+     * <p>
+     * The constant is converted once, the same way the row comparison converts it to the column type.
+     *
+     * @param vector    the column vector.
+     * @param constant  the constant value.
+     * @param selected  the selected rows.
+     * @param condition the condition over the comparison result.
+     * @param reversed  if the constant is the first value.
+     * @return {@code false} if the constant can not be compared by vector.
+     */
+    private boolean evaluate(final ColumnVector vector, final String constant, final BitSet selected,
+                             final IntPredicate condition, final boolean reversed) {
+        int intValue = 0;
+        long longValue = 0;
+        double doubleValue = 0;
+        try {
+            switch (vector.getType()) {
+                case INT:
+                    intValue = Integer.parseInt(constant);
+                    break;
+                case LONG:
+                    longValue = Long.parseLong(constant);
+                    break;
+                default:
+                    doubleValue = Double.parseDouble(constant);
+                    break;
+            }
+        } catch (@SuppressWarnings("java:S1166") final NumberFormatException e) {
+            // Let the row comparison handle it.
+            return false;
+        }
+
+        final boolean nullAccepted = isNullAccepted();
+        final boolean equality = isEquality();
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            if (vector.isNull(i)) {
+                if (!nullAccepted) {
+                    selected.clear(i);
+                }
+
+                continue;
+            }
+
+            int result;
+            switch (vector.getType()) {
+                case INT:
+                    result = Integer.compare(vector.getInt(i), intValue);
+                    break;
+                case LONG:
+                    result = Long.compare(vector.getLong(i), longValue);
+                    break;
+                default:
+                    if (equality) {
+                        result = ValuesComparator.equals(vector.getDouble(i), doubleValue) ? 0 : 1;
+                    } else {
+                        result = Double.compare(vector.getDouble(i), doubleValue);
+                    }
+                    break;
+            }
+
+            if (reversed) {
+                result = -result;
+            }
+
+            if (!condition.test(result)) {
+                selected.clear(i);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets if the node is a table column loaded in batch as a primitive vector.
+     *
+     * @param node  the node to check.
+     * @param batch the batch.
+     * @return {@code true} if the node is a table column loaded in batch as a primitive vector.
+     */
+    private static boolean isVectorColumn(final FieldNode node, final ColumnBatch batch) {
+        if (node == null || node instanceof ValueNode || node instanceof ParameterNode
+                || node instanceof FunctionNode || node.getIndex() < 0 || node.getIndex() >= batch.getColumnCount()) {
+            return false;
+        }
+
+        final ColumnVector vector = batch.getVector(node.getIndex());
+        return vector != null && vector.getType() != ColumnVector.Type.OBJECT;
+    }
+
+    /**
+     * Gets if the node is a constant value.
+     *
+     * @param node the node to check.
+     * @return {@code true} if the node is a constant value.
+     */
+    private static boolean isConstant(final FieldNode node) {
+        return node instanceof ValueNode && node.getIndex() == -1 && node.getName() != null;
+    }
+
     @Override
     public String toString() {
         return String.format("%s %s %s", field, name, last);
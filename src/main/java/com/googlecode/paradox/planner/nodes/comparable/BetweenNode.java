@@ -23,7 +23,7 @@ import java.util.List;
 /**
  * Stores the between node.
  *
- * @version 1.11
+ * @version 1.12
  * @since 1.1
  */
 public final class BetweenNode extends AbstractComparableNode {
@@ -47,6 +47,15 @@ public final class BetweenNode extends AbstractComparableNode {
         this.first = first;
     }
 
+    /**
+     * Gets the first node.
+     *
+     * @return the first node.
+     */
+    public FieldNode getFirst() {
+        return first;
+    }
+
     /**
      * {@inheritDoc}.
      */
@@ -19,11 +19,12 @@ import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.IntPredicate;
 
 /**
  * Stores the greater than node.
  *
- * @version 1.12
+ * @version 1.13
  * @since 1.1
  */
 public final class GreaterThanNode extends AbstractComparableNode {
@@ -46,4 +47,9 @@ public final class GreaterThanNode extends AbstractComparableNode {
         final Object value2 = FieldValueUtils.getValue(context, row, last, columnsLoaded);
         return ValuesComparator.compare(value1, value2, i -> i == 1, context.getConnectionInfo());
     }
+
+    @Override
+    protected IntPredicate getBatchCondition() {
+        return i -> i == 1;
+    }
 }
@@ -19,11 +19,12 @@ import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.IntPredicate;
 
 /**
  * Stores the greater than or equals node.
  *
- * @version 1.7
+ * @version 1.8
  * @since 1.6.0
  */
 public final class GreaterThanOrEqualsNode extends AbstractComparableNode {
@@ -46,4 +47,9 @@ public final class GreaterThanOrEqualsNode extends AbstractComparableNode {
         final Object value2 = FieldValueUtils.getValue(context, row, last, columnsLoaded);
         return ValuesComparator.compare(value1, value2, i -> i >= 0, context.getConnectionInfo());
     }
+
+    @Override
+    protected IntPredicate getBatchCondition() {
+        return i -> i >= 0;
+    }
 }
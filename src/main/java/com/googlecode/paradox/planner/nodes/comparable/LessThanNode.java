@@ -19,11 +19,12 @@ import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.IntPredicate;
 
 /**
  * Store the less than node.
  *
- * @version 1.11
+ * @version 1.12
  * @since 1.1
  */
 public final class LessThanNode extends AbstractComparableNode {
@@ -47,4 +48,9 @@ public final class LessThanNode extends AbstractComparableNode {
         final Object value2 = FieldValueUtils.getValue(context, row, last, columnsLoaded);
         return ValuesComparator.compare(value1, value2, i -> i == -1, context.getConnectionInfo());
     }
+
+    @Override
+    protected IntPredicate getBatchCondition() {
+        return i -> i == -1;
+    }
 }
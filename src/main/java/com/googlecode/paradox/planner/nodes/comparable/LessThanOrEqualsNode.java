@@ -19,11 +19,12 @@ import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.IntPredicate;
 
 /**
  * Store the less than or equals node.
  *
- * @version 1.9
+ * @version 1.10
  * @since 1.6.0
  */
 public final class LessThanOrEqualsNode extends AbstractComparableNode {
@@ -47,4 +48,9 @@ public final class LessThanOrEqualsNode extends AbstractComparableNode {
         final Object value2 = FieldValueUtils.getValue(context, row, last, columnsLoaded);
         return ValuesComparator.compare(value1, value2, i -> i <= 0, context.getConnectionInfo());
     }
+
+    @Override
+    protected IntPredicate getBatchCondition() {
+        return i -> i <= 0;
+    }
 }
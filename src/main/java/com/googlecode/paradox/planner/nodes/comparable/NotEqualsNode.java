@@ -19,11 +19,12 @@ import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.IntPredicate;
 
 /**
  * Stores the not equals node.
  *
- * @version 1.13
+ * @version 1.14
  * @since 1.1
  */
 public final class NotEqualsNode extends AbstractComparableNode {
@@ -46,4 +47,19 @@ public final class NotEqualsNode extends AbstractComparableNode {
         final Object value2 = FieldValueUtils.getValue(context, row, last, columnsLoaded);
         return !ValuesComparator.equals(value1, value2, context.getConnectionInfo());
     }
+
+    @Override
+    protected IntPredicate getBatchCondition() {
+        return i -> i != 0;
+    }
+
+    @Override
+    protected boolean isEquality() {
+        return true;
+    }
+
+    @Override
+    protected boolean isNullAccepted() {
+        return true;
+    }
 }
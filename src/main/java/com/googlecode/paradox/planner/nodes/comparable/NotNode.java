@@ -12,6 +12,7 @@ package com.googlecode.paradox.planner.nodes.comparable;
 
 import com.googlecode.paradox.exceptions.ParadoxSyntaxErrorException;
 import com.googlecode.paradox.exceptions.SyntaxError;
+import com.googlecode.paradox.metadata.ColumnBatch;
 import com.googlecode.paradox.parser.ScannerPosition;
 import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
 import com.googlecode.paradox.parser.nodes.SQLNode;
@@ -21,13 +22,14 @@ import com.googlecode.paradox.planner.nodes.PlanTableNode;
 import com.googlecode.paradox.results.Column;
 
 import java.sql.SQLException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 
 /**
  * Stores the not node.
  *
- * @version 1.12
+ * @version 1.13
  * @since 1.1
  */
 public final class NotNode extends AbstractComparableNode {
@@ -71,6 +73,19 @@ public final class NotNode extends AbstractComparableNode {
         throw new ParadoxSyntaxErrorException(SyntaxError.INVALID_SELECT_STATEMENT);
     }
 
+    @Override
+    public void evaluate(final Context context, final ColumnBatch batch, final BitSet selected,
+                         final List<Column> columnsLoaded) throws SQLException {
+        if (children.isEmpty()) {
+            // Should never happens.
+            throw new ParadoxSyntaxErrorException(SyntaxError.INVALID_SELECT_STATEMENT);
+        }
+
+        final BitSet accepted = (BitSet) selected.clone();
+        ((AbstractConditionalNode) children.get(0)).evaluate(context, batch, accepted, columnsLoaded);
+        selected.andNot(accepted);
+    }
+
     @Override
     public String toString() {
         if (!children.isEmpty()) {
@@ -10,6 +10,7 @@
  */
 package com.googlecode.paradox.planner.nodes.join;
 
+import com.googlecode.paradox.metadata.ColumnBatch;
 import com.googlecode.paradox.parser.ScannerPosition;
 import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
 import com.googlecode.paradox.parser.nodes.SQLNode;
@@ -17,12 +18,13 @@ import com.googlecode.paradox.planner.context.Context;
 import com.googlecode.paradox.results.Column;
 
 import java.sql.SQLException;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Stores the AND node.
  *
- * @version 1.4
+ * @version 1.5
  * @since 1.1
  */
 public class ANDNode extends AbstractJoinNode {
@@ -49,4 +51,15 @@ public class ANDNode extends AbstractJoinNode {
         }
         return true;
     }
+
+    @Override
+    public void evaluate(final Context context, final ColumnBatch batch, final BitSet selected,
+                         final List<Column> columnsLoaded) throws SQLException {
+        for (final SQLNode node : children) {
+            ((AbstractConditionalNode) node).evaluate(context, batch, selected, columnsLoaded);
+            if (selected.isEmpty()) {
+                break;
+            }
+        }
+    }
 }
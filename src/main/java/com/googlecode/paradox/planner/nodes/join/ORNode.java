@@ -10,6 +10,7 @@
  */
 package com.googlecode.paradox.planner.nodes.join;
 
+import com.googlecode.paradox.metadata.ColumnBatch;
 import com.googlecode.paradox.parser.ScannerPosition;
 import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
 import com.googlecode.paradox.parser.nodes.SQLNode;
@@ -17,12 +18,13 @@ import com.googlecode.paradox.planner.context.Context;
 import com.googlecode.paradox.results.Column;
 
 import java.sql.SQLException;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Store the OR node.
  *
- * @version 1.9
+ * @version 1.10
  * @since 1.1
  */
 public class ORNode extends AbstractJoinNode {
@@ -49,4 +51,24 @@ public class ORNode extends AbstractJoinNode {
         }
         return false;
     }
+
+    @Override
+    public void evaluate(final Context context, final ColumnBatch batch, final BitSet selected,
+                         final List<Column> columnsLoaded) throws SQLException {
+        final BitSet accepted = new BitSet(batch.getSize());
+        final BitSet remaining = (BitSet) selected.clone();
+        for (final SQLNode node : children) {
+            final BitSet current = (BitSet) remaining.clone();
+            ((AbstractConditionalNode) node).evaluate(context, batch, current, columnsLoaded);
+            accepted.or(current);
+
+            // Accepted rows does not need to be evaluated again.
+            remaining.andNot(current);
+            if (remaining.isEmpty()) {
+                break;
+            }
+        }
+
+        selected.and(accepted);
+    }
 }
@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.plan;
+
+import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
+import com.googlecode.paradox.parser.nodes.JoinType;
+import com.googlecode.paradox.parser.nodes.SQLNode;
+import com.googlecode.paradox.planner.context.Context;
+import com.googlecode.paradox.planner.nodes.FieldNode;
+import com.googlecode.paradox.planner.nodes.FunctionNode;
+import com.googlecode.paradox.planner.nodes.ParameterNode;
+import com.googlecode.paradox.planner.nodes.PlanTableNode;
+import com.googlecode.paradox.planner.nodes.ValueNode;
+import com.googlecode.paradox.planner.nodes.comparable.EqualsNode;
+import com.googlecode.paradox.planner.nodes.join.ANDNode;
+import com.googlecode.paradox.results.Column;
+import com.googlecode.paradox.rowset.ValuesComparator;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins the tables by the equality conditions between their fields using a hash table.
+ * <p>
+ * The smaller input is loaded in the hash table and the other one is read only once, so the join condition is
+ * evaluated only in the rows with the same keys. The rows are returned in the same order as the nested loop join.
+ * <p>
+ * In outer joins, the matched rows are marked in a bit set, so the rows without matches are added in the same pass
+ * (or in a final pass over the right rows in full joins).
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+final class HashJoin {
+
+    /**
+     * The key columns in the left rows.
+     */
+    private final int[] leftColumns;
+
+    /**
+     * The key columns in the right rows.
+     */
+    private final int[] rightColumns;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param leftColumns  the key columns in the left rows.
+     * @param rightColumns the key columns in the right rows.
+     */
+    private HashJoin(final int[] leftColumns, final int[] rightColumns) {
+        this.leftColumns = leftColumns;
+        this.rightColumns = rightColumns;
+    }
+
+    /**
+     * Creates the hash join for the table join condition.
+     *
+     * @param table     the table to join.
+     * @param leftWidth the number of columns in the left rows.
+     * @return the hash join or {@code null} if the condition has no equality between the two sides.
+     */
+    static HashJoin of(final PlanTableNode table, final int leftWidth) {
+        final List<SQLNode> conditions = new ArrayList<>();
+        addConditions(table.getConditionalJoin(), conditions);
+
+        final List<int[]> keys = new ArrayList<>();
+        for (final SQLNode node : conditions) {
+            if (node instanceof EqualsNode) {
+                final int first = getIndex(((EqualsNode) node).getField());
+                final int last = getIndex(((EqualsNode) node).getLast());
+                if (first >= 0 && last >= 0 && first < leftWidth && last >= leftWidth) {
+                    keys.add(new int[]{first, last - leftWidth});
+                } else if (first >= 0 && last >= 0 && last < leftWidth && first >= leftWidth) {
+                    keys.add(new int[]{last, first - leftWidth});
+                }
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return null;
+        }
+
+        final int[] leftColumns = new int[keys.size()];
+        final int[] rightColumns = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            leftColumns[i] = keys.get(i)[0];
+            rightColumns[i] = keys.get(i)[1];
+        }
+
+        return new HashJoin(leftColumns, rightColumns);
+    }
+
+    /**
+     * Adds the conditions in the main AND clause.
+     *
+     * @param node       the condition node.
+     * @param conditions the conditions found.
+     */
+    private static void addConditions(final SQLNode node, final List<SQLNode> conditions) {
+        if (node instanceof ANDNode) {
+            for (final SQLNode child : ((ANDNode) node).getChildren()) {
+                addConditions(child, conditions);
+            }
+        } else if (node != null) {
+            conditions.add(node);
+        }
+    }
+
+    /**
+     * Gets the row index of a table field.
+     *
+     * @param node the node.
+     * @return the row index or {@code -1} if the node is not a table field.
+     */
+    private static int getIndex(final FieldNode node) {
+        if (node == null || node instanceof ValueNode || node instanceof ParameterNode
+                || node instanceof FunctionNode) {
+            return -1;
+        }
+
+        return node.getIndex();
+    }
+
+    /**
+     * Joins the rows by the table join type.
+     *
+     * @param context       the execution context.
+     * @param columnsLoaded the loaded columns.
+     * @param rawData       the left rows.
+     * @param table         the table to join.
+     * @param tableData     the right rows.
+     * @return the joined rows or {@code null} if the keys can't be hashed.
+     * @throws SQLException in case of failures.
+     */
+    @SuppressWarnings("java:S3776")
+    List<Object[]> join(final Context context, final List<Column> columnsLoaded, final Collection<Object[]> rawData,
+                        final PlanTableNode table, final Collection<Object[]> tableData) throws SQLException {
+        final Object[][] left = rawData.toArray(new Object[0][]);
+        final Object[][] right = tableData.toArray(new Object[0][]);
+
+        final Class<?>[] classes = new Class<?>[leftColumns.length];
+        final Object[] leftKeys = getKeys(left, leftColumns, classes);
+        final Object[] rightKeys = getKeys(right, rightColumns, classes);
+        if (leftKeys == null || rightKeys == null) {
+            return null;
+        }
+
+        // The right join rows are returned by the right rows order, the others by the left rows order.
+        final JoinType joinType = table.getJoinType();
+        final boolean rightOrder = joinType == JoinType.RIGHT;
+        final boolean outer = joinType == JoinType.LEFT || joinType == JoinType.RIGHT || joinType == JoinType.FULL;
+        final long[] pairs = getPairs(context, leftKeys, rightKeys, rightOrder);
+
+        final Object[] column = new Object[columnsLoaded.size()];
+        final List<Object[]> localValues = new ArrayList<>(0x7F);
+        final BitSet matched = new BitSet(right.length);
+        final int rows;
+        if (rightOrder) {
+            rows = right.length;
+        } else {
+            rows = left.length;
+        }
+
+        int current = 0;
+        for (int row = 0; row < rows; row++) {
+            context.checkCancelState();
+
+            boolean changed = false;
+            for (; current < pairs.length && (int) (pairs[current] >>> Integer.SIZE) == row; current++) {
+                final int other = (int) pairs[current];
+                final int i = rightOrder ? other : row;
+                final int j = rightOrder ? row : other;
+                if (addRow(context, columnsLoaded, table, column, left[i], right[j], localValues)) {
+                    changed = true;
+                    matched.set(j);
+                }
+            }
+
+            if (!changed && outer) {
+                if (rightOrder) {
+                    final Object[] newCols = right[row];
+                    Arrays.fill(column, 0, column.length - newCols.length, null);
+                    System.arraycopy(newCols, 0, column, column.length - newCols.length, newCols.length);
+                } else {
+                    final Object[] cols = left[row];
+                    System.arraycopy(cols, 0, column, 0, cols.length);
+                    Arrays.fill(column, cols.length, column.length, null);
+                }
+
+                localValues.add(column.clone());
+            }
+        }
+
+        if (joinType == JoinType.FULL) {
+            // Right rows not used in left join.
+            Arrays.fill(column, 0, column.length, null);
+            for (int j = matched.nextClearBit(0); j < right.length; j = matched.nextClearBit(j + 1)) {
+                context.checkCancelState();
+
+                final Object[] newCols = right[j];
+                System.arraycopy(newCols, 0, column, column.length - newCols.length, newCols.length);
+                localValues.add(column.clone());
+            }
+        }
+
+        return localValues;
+    }
+
+    /**
+     * Gets the row pairs with the same keys.
+     * <p>
+     * The smaller side is loaded in the hash table. Each pair has the row index in the ordering side in the high
+     * bits and the row index in the other side in the low bits, so the pairs are sorted by the join order.
+     *
+     * @param context    the execution context.
+     * @param leftKeys   the left row keys.
+     * @param rightKeys  the right row keys.
+     * @param rightOrder {@code true} to order by the right rows.
+     * @return the row pairs sorted by the join order.
+     * @throws SQLException in case of failures.
+     */
+    private static long[] getPairs(final Context context, final Object[] leftKeys, final Object[] rightKeys,
+                                   final boolean rightOrder) throws SQLException {
+        final boolean buildRight = rightKeys.length <= leftKeys.length;
+        final Object[] buildKeys;
+        final Object[] probeKeys;
+        if (buildRight) {
+            buildKeys = rightKeys;
+            probeKeys = leftKeys;
+        } else {
+            buildKeys = leftKeys;
+            probeKeys = rightKeys;
+        }
+
+        final Map<Object, Integer> heads = new HashMap<>();
+        final int[] next = buildTable(buildKeys, heads);
+
+        // Probing by the ordering side already gives the pairs in order.
+        final boolean ordered = buildRight != rightOrder;
+        long[] pairs = new long[0x7F];
+        int count = 0;
+        for (int probe = 0; probe < probeKeys.length; probe++) {
+            context.checkCancelState();
+
+            for (int build = getHead(heads, probeKeys[probe]); build != -1; build = next[build]) {
+                if (count == pairs.length) {
+                    pairs = Arrays.copyOf(pairs, count * 2);
+                }
+
+                if (ordered) {
+                    pairs[count++] = ((long) probe << Integer.SIZE) | build;
+                } else {
+                    pairs[count++] = ((long) build << Integer.SIZE) | probe;
+                }
+            }
+        }
+
+        pairs = Arrays.copyOf(pairs, count);
+        if (!ordered) {
+            Arrays.sort(pairs);
+        }
+
+        return pairs;
+    }
+
+    /**
+     * Adds the joined row if it satisfies the join condition.
+     *
+     * @param context       the execution context.
+     * @param columnsLoaded the loaded columns.
+     * @param table         the table to join.
+     * @param column        the joined row buffer.
+     * @param cols          the left row.
+     * @param newCols       the right row.
+     * @param localValues   the joined rows.
+     * @return {@code true} if the row was added.
+     * @throws SQLException in case of failures.
+     */
+    private static boolean addRow(final Context context, final List<Column> columnsLoaded, final PlanTableNode table,
+                                  final Object[] column, final Object[] cols, final Object[] newCols,
+                                  final List<Object[]> localValues) throws SQLException {
+        System.arraycopy(cols, 0, column, 0, cols.length);
+        System.arraycopy(newCols, 0, column, cols.length, newCols.length);
+
+        // The other conditions and the key conversions are still checked.
+        final AbstractConditionalNode condition = table.getConditionalJoin();
+        if (condition.evaluate(context, column, columnsLoaded)) {
+            localValues.add(column.clone());
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Loads the row keys in a hash table.
+     * <p>
+     * The rows with the same key are chained in row order.
+     *
+     * @param keys  the row keys.
+     * @param heads the first row with each key.
+     * @return the next row with the same key, by row.
+     */
+    private static int[] buildTable(final Object[] keys, final Map<Object, Integer> heads) {
+        final int[] next = new int[keys.length];
+        for (int i = keys.length - 1; i >= 0; i--) {
+            if (keys[i] != null) {
+                final Integer head = heads.put(keys[i], i);
+                if (head == null) {
+                    next[i] = -1;
+                } else {
+                    next[i] = head;
+                }
+            }
+        }
+
+        return next;
+    }
+
+    /**
+     * Gets the first row with a key.
+     *
+     * @param heads the first row with each key.
+     * @param key   the key to find.
+     * @return the first row or {@code -1} if there is none.
+     */
+    private static int getHead(final Map<Object, Integer> heads, final Object key) {
+        if (key == null) {
+            return -1;
+        }
+
+        return heads.getOrDefault(key, -1);
+    }
+
+    /**
+     * Gets the row keys.
+     * <p>
+     * The rows with null values never match, so they have no key. The values of each key column must be all of the
+     * same class in both sides, as the keys of different classes are not comparable.
+     *
+     * @param rows    the rows.
+     * @param columns the key columns.
+     * @param classes the value class of each key column, updated with the values found.
+     * @return the row keys or {@code null} if the values can't be hashed.
+     */
+    private static Object[] getKeys(final Object[][] rows, final int[] columns, final Class<?>[] classes) {
+        final Object[] keys = new Object[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            final Object[] values = new Object[columns.length];
+            boolean nullValue = false;
+            for (int k = 0; k < columns.length; k++) {
+                final Object value = rows[i][columns[k]];
+                if (value == null) {
+                    nullValue = true;
+                    break;
+                }
+
+                if (classes[k] == null) {
+                    classes[k] = value.getClass();
+                } else if (classes[k] != value.getClass()) {
+                    return null;
+                }
+
+                values[k] = ValuesComparator.getHashKey(value);
+                if (values[k] == null) {
+                    return null;
+                }
+            }
+
+            if (!nullValue) {
+                if (columns.length == 1) {
+                    keys[i] = values[0];
+                } else {
+                    keys[i] = Arrays.asList(values);
+                }
+            }
+        }
+
+        return keys;
+    }
+}
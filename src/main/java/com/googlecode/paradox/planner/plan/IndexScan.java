@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.plan;
+
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.Index;
+import com.googlecode.paradox.metadata.IndexType;
+import com.googlecode.paradox.metadata.KeyRange;
+import com.googlecode.paradox.metadata.RowCursor;
+import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
+import com.googlecode.paradox.parser.nodes.SQLNode;
+import com.googlecode.paradox.planner.context.SelectContext;
+import com.googlecode.paradox.planner.nodes.FieldNode;
+import com.googlecode.paradox.planner.nodes.FunctionNode;
+import com.googlecode.paradox.planner.nodes.ParameterNode;
+import com.googlecode.paradox.planner.nodes.PlanTableNode;
+import com.googlecode.paradox.planner.nodes.ValueNode;
+import com.googlecode.paradox.planner.nodes.comparable.*;
+import com.googlecode.paradox.planner.nodes.join.ANDNode;
+
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opens the table cursors using the table indexes.
+ * <p>
+ * The table conditions comparing the first field of an index with constant values are converted to key ranges, so
+ * only the table blocks that may have the keys are read. The indexes with key lookups are tried first, then the
+ * primary key. The conditions are still evaluated in the rows read.
+ *
+ * @version 1.2
+ * @since 1.6.0
+ */
+final class IndexScan {
+
+    /**
+     * The lower bound index.
+     */
+    private static final int LOW = 0;
+
+    /**
+     * The upper bound index.
+     */
+    private static final int HIGH = 1;
+
+    /**
+     * Utility class.
+     */
+    private IndexScan() {
+        // Utility class.
+    }
+
+    /**
+     * Opens the table cursor, using the table indexes if possible.
+     *
+     * @param context   the execution context.
+     * @param table     the table to read.
+     * @param condition the conditions all table rows read must satisfy or {@code null} if there is none.
+     * @return the table cursor.
+     * @throws SQLException in case of failures.
+     */
+    static RowCursor open(final SelectContext context, final PlanTableNode table,
+                          final AbstractConditionalNode condition) throws SQLException {
+        if (condition != null && !table.getColumns().isEmpty()) {
+            // Try the lookups first, then the primary key.
+            final List<Map.Entry<Index, List<KeyRange>>> candidates = new ArrayList<>();
+            for (final Index index : table.getTable().getIndexes()) {
+                if (index.getFields().length > 0) {
+                    final List<KeyRange> ranges = getRanges(context, table, condition, index.getFields()[0]);
+                    if (ranges != null) {
+                        candidates.add(new AbstractMap.SimpleImmutableEntry<>(index, ranges));
+                    }
+                }
+            }
+
+            candidates.sort(Comparator.comparing((Map.Entry<Index, List<KeyRange>> entry) ->
+                    !entry.getValue().stream().allMatch(KeyRange::isPoint))
+                    .thenComparing(entry -> entry.getKey().type() != IndexType.PRIMARY_KEY));
+            for (final Map.Entry<Index, List<KeyRange>> candidate : candidates) {
+                final RowCursor cursor = table.seek(candidate.getKey(), candidate.getValue());
+                if (cursor != null) {
+                    return cursor;
+                }
+            }
+        }
+
+        return table.cursor();
+    }
+
+    /**
+     * Gets the key field ranges accepted by the table condition.
+     * <p>
+     * Only the conditions in the main AND clause are used. Equality conditions are preferred, otherwise the first
+     * lower and upper bounds found are used.
+     *
+     * @param context   the execution context.
+     * @param table     the table.
+     * @param condition the table condition.
+     * @param field     the key field.
+     * @return the key ranges or {@code null} if the condition doesn't limit the key field.
+     */
+    @SuppressWarnings({"java:S3776", "java:S1541"})
+    static List<KeyRange> getRanges(final SelectContext context, final PlanTableNode table,
+                                    final AbstractConditionalNode condition, final Field field) {
+        final List<AbstractConditionalNode> conditions = new ArrayList<>();
+        addConditions(condition, conditions);
+
+        final Object[] bounds = new Object[2];
+        for (final AbstractConditionalNode node : conditions) {
+            if (node instanceof InNode && isKey(table, node.getField(), field)) {
+                final List<KeyRange> ranges = new ArrayList<>();
+                for (final ValueNode value : ((InNode) node).getValues()) {
+                    ranges.add(KeyRange.of(value.getName()));
+                }
+
+                return ranges;
+            } else if (node instanceof AbstractComparableNode) {
+                final FieldNode first = node.getField();
+                final FieldNode last = ((AbstractComparableNode) node).getLast();
+                final boolean reversed = !isKey(table, first, field);
+                final FieldNode constant = reversed ? first : last;
+                if ((reversed && !isKey(table, last, field)) || !isConstant(constant)) {
+                    continue;
+                }
+
+                final Object value = getValue(context, constant);
+                if (node instanceof EqualsNode) {
+                    return Collections.singletonList(KeyRange.of(value));
+                } else if (node instanceof BetweenNode) {
+                    final FieldNode start = ((BetweenNode) node).getFirst();
+                    if (!reversed && isConstant(start)) {
+                        setBound(bounds, LOW, getValue(context, start));
+                        setBound(bounds, HIGH, value);
+                    }
+                } else if (node instanceof GreaterThanNode || node instanceof GreaterThanOrEqualsNode) {
+                    setBound(bounds, reversed ? HIGH : LOW, value);
+                } else if (node instanceof LessThanNode || node instanceof LessThanOrEqualsNode) {
+                    setBound(bounds, reversed ? LOW : HIGH, value);
+                }
+            }
+        }
+
+        if (bounds[LOW] == null && bounds[HIGH] == null) {
+            return null;
+        }
+
+        return Collections.singletonList(new KeyRange(bounds[LOW], bounds[HIGH]));
+    }
+
+    /**
+     * Sets a range bound, if not already set.
+     *
+     * @param bounds the range bounds.
+     * @param index  the bound index.
+     * @param value  the bound value.
+     */
+    private static void setBound(final Object[] bounds, final int index, final Object value) {
+        if (bounds[index] == null) {
+            bounds[index] = value;
+        }
+    }
+
+    /**
+     * Adds the conditions in the main AND clause.
+     *
+     * @param node       the condition node.
+     * @param conditions the conditions found.
+     */
+    private static void addConditions(final SQLNode node, final List<AbstractConditionalNode> conditions) {
+        if (node instanceof ANDNode) {
+            for (final SQLNode child : ((ANDNode) node).getChildren()) {
+                addConditions(child, conditions);
+            }
+        } else if (node instanceof AbstractConditionalNode) {
+            conditions.add((AbstractConditionalNode) node);
+        }
+    }
+
+    /**
+     * Gets if the node is the key field in the table.
+     *
+     * @param table the table.
+     * @param node  the node to check.
+     * @param field the key field.
+     * @return {@code true} if the node is the key field in the table.
+     */
+    private static boolean isKey(final PlanTableNode table, final FieldNode node, final Field field) {
+        return node != null && !isConstant(node) && !(node instanceof FunctionNode)
+                && table.isThis(node.getTableName()) && field.getName().equalsIgnoreCase(node.getName());
+    }
+
+    /**
+     * Gets if the node is a constant value.
+     *
+     * @param node the node to check.
+     * @return {@code true} if the node is a constant value.
+     */
+    private static boolean isConstant(final FieldNode node) {
+        return node instanceof ValueNode || node instanceof ParameterNode;
+    }
+
+    /**
+     * Gets the constant node value.
+     *
+     * @param context the execution context.
+     * @param node    the constant node.
+     * @return the node value.
+     */
+    private static Object getValue(final SelectContext context, final FieldNode node) {
+        if (node instanceof ParameterNode) {
+            return ((ParameterNode) node).getValue(context.getParameters());
+        }
+
+        return node.getName();
+    }
+}
@@ -11,8 +11,11 @@
 package com.googlecode.paradox.planner.plan;
 
 import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.ParadoxFieldFactory;
 import com.googlecode.paradox.exceptions.*;
+import com.googlecode.paradox.metadata.ColumnBatch;
 import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.RowCursor;
 import com.googlecode.paradox.metadata.Table;
 import com.googlecode.paradox.parser.nodes.*;
 import com.googlecode.paradox.planner.FieldValueUtils;
@@ -20,13 +23,16 @@ import com.googlecode.paradox.planner.context.SelectContext;
 import com.googlecode.paradox.planner.nodes.*;
 import com.googlecode.paradox.planner.nodes.join.ANDNode;
 import com.googlecode.paradox.planner.nodes.join.ORNode;
+import com.googlecode.paradox.planner.sorting.RowFile;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
 import com.googlecode.paradox.utils.FunctionalUtils;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.googlecode.paradox.utils.FunctionalUtils.functionWrapper;
@@ -35,7 +41,7 @@ import static com.googlecode.paradox.utils.FunctionalUtils.predicateWrapper;
 /**
  * Creates a SELECT plan for execution.
  *
- * @version 1.18
+ * @version 1.26
  * @since 1.1
  */
 @SuppressWarnings({"java:S1448", "java:S1200"})
@@ -334,32 +340,50 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
         }
 
         final List<Column> columnsLoaded = new ArrayList<>();
-        Collection<Object[]> rawData = Collections.emptyList();
 
+        if (this.tables.size() == 1) {
+            // Only one table: stream the rows from the table cursor, one block at a time.
+            final PlanTableNode table = this.tables.get(0);
+            context.checkCancelState();
+            columnsLoaded.addAll(table.getColumns());
+
+            try (final RowCursor cursor = IndexScan.open(context, table, table.getConditionalJoin())) {
+                RowCursor rows = cursor;
+                final int[] deferredColumns = getDeferredColumns(context, table, columnsLoaded);
+                if (deferredColumns.length > 0) {
+                    rows = cursor.deferLobs(deferredColumns);
+                }
+
+                return process(context, filterTable(context, table.getConditionalJoin(), rows, columnsLoaded),
+                        columnsLoaded);
+            }
+        }
+
+        Collection<Object[]> rawData = Collections.emptyList();
         for (int tableIndex = 0; tableIndex < this.tables.size(); tableIndex++) {
             PlanTableNode table = this.tables.get(tableIndex);
             context.checkCancelState();
 
-            final Collection<Object[]> tableData = table.load();
             columnsLoaded.addAll(table.getColumns());
 
-            if (table.getConditionalJoin() != null) {
-                table.getConditionalJoin().setFieldIndexes(columnsLoaded, this.tables);
-            }
-
             // First table?
             if (tableIndex == 0) {
                 if (table.getConditionalJoin() != null) {
-                    rawData = tableData.stream()
-                            .filter(context.getCancelPredicate())
-                            .filter(predicateWrapper(tableRow ->
-                                    table.getConditionalJoin().evaluate(context, tableRow, columnsLoaded)))
-                            .collect(Collectors.toList());
+                    // Keep only the filtered rows in memory.
+                    try (final RowCursor cursor = IndexScan.open(context, table, table.getConditionalJoin())) {
+                        rawData = filterTable(context, table.getConditionalJoin(), cursor, columnsLoaded)
+                                .collect(Collectors.toList());
+                    }
                 } else {
                     // No conditions to process. Just use it.
-                    rawData = tableData;
+                    rawData = table.load();
                 }
             } else {
+                final Collection<Object[]> tableData = loadJoinTable(context, table);
+                if (table.getConditionalJoin() != null) {
+                    table.getConditionalJoin().setFieldIndexes(columnsLoaded, this.tables);
+                }
+
                 rawData = TableJoiner.processJoinByType(context, columnsLoaded, rawData, table,
                         tableData);
             }
@@ -379,9 +403,209 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
             return Collections.emptyList();
         }
 
+        return process(context, rawData.stream(), columnsLoaded);
+    }
+
+    /**
+     * Loads the rows of a joined table.
+     * <p>
+     * The join conditions using only the table fields are evaluated by the table cursor, so the rows that can't be
+     * joined are not kept in memory and only their condition columns are decoded. The full join condition is still
+     * evaluated by the join.
+     *
+     * @param context the execution context.
+     * @param table   the table to load.
+     * @return the table rows.
+     * @throws SQLException in case of failures.
+     */
+    private Collection<Object[]> loadJoinTable(final SelectContext context, final PlanTableNode table)
+            throws SQLException {
+        final AbstractConditionalNode tableCondition = getTableCondition(table);
+        if (tableCondition == null || table.getColumns().isEmpty()) {
+            return table.load();
+        }
+
+        final List<Column> tableColumns = new ArrayList<>(table.getColumns());
+        try (final RowCursor cursor = IndexScan.open(context, table, tableCondition)) {
+            return filterTable(context, tableCondition, cursor, tableColumns).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Gets the join conditions that use only the table fields.
+     * <p>
+     * The rows of the preserved table in RIGHT and FULL joins can't be removed before the join.
+     *
+     * @param table the joined table.
+     * @return the table conditions or {@code null} if there is none.
+     */
+    private AbstractConditionalNode getTableCondition(final PlanTableNode table) {
+        final AbstractConditionalNode conditionalJoin = table.getConditionalJoin();
+        if (conditionalJoin == null || table.getJoinType() == JoinType.RIGHT || table.getJoinType() == JoinType.FULL) {
+            return null;
+        }
+
+        final List<SQLNode> conditions = new ArrayList<>();
+        if (conditionalJoin instanceof ANDNode) {
+            conditions.addAll(conditionalJoin.getChildren());
+        } else {
+            conditions.add(conditionalJoin);
+        }
+
+        conditions.removeIf(node -> !(node instanceof AbstractConditionalNode) || !isTableCondition(table, node));
+        if (conditions.isEmpty()) {
+            return null;
+        } else if (conditions.size() == 1) {
+            return (AbstractConditionalNode) conditions.get(0);
+        }
+
+        final ANDNode ret = new ANDNode(conditions.get(0), null);
+        conditions.stream().skip(1).forEach(ret::addChild);
+        return ret;
+    }
+
+    /**
+     * Gets if the condition uses only fields of one table.
+     *
+     * @param table the table.
+     * @param node  the condition.
+     * @return {@code true} if the condition uses only fields of the table.
+     */
+    private boolean isTableCondition(final PlanTableNode table, final SQLNode node) {
+        final Set<FieldNode> fields = node.getClauseFields();
+        if (fields.isEmpty()) {
+            return false;
+        }
+
+        for (final FieldNode field : fields) {
+            if (field instanceof FunctionNode) {
+                // Function parameters are not listed in clause fields.
+                return false;
+            } else if (!(field instanceof ValueNode || field instanceof ParameterNode)) {
+                final List<PlanTableNode> owners = this.tables.stream()
+                        .filter(t -> t.isThis(field.getTableName()) && Arrays.stream(t.getTable().getFields())
+                                .anyMatch(f -> f.getName().equalsIgnoreCase(field.getName())))
+                        .collect(Collectors.toList());
+                if (owners.size() != 1 || owners.get(0) != table) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Filters the table rows by the table conditions.
+     * <p>
+     * The conditions are evaluated by the table cursor, so only the condition columns are decoded in rejected rows.
+     *
+     * @param context         the execution context.
+     * @param conditionalJoin the table conditions or {@code null} if there is none.
+     * @param cursor          the table rows.
+     * @param columnsLoaded   the loaded columns.
+     * @return the filtered rows.
+     * @throws SQLException in case of failures.
+     */
+    private Stream<Object[]> filterTable(final SelectContext context, final AbstractConditionalNode conditionalJoin,
+                                         final RowCursor cursor, final List<Column> columnsLoaded)
+            throws SQLException {
+        if (conditionalJoin == null) {
+            return cursor.stream();
+        }
+
+        final int[] conditionColumns = getConditionColumns(conditionalJoin, columnsLoaded);
+
+        final Predicate<Object[]> cancel = context.getCancelPredicate();
+        if (context.getConnectionInfo().isVectorized()) {
+            return cursor.filterBatches(conditionColumns, (ColumnBatch batch, BitSet selected) -> {
+                try {
+                    context.checkCancelState();
+                    conditionalJoin.evaluate(context, batch, selected, columnsLoaded);
+                } catch (final SQLException e) {
+                    throw new InternalException(e);
+                }
+            }).stream();
+        }
+
+        return cursor.filter(conditionColumns, predicateWrapper(tableRow ->
+                cancel.test(tableRow) && conditionalJoin.evaluate(context, tableRow, columnsLoaded))).stream();
+    }
+
+    /**
+     * Gets the columns used by a table condition.
+     *
+     * @param conditionalJoin the table condition.
+     * @param columnsLoaded   the loaded columns.
+     * @return the column indexes.
+     * @throws SQLException in case of failures.
+     */
+    private int[] getConditionColumns(final AbstractConditionalNode conditionalJoin, final List<Column> columnsLoaded)
+            throws SQLException {
+        conditionalJoin.setFieldIndexes(columnsLoaded, this.tables);
+        final Set<FieldNode> conditionFields = conditionalJoin.getClauseFields();
+        if (conditionFields.stream().anyMatch(FunctionNode.class::isInstance)) {
+            // Function parameters are not listed in clause fields.
+            return IntStream.range(0, columnsLoaded.size()).toArray();
+        }
+
+        return conditionFields.stream()
+                .mapToInt(FieldNode::getIndex)
+                .filter(index -> index >= 0 && index < columnsLoaded.size())
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Gets the LOB columns that can be loaded only when read from the result.
+     * <p>
+     * Only columns returned as is are deferred: the statement can't compare, group or sort the values.
+     *
+     * @param context       the execution context.
+     * @param table         the table to read.
+     * @param columnsLoaded the loaded columns.
+     * @return the column indexes.
+     * @throws SQLException in case of failures.
+     */
+    @SuppressWarnings("java:S1067")
+    private int[] getDeferredColumns(final SelectContext context, final PlanTableNode table,
+                                     final List<Column> columnsLoaded) throws SQLException {
+        if (!context.isDeferLobs() || distinct || condition != null || groupBy.isGroupBy()
+                || !orderBy.getColumns().isEmpty() || columns.stream().anyMatch(c -> c.getFunction() != null)) {
+            return new int[0];
+        }
+
+        final Set<Integer> used = new HashSet<>();
+        if (table.getConditionalJoin() != null) {
+            Arrays.stream(getConditionColumns(table.getConditionalJoin(), columnsLoaded)).forEach(used::add);
+        }
+
+        return IntStream.range(0, columnsLoaded.size())
+                .filter(index -> !used.contains(index))
+                .filter(index -> columnsLoaded.get(index).getField() != null
+                        && ParadoxFieldFactory.getLobParser(columnsLoaded.get(index).getField()) != null)
+                .toArray();
+    }
+
+    /**
+     * Process the loaded rows into the final result.
+     *
+     * @param context       the execution context.
+     * @param rawData       the loaded rows.
+     * @param columnsLoaded the loaded columns.
+     * @return the result rows.
+     * @throws SQLException in case of failures.
+     */
+    private List<Object[]> process(final SelectContext context, final Stream<Object[]> rawData,
+                                   final List<Column> columnsLoaded) throws SQLException {
         if (canDoFastCount()) {
+            final long count = rawData.count();
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+
             final Object[] row = new Object[1];
-            row[0] = rawData.size();
+            row[0] = (int) count;
             return Collections.singletonList(row);
         }
 
@@ -491,11 +715,10 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
         return finalRow;
     }
 
-    private List<Object[]> filter(final SelectContext context, final Collection<Object[]> rowValues,
+    private List<Object[]> filter(final SelectContext context, final Stream<Object[]> rowValues,
                                   final int[] mapColumns, final List<Column> columnsLoaded) {
 
-        Stream<Object[]> stream = rowValues.stream()
-                .filter(context.getCancelPredicate());
+        Stream<Object[]> stream = rowValues.filter(context.getCancelPredicate());
 
         if (condition != null) {
             stream = stream.filter(predicateWrapper((Object[] tableRow) ->
@@ -511,7 +734,15 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
         stream = this.groupBy.processStream(context, stream, this.columns);
 
         // Order by.
-        stream = this.orderBy.processStream(stream, this.columns, context.getConnectionInfo());
+        boolean externalSort = false;
+        if (context.getMaxRows() != 0 && !distinct) {
+            // Only the rows returned need to be sorted.
+            stream = this.orderBy.processStream(stream, this.columns, context.getConnectionInfo(),
+                    context.getMaxRows());
+        } else {
+            stream = this.orderBy.processStream(stream, this.columns, context.getConnectionInfo());
+            externalSort = !this.orderBy.getColumns().isEmpty() && context.getConnectionInfo().getSortMemory() > 0;
+        }
 
         // Distinct
         if (distinct) {
@@ -522,7 +753,15 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
             stream = stream.limit(context.getMaxRows());
         }
 
-        return stream.collect(Collectors.toList());
+        // Removes the order by temporary files.
+        try (final Stream<Object[]> result = stream) {
+            if (externalSort && context.isSpillRows()) {
+                // The sorted rows over the memory budget are read from a file by the result set.
+                return RowFile.collect(result, context.getConnectionInfo().getSortMemory());
+            }
+
+            return result.collect(Collectors.toList());
+        }
     }
 
     /**
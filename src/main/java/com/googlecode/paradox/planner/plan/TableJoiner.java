@@ -20,8 +20,10 @@ import java.util.*;
 
 /**
  * Table joiner.
+ * <p>
+ * The joins with equality conditions between the tables use a hash join, the other joins use nested loops.
  *
- * @version 1.2
+ * @version 1.4
  * @since 1.6.0
  */
 final class TableJoiner {
@@ -36,6 +38,16 @@ final class TableJoiner {
     public static Collection<Object[]> processJoinByType(final Context context, final List<Column> columnsLoaded,
                                                    final Collection<Object[]> rawData, final PlanTableNode table,
                                                    final Collection<Object[]> tableData) throws SQLException {
+        if (table.getConditionalJoin() != null && !columnsLoaded.isEmpty()) {
+            final HashJoin hashJoin = HashJoin.of(table, columnsLoaded.size() - table.getColumns().size());
+            if (hashJoin != null) {
+                final List<Object[]> values = hashJoin.join(context, columnsLoaded, rawData, table, tableData);
+                if (values != null) {
+                    return values;
+                }
+            }
+        }
+
         Collection<Object[]> localValues;
         switch (table.getJoinType()) {
             case RIGHT:
@@ -130,7 +142,7 @@ final class TableJoiner {
         final Object[] column = new Object[columnsLoaded.size()];
         final List<Object[]> localValues = new ArrayList<>(0x7F);
 
-        Set<Integer> inLeft = new HashSet<>();
+        final BitSet inLeft = new BitSet(tableData.size());
         for (final Object[] cols : rawData) {
             System.arraycopy(cols, 0, column, 0, cols.length);
 
@@ -147,7 +159,7 @@ final class TableJoiner {
                     continue;
                 }
 
-                inLeft.add(i);
+                inLeft.set(i);
                 changed = true;
                 localValues.add(column.clone());
             }
@@ -164,7 +176,7 @@ final class TableJoiner {
         for (final Object[] newCols : tableData) {
             context.checkCancelState();
 
-            if (!inLeft.contains(i)) {
+            if (!inLeft.get(i)) {
                 System.arraycopy(newCols, 0, column, column.length - newCols.length, newCols.length);
                 localValues.add(column.clone());
             }
@@ -0,0 +1,396 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.sorting;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorts the rows within a memory budget.
+ * <p>
+ * When the rows received exceed the memory budget, they are sorted and written to a temporary file (a run). The
+ * runs are merged in sort order when the rows are read, up to {@link #MERGE_FACTOR} files at a time. Rows with the
+ * same sort values keep their arrival order, like in a stable sort.
+ * <p>
+ * The temporary files are removed when the returned stream is closed.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public final class ExternalSort implements Consumer<Object[]>, Closeable {
+
+    /**
+     * Maximum number of runs merged at once.
+     */
+    private static final int MERGE_FACTOR = 64;
+
+    /**
+     * I/O buffer size of each run.
+     */
+    private static final int BUFFER_SIZE = 0x4000;
+
+    /**
+     * The row comparator.
+     */
+    private final Comparator<Object[]> comparator;
+
+    /**
+     * The memory budget in bytes.
+     */
+    private final long memory;
+
+    /**
+     * The rows in memory.
+     */
+    private final List<Object[]> buffer = new ArrayList<>();
+
+    /**
+     * The estimated memory used by the rows in memory.
+     */
+    private long used;
+
+    /**
+     * The runs written, in arrival order.
+     */
+    private final List<File> runs = new ArrayList<>();
+
+    /**
+     * The values kept in memory, referenced by the runs.
+     */
+    private final List<Object> references = new ArrayList<>();
+
+    /**
+     * The runs being read.
+     */
+    private final List<Closeable> readers = new ArrayList<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param comparator the row comparator.
+     * @param memory     the memory budget in bytes.
+     */
+    public ExternalSort(final Comparator<Object[]> comparator, final long memory) {
+        this.comparator = comparator;
+        this.memory = memory;
+    }
+
+    @Override
+    public void accept(final Object[] row) {
+        buffer.add(row);
+        used += RowFormat.estimate(row);
+        if (used > memory) {
+            try {
+                buffer.sort(comparator);
+                runs.add(write(buffer.iterator()));
+            } catch (final IOException e) {
+                throw new InternalException(new ParadoxDataException(DataError.ERROR_SORTING_DATA, e));
+            }
+
+            buffer.clear();
+            used = 0;
+        }
+    }
+
+    /**
+     * Gets the rows received in sort order.
+     *
+     * @return the rows in sort order.
+     */
+    public Stream<Object[]> getRows() {
+        buffer.sort(comparator);
+        if (runs.isEmpty()) {
+            return buffer.stream();
+        }
+
+        final List<Iterator<Object[]>> sources = new ArrayList<>();
+        try {
+            // Merge the runs until they can be read at once.
+            while (runs.size() >= MERGE_FACTOR) {
+                merge();
+            }
+
+            for (final File run : runs) {
+                sources.add(read(run));
+            }
+        } catch (final IOException e) {
+            close();
+            throw new InternalException(new ParadoxDataException(DataError.ERROR_SORTING_DATA, e));
+        } catch (final RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        // The rows in memory arrived after all runs.
+        sources.add(buffer.iterator());
+
+        final Iterator<Object[]> iterator = new MergeIterator(sources, comparator);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Merges each {@link #MERGE_FACTOR} consecutive runs in a new run.
+     *
+     * @throws IOException in case of I/O errors.
+     */
+    private void merge() throws IOException {
+        final List<File> merged = new ArrayList<>();
+        try {
+            for (int i = 0; i < runs.size(); i += MERGE_FACTOR) {
+                final List<Iterator<Object[]>> sources = new ArrayList<>();
+                for (final File run : runs.subList(i, Math.min(i + MERGE_FACTOR, runs.size()))) {
+                    sources.add(read(run));
+                }
+
+                merged.add(write(new MergeIterator(sources, comparator)));
+                closeReaders();
+            }
+        } catch (final IOException | RuntimeException e) {
+            delete(merged);
+            throw e;
+        }
+
+        delete(runs);
+        runs.clear();
+        runs.addAll(merged);
+    }
+
+    /**
+     * Writes a run.
+     *
+     * @param rows the rows in sort order.
+     * @return the run file.
+     * @throws IOException in case of I/O errors.
+     */
+    private File write(final Iterator<Object[]> rows) throws IOException {
+        final File file = File.createTempFile("paradox", ".sort");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file), BUFFER_SIZE))) {
+            while (rows.hasNext()) {
+                out.writeBoolean(true);
+                RowFormat.write(out, rows.next(), references);
+            }
+
+            out.writeBoolean(false);
+        } catch (final IOException | InternalException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
+        }
+
+        return file;
+    }
+
+    /**
+     * Opens a run to read.
+     *
+     * @param file the run file.
+     * @return the run rows.
+     * @throws IOException in case of I/O errors.
+     */
+    private Iterator<Object[]> read(final File file) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file),
+                BUFFER_SIZE));
+        readers.add(in);
+        return new Iterator<Object[]>() {
+
+            /**
+             * The next row or {@code null} if there are no more rows.
+             */
+            private Object[] row = readRow(in);
+
+            @Override
+            public boolean hasNext() {
+                return row != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (row == null) {
+                    throw new NoSuchElementException();
+                }
+
+                final Object[] current = row;
+                row = readRow(in);
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Reads the next row of a run.
+     *
+     * @param in the run input.
+     * @return the row read or {@code null} if there are no more rows.
+     */
+    private Object[] readRow(final DataInputStream in) {
+        try {
+            if (in.readBoolean()) {
+                return RowFormat.read(in, references);
+            }
+
+            return null;
+        } catch (final IOException e) {
+            throw new InternalException(new ParadoxDataException(DataError.ERROR_SORTING_DATA, e));
+        }
+    }
+
+    /**
+     * Closes the runs being read.
+     */
+    private void closeReaders() {
+        for (final Closeable reader : readers) {
+            try {
+                reader.close();
+            } catch (@SuppressWarnings("java:S1166") final IOException e) {
+                // Nothing to do, the file is removed next.
+            }
+        }
+
+        readers.clear();
+    }
+
+    /**
+     * Removes the run files.
+     *
+     * @param files the files to remove.
+     */
+    private static void delete(final List<File> files) {
+        for (final File file : files) {
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (@SuppressWarnings("java:S1166") final IOException e) {
+                // Nothing to do, the file is in the temporary directory.
+            }
+        }
+    }
+
+    /**
+     * Closes the runs and removes the temporary files.
+     */
+    @Override
+    public void close() {
+        closeReaders();
+        delete(runs);
+        runs.clear();
+        references.clear();
+        buffer.clear();
+    }
+
+    /**
+     * Merges sorted row sources.
+     * <p>
+     * The rows with the same sort values are read from the first source first.
+     */
+    private static final class MergeIterator implements Iterator<Object[]> {
+
+        /**
+         * The sources with rows to read, by the current row.
+         */
+        private final PriorityQueue<Source> queue;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param sources    the sources in arrival order.
+         * @param comparator the row comparator.
+         */
+        MergeIterator(final List<Iterator<Object[]>> sources, final Comparator<Object[]> comparator) {
+            this.queue = new PriorityQueue<>(sources.size(),
+                    Comparator.comparing((Source source) -> source.row, comparator)
+                            .thenComparingInt(source -> source.index));
+            for (int i = 0; i < sources.size(); i++) {
+                final Iterator<Object[]> rows = sources.get(i);
+                if (rows.hasNext()) {
+                    queue.add(new Source(rows, i, rows.next()));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public Object[] next() {
+            final Source source = queue.poll();
+            if (source == null) {
+                throw new NoSuchElementException();
+            }
+
+            final Object[] row = source.row;
+            if (source.rows.hasNext()) {
+                source.row = source.rows.next();
+                queue.add(source);
+            }
+
+            return row;
+        }
+    }
+
+    /**
+     * A sorted row source with its current row.
+     */
+    private static final class Source {
+
+        /**
+         * The remaining rows.
+         */
+        private final Iterator<Object[]> rows;
+
+        /**
+         * The source index in arrival order.
+         */
+        private final int index;
+
+        /**
+         * The current row.
+         */
+        private Object[] row;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param rows  the remaining rows.
+         * @param index the source index in arrival order.
+         * @param row   the current row.
+         */
+        Source(final Iterator<Object[]> rows, final int index, final Object[] row) {
+            this.rows = rows;
+            this.index = index;
+            this.row = row;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.sorting;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A read only list of rows kept in a temporary file.
+ * <p>
+ * Only the row positions are kept in memory, so the sorted results over the memory budget can be read by the result
+ * set in any order. The temporary file is removed when the list is closed.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public final class RowFile extends AbstractList<Object[]> implements Closeable {
+
+    /**
+     * I/O buffer size.
+     */
+    private static final int BUFFER_SIZE = 0x4000;
+
+    /**
+     * The temporary file.
+     */
+    private final File file;
+
+    /**
+     * The values kept in memory, referenced by the rows.
+     */
+    private final List<Object> references = new ArrayList<>();
+
+    /**
+     * The row being written.
+     */
+    private final ByteArrayOutputStream row = new ByteArrayOutputStream();
+
+    /**
+     * The row positions in the file.
+     */
+    private long[] positions = new long[0x100];
+
+    /**
+     * The row count.
+     */
+    private int size;
+
+    /**
+     * The file length.
+     */
+    private long length;
+
+    /**
+     * The file output or {@code null} if the rows are written.
+     */
+    private OutputStream out;
+
+    /**
+     * The file input or {@code null} if not read yet.
+     */
+    private RandomAccessFile in;
+
+    /**
+     * The bytes last read from the file.
+     */
+    private byte[] window = new byte[BUFFER_SIZE];
+
+    /**
+     * The file position of the bytes last read.
+     */
+    private long windowPosition;
+
+    /**
+     * The amount of bytes last read.
+     */
+    private int windowLength;
+
+    /**
+     * Creates a new instance.
+     *
+     * @throws IOException in case of I/O errors.
+     */
+    private RowFile() throws IOException {
+        this.file = File.createTempFile("paradox", ".rows");
+        try {
+            this.out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+        } catch (final IOException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
+        }
+    }
+
+    /**
+     * Collects the rows, moving them to a temporary file when they exceed the memory budget.
+     * <p>
+     * The budget is compared with an estimate of the row sizes (see {@link RowFormat#estimate(Object[])}), so the
+     * memory used is approximate. The stream is consumed but not closed.
+     *
+     * @param rows   the rows to collect.
+     * @param memory the memory budget in bytes.
+     * @return the rows in memory or a {@link RowFile} to be closed after use.
+     */
+    public static List<Object[]> collect(final Stream<Object[]> rows, final long memory) {
+        final List<Object[]> buffer = new ArrayList<>();
+        RowFile rowFile = null;
+        long used = 0;
+        try {
+            final Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                final Object[] value = iterator.next();
+                if (rowFile != null) {
+                    rowFile.write(value);
+                } else {
+                    buffer.add(value);
+                    used += RowFormat.estimate(value);
+                    if (used > memory) {
+                        rowFile = new RowFile();
+                        for (final Object[] current : buffer) {
+                            rowFile.write(current);
+                        }
+
+                        buffer.clear();
+                    }
+                }
+            }
+
+            if (rowFile == null) {
+                return buffer;
+            }
+
+            rowFile.finish();
+            return rowFile;
+        } catch (final IOException e) {
+            close(rowFile);
+            throw new InternalException(new ParadoxDataException(DataError.ERROR_SORTING_DATA, e));
+        } catch (final RuntimeException e) {
+            close(rowFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes a row file, if any.
+     *
+     * @param rowFile the row file to close.
+     */
+    private static void close(final RowFile rowFile) {
+        if (rowFile != null) {
+            rowFile.close();
+        }
+    }
+
+    /**
+     * Writes a row at the end of the file.
+     *
+     * @param value the row to write.
+     * @throws IOException in case of I/O errors.
+     */
+    private void write(final Object[] value) throws IOException {
+        row.reset();
+        RowFormat.write(new DataOutputStream(row), value, references);
+
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+
+        positions[size] = length;
+        size++;
+        row.writeTo(out);
+        length += row.size();
+    }
+
+    /**
+     * Ends the rows writing.
+     *
+     * @throws IOException in case of I/O errors.
+     */
+    private void finish() throws IOException {
+        out.close();
+        out = null;
+        in = new RandomAccessFile(file, "r");
+    }
+
+    @Override
+    public Object[] get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final long position = positions[index];
+        final int rowLength;
+        if (index + 1 < size) {
+            rowLength = (int) (positions[index + 1] - position);
+        } else {
+            rowLength = (int) (length - position);
+        }
+
+        try {
+            if (position < windowPosition || position + rowLength > windowPosition + windowLength) {
+                // Read ahead, for the rows read in sequence.
+                if (window.length < rowLength) {
+                    window = new byte[rowLength];
+                }
+
+                in.seek(position);
+                windowPosition = position;
+                windowLength = (int) Math.min(window.length, length - position);
+                in.readFully(window, 0, windowLength);
+            }
+
+            return RowFormat.read(new DataInputStream(new ByteArrayInputStream(window,
+                    (int) (position - windowPosition), rowLength)), references);
+        } catch (final IOException e) {
+            throw new InternalException(new ParadoxDataException(DataError.ERROR_SORTING_DATA, e));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes the temporary file.
+     */
+    @Override
+    public void close() {
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+
+            if (in != null) {
+                in.close();
+                in = null;
+            }
+        } catch (@SuppressWarnings("java:S1166") final IOException e) {
+            // Nothing to do, the file is removed next.
+        }
+
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (@SuppressWarnings("java:S1166") final IOException e) {
+            // Nothing to do, the file is in the temporary directory.
+        }
+
+        references.clear();
+        size = 0;
+    }
+}
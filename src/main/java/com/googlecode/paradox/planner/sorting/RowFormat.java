@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.sorting;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Binary row format of the sort files.
+ * <p>
+ * Each value is written as a type tag followed by its data. Values of other classes (like the lob references) are
+ * kept in memory and only their index is written.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+final class RowFormat {
+
+    /**
+     * Null value tag.
+     */
+    private static final int NULL = 0;
+
+    /**
+     * String value tag.
+     */
+    private static final int STRING = 1;
+
+    /**
+     * Integer value tag.
+     */
+    private static final int INTEGER = 2;
+
+    /**
+     * Long value tag.
+     */
+    private static final int LONG = 3;
+
+    /**
+     * Double value tag.
+     */
+    private static final int DOUBLE = 4;
+
+    /**
+     * Big decimal value tag.
+     */
+    private static final int DECIMAL = 5;
+
+    /**
+     * True value tag.
+     */
+    private static final int TRUE = 6;
+
+    /**
+     * False value tag.
+     */
+    private static final int FALSE = 7;
+
+    /**
+     * Date value tag.
+     */
+    private static final int DATE = 8;
+
+    /**
+     * Time value tag.
+     */
+    private static final int TIME = 9;
+
+    /**
+     * Timestamp value tag.
+     */
+    private static final int TIMESTAMP = 10;
+
+    /**
+     * Bytes value tag.
+     */
+    private static final int BYTES = 11;
+
+    /**
+     * Tag of the values kept in memory.
+     */
+    private static final int REFERENCE = 12;
+
+    /**
+     * Estimated memory of an object header.
+     */
+    private static final int OBJECT_SIZE = 16;
+
+    /**
+     * Estimated memory of an object reference.
+     */
+    private static final int REFERENCE_SIZE = 8;
+
+    /**
+     * Maximum digits of the decimal values without a big integer.
+     */
+    private static final int MAX_COMPACT_DIGITS = 18;
+
+    /**
+     * Utility class.
+     */
+    private RowFormat() {
+        // Utility class.
+    }
+
+    /**
+     * Writes a row.
+     *
+     * @param out        the output to write.
+     * @param row        the row to write.
+     * @param references the values kept in memory.
+     * @throws IOException in case of I/O errors.
+     */
+    @SuppressWarnings("java:S1541")
+    static void write(final DataOutput out, final Object[] row, final List<Object> references) throws IOException {
+        out.writeInt(row.length);
+        for (final Object value : row) {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof String) {
+                final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(STRING);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else if (value.getClass() == Integer.class) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value.getClass() == Long.class) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value.getClass() == Double.class) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value.getClass() == BigDecimal.class) {
+                final BigDecimal decimal = (BigDecimal) value;
+                final byte[] bytes = decimal.unscaledValue().toByteArray();
+                out.writeByte(DECIMAL);
+                out.writeInt(decimal.scale());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value.getClass() == Date.class) {
+                out.writeByte(DATE);
+                out.writeLong(((Date) value).getTime());
+            } else if (value.getClass() == Time.class) {
+                out.writeByte(TIME);
+                out.writeLong(((Time) value).getTime());
+            } else if (value.getClass() == Timestamp.class) {
+                out.writeByte(TIMESTAMP);
+                out.writeLong(((Timestamp) value).getTime());
+                out.writeInt(((Timestamp) value).getNanos());
+            } else if (value instanceof byte[]) {
+                out.writeByte(BYTES);
+                out.writeInt(((byte[]) value).length);
+                out.write((byte[]) value);
+            } else {
+                out.writeByte(REFERENCE);
+                out.writeInt(references.size());
+                references.add(value);
+            }
+        }
+    }
+
+    /**
+     * Reads a row.
+     *
+     * @param in         the input to read.
+     * @param references the values kept in memory.
+     * @return the row read.
+     * @throws IOException in case of I/O errors.
+     */
+    @SuppressWarnings({"java:S1541", "java:S1479"})
+    static Object[] read(final DataInput in, final List<Object> references) throws IOException {
+        final Object[] row = new Object[in.readInt()];
+        for (int i = 0; i < row.length; i++) {
+            final int tag = in.readByte();
+            switch (tag) {
+                case NULL:
+                    break;
+                case STRING:
+                    row[i] = new String(readBytes(in), StandardCharsets.UTF_8);
+                    break;
+                case INTEGER:
+                    row[i] = in.readInt();
+                    break;
+                case LONG:
+                    row[i] = in.readLong();
+                    break;
+                case DOUBLE:
+                    row[i] = in.readDouble();
+                    break;
+                case DECIMAL:
+                    final int scale = in.readInt();
+                    row[i] = new BigDecimal(new BigInteger(readBytes(in)), scale);
+                    break;
+                case TRUE:
+                    row[i] = Boolean.TRUE;
+                    break;
+                case FALSE:
+                    row[i] = Boolean.FALSE;
+                    break;
+                case DATE:
+                    row[i] = new Date(in.readLong());
+                    break;
+                case TIME:
+                    row[i] = new Time(in.readLong());
+                    break;
+                case TIMESTAMP:
+                    final Timestamp timestamp = new Timestamp(in.readLong());
+                    timestamp.setNanos(in.readInt());
+                    row[i] = timestamp;
+                    break;
+                case BYTES:
+                    row[i] = readBytes(in);
+                    break;
+                case REFERENCE:
+                    row[i] = references.get(in.readInt());
+                    break;
+                default:
+                    throw new IOException("Invalid value tag: " + tag);
+            }
+        }
+
+        return row;
+    }
+
+    /**
+     * Reads a byte array with its length.
+     *
+     * @param in the input to read.
+     * @return the bytes read.
+     * @throws IOException in case of I/O errors.
+     */
+    private static byte[] readBytes(final DataInput in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Estimates the memory used by a row.
+     * <p>
+     * The sizes follow the usual object layouts of a 64-bit virtual machine, so the estimate and the memory budgets
+     * compared with it are approximate.
+     *
+     * @param row the row.
+     * @return the estimated row size in bytes.
+     */
+    static long estimate(final Object[] row) {
+        long size = OBJECT_SIZE + (long) REFERENCE_SIZE * row.length;
+        for (final Object value : row) {
+            if (value instanceof String) {
+                // The string object and its characters.
+                size += OBJECT_SIZE * 3L + ((String) value).length() * 2L;
+            } else if (value instanceof byte[]) {
+                size += OBJECT_SIZE + ((byte[]) value).length;
+            } else if (value instanceof BigDecimal) {
+                size += estimate((BigDecimal) value);
+            } else if (value instanceof Timestamp) {
+                // The date fields and the nanoseconds.
+                size += OBJECT_SIZE * 2L;
+            } else if (value instanceof java.util.Date) {
+                size += OBJECT_SIZE + (long) Long.BYTES;
+            } else if (value instanceof Number) {
+                // Boxed primitive values.
+                size += OBJECT_SIZE;
+            } else if (value != null && !(value instanceof Boolean)) {
+                size += OBJECT_SIZE * 2L;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Estimates the memory used by a decimal value.
+     *
+     * @param value the decimal value.
+     * @return the estimated value size in bytes.
+     */
+    private static long estimate(final BigDecimal value) {
+        // The decimal object, with the unscaled value inline up to 18 digits.
+        long size = OBJECT_SIZE * 3L;
+        final int precision = value.precision();
+        if (precision > MAX_COMPACT_DIGITS) {
+            // The unscaled big integer and its magnitude, about 3.3 bits per digit.
+            size += OBJECT_SIZE * 3L + precision / 2;
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the first rows in sort order using a bounded heap.
+ * <p>
+ * Only the rows in the result are kept in memory. Rows with the same sort values keep their arrival order, like in
+ * a stable sort.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public final class TopRows implements Consumer<Object[]> {
+
+    /**
+     * The maximum number of rows to keep.
+     */
+    private final int limit;
+
+    /**
+     * The row comparator.
+     */
+    private final Comparator<Object[]> comparator;
+
+    /**
+     * The row comparator, by arrival order in ties.
+     */
+    private final Comparator<Entry> order;
+
+    /**
+     * The rows kept, with the last row in sort order in the head.
+     */
+    private final PriorityQueue<Entry> heap;
+
+    /**
+     * The number of rows received.
+     */
+    private long count;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param comparator the row comparator.
+     * @param limit      the maximum number of rows to keep.
+     */
+    public TopRows(final Comparator<Object[]> comparator, final int limit) {
+        this.comparator = comparator;
+        this.limit = limit;
+
+        this.order = Comparator.comparing((Entry entry) -> entry.row, comparator)
+                .thenComparingLong(entry -> entry.order);
+        this.heap = new PriorityQueue<>(Math.min(limit, 0x7F) + 1, order.reversed());
+    }
+
+    @Override
+    public void accept(final Object[] row) {
+        final long order = count++;
+        if (heap.size() < limit) {
+            heap.add(new Entry(row, order));
+        } else if (comparator.compare(row, heap.element().row) < 0) {
+            // Rows with the same values arrived later, so they come after the last row.
+            heap.remove();
+            heap.add(new Entry(row, order));
+        }
+    }
+
+    /**
+     * Gets the rows kept in sort order.
+     *
+     * @return the rows kept.
+     */
+    public List<Object[]> getRows() {
+        final Entry[] entries = heap.toArray(new Entry[0]);
+        Arrays.sort(entries, order);
+
+        final List<Object[]> rows = new ArrayList<>(entries.length);
+        for (final Entry entry : entries) {
+            rows.add(entry.row);
+        }
+
+        return rows;
+    }
+
+    /**
+     * A row kept with its arrival order.
+     */
+    private static final class Entry {
+
+        /**
+         * The row values.
+         */
+        private final Object[] row;
+
+        /**
+         * The row arrival order.
+         */
+        private final long order;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param row   the row values.
+         * @param order the row arrival order.
+         */
+        Entry(final Object[] row, final long order) {
+            this.row = row;
+            this.order = order;
+        }
+    }
+}
@@ -10,9 +10,12 @@
  */
 package com.googlecode.paradox.rowset;
 
+import com.googlecode.paradox.data.field.LobReference;
 import com.googlecode.paradox.exceptions.ParadoxException;
 import com.googlecode.paradox.results.Column;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
@@ -20,7 +23,7 @@ import java.util.List;
 /**
  * Data navigation facility.
  *
- * @version 1.1
+ * @version 1.3
  * @since 1.6.0
  */
 public class DataNavigation implements AutoCloseable {
@@ -57,6 +60,19 @@ public class DataNavigation implements AutoCloseable {
     }
 
     public Object getColumnValue(final int columnIndex) throws SQLException {
+        return getColumnValue(columnIndex, true);
+    }
+
+    /**
+     * Gets a column value in current row.
+     *
+     * @param columnIndex the column index.
+     * @param loadLobs    if the LOB values not loaded yet should be loaded, otherwise a {@link LobReference} may be
+     *                    returned.
+     * @return the column value.
+     * @throws SQLException in case of failures.
+     */
+    public Object getColumnValue(final int columnIndex, final boolean loadLobs) throws SQLException {
         verifyStatus();
         verifyRow();
 
@@ -74,7 +90,14 @@ public class DataNavigation implements AutoCloseable {
             throw new ParadoxException(ParadoxException.Error.INVALID_COLUMN_INDEX, columnIndex);
         }
 
-        this.lastValue = currentRow[currentIndex];
+        Object value = currentRow[currentIndex];
+        if (loadLobs && value instanceof LobReference) {
+            // Load only the LOB values used.
+            value = ((LobReference) value).load();
+            currentRow[currentIndex] = value;
+        }
+
+        this.lastValue = value;
         return this.lastValue;
     }
 
@@ -219,8 +242,19 @@ public class DataNavigation implements AutoCloseable {
         return true;
     }
 
+    /**
+     * Closes the navigation, releasing the values kept in files.
+     */
     @Override
     public void close() {
+        if (this.values instanceof Closeable) {
+            try {
+                ((Closeable) this.values).close();
+            } catch (@SuppressWarnings("java:S1166") final IOException e) {
+                // Nothing to do, the values are not used anymore.
+            }
+        }
+
         this.closed = true;
         this.values = null;
         this.currentRow = null;
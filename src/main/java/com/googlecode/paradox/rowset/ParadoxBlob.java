@@ -10,6 +10,8 @@
  */
 package com.googlecode.paradox.rowset;
 
+import com.googlecode.paradox.data.field.LobReference;
+import com.googlecode.paradox.exceptions.InternalException;
 import com.googlecode.paradox.exceptions.ParadoxException;
 
 import java.io.*;
@@ -19,8 +21,11 @@ import java.util.Arrays;
 
 /**
  * BLOB for paradox file (MB).
+ * <p>
+ * A BLOB created from a {@link LobReference} reads the blob file only when used and streams the value without loading
+ * it in memory.
  *
- * @version 1.3
+ * @version 1.4
  * @since 1.5.0
  */
 public final class ParadoxBlob implements Blob {
@@ -35,6 +40,11 @@ public final class ParadoxBlob implements Blob {
      */
     private byte[] value;
 
+    /**
+     * The value not loaded yet.
+     */
+    private LobReference reference;
+
     /**
      * Create a new instance.
      *
@@ -44,6 +54,30 @@ public final class ParadoxBlob implements Blob {
         this.value = value;
     }
 
+    /**
+     * Create a new instance loaded only when used.
+     *
+     * @param reference the blob value reference.
+     */
+    public ParadoxBlob(final LobReference reference) {
+        this.reference = reference;
+    }
+
+    /**
+     * Gets the blob value, loading it if needed.
+     *
+     * @return the blob value.
+     * @throws SQLException in case of failures.
+     */
+    private byte[] getValue() throws SQLException {
+        if (reference != null) {
+            value = (byte[]) reference.load();
+            reference = null;
+        }
+
+        return value;
+    }
+
     private static int areEquals(byte[] array1, int offset, byte[] array2) {
         int ret = -1;
         if (array2.length + offset <= array1.length) {
@@ -68,10 +102,11 @@ public final class ParadoxBlob implements Blob {
     @Override
     public void free() {
         this.value = EMPTY_BLOB;
+        this.reference = null;
     }
 
     @Override
-    public InputStream getBinaryStream(long pos, long length) {
+    public InputStream getBinaryStream(long pos, long length) throws SQLException {
         return new ByteArrayInputStream(getBytes(pos, (int) length));
     }
 
@@ -80,30 +115,39 @@ public final class ParadoxBlob implements Blob {
      */
     @Override
     public long length() {
+        if (reference != null) {
+            return reference.getSize();
+        }
+
         return this.value.length;
     }
 
     @Override
-    public InputStream getBinaryStream() {
+    public InputStream getBinaryStream() throws SQLException {
+        if (reference != null) {
+            return reference.openStream();
+        }
+
         return new ByteArrayInputStream(this.value);
     }
 
     @Override
-    public byte[] getBytes(long pos, int length) {
+    public byte[] getBytes(long pos, int length) throws SQLException {
         if (pos <= 0) {
             pos = 1;
         }
 
         final int endPos = (int) (pos - 1 + length);
-        return Arrays.copyOfRange(this.value, (int) pos - 1, endPos);
+        return Arrays.copyOfRange(getValue(), (int) pos - 1, endPos);
     }
 
     @Override
-    public long position(final byte[] pattern, final long start) throws ParadoxException {
+    public long position(final byte[] pattern, final long start) throws SQLException {
         if (start <= 0) {
             throw new ParadoxException(ParadoxException.Error.INVALID_POSITION_SPECIFIED);
         }
 
+        getValue();
         for (int loop = (int) start - 1; loop <= this.value.length - pattern.length; loop++) {
             int pos = areEquals(this.value, loop, pattern);
             if (pos != -1) {
@@ -120,11 +164,12 @@ public final class ParadoxBlob implements Blob {
     }
 
     @Override
-    public int setBytes(long pos, byte[] bytes) throws ParadoxException {
+    public int setBytes(long pos, byte[] bytes) throws SQLException {
         if (pos <= 0) {
             throw new ParadoxException(ParadoxException.Error.INVALID_POSITION_SPECIFIED);
         }
 
+        getValue();
         if (this.value.length < pos - 1 + bytes.length) {
             this.value = Arrays.copyOf(this.value, (int) pos - 1 + bytes.length);
         }
@@ -148,7 +193,7 @@ public final class ParadoxBlob implements Blob {
      */
     @Override
     public void truncate(final long length) throws SQLException {
-        if (length > this.value.length) {
+        if (length > getValue().length) {
             throw new ParadoxException(ParadoxException.Error.INVALID_LENGTH_SPECIFIED);
         }
         if (length == 0) {
@@ -167,12 +212,20 @@ public final class ParadoxBlob implements Blob {
             return false;
         }
         ParadoxBlob that = (ParadoxBlob) o;
-        return Arrays.equals(value, that.value);
+        try {
+            return Arrays.equals(getValue(), that.getValue());
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        try {
+            return Arrays.hashCode(getValue());
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
     }
 
     private static class BlobStream extends ByteArrayOutputStream {
@@ -185,6 +238,7 @@ public final class ParadoxBlob implements Blob {
         @Override
         public void close() throws IOException {
             parent.value = toByteArray();
+            parent.reference = null;
             super.close();
         }
     }
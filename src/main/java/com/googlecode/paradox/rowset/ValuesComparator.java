@@ -23,7 +23,7 @@ import java.util.function.IntPredicate;
 /**
  * Compare Paradox values.
  *
- * @version 1.8
+ * @version 1.10
  * @since 1.6.0
  */
 @SuppressWarnings({"java:S1142", "java:S3776", "java:S1541"})
@@ -50,6 +50,51 @@ public final class ValuesComparator {
         return condition.test(compare(o1, o2, connectionInfo));
     }
 
+    /**
+     * Check for double values equality.
+     *
+     * @param n1 the first value.
+     * @param n2 the second value.
+     * @return {@code true} if the values are equals.
+     */
+    public static boolean equals(final double n1, final double n2) {
+        return Math.abs(n1 - n2) < EPSILON;
+    }
+
+    /**
+     * Gets a key to hash a value, where values of the same class that are equal by
+     * {@link #equals(Object, Object, ConnectionInfo)} have equal keys.
+     * <p>
+     * Values of different classes may be converted before the comparison, so the keys are only consistent between
+     * values of the same class.
+     *
+     * @param value the value.
+     * @return the value key or {@code null} if the value can't be hashed.
+     */
+    public static Object getHashKey(final Object value) {
+        if (value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof java.util.Date) {
+            return value;
+        } else if (value instanceof BigDecimal) {
+            final BigDecimal decimal = (BigDecimal) value;
+            if (decimal.signum() == 0) {
+                return BigDecimal.ZERO;
+            }
+
+            return decimal.stripTrailingZeros();
+        } else if (value instanceof Double) {
+            final double number = (Double) value;
+            if (number == 0) {
+                return 0D;
+            } else if (Math.abs(number) >= Double.MIN_NORMAL && !Double.isInfinite(number)) {
+                // Only subnormal values are compared with tolerance.
+                return value;
+            }
+        }
+
+        return null;
+    }
+
     @SuppressWarnings("java:S138")
     public static boolean equals(final Object o1, final Object o2, final ConnectionInfo connectionInfo) {
         if (o1 == null || o2 == null) {
@@ -79,7 +124,7 @@ public final class ValuesComparator {
             try {
                 final double n1 = ValuesConverter.getDouble(o1, connectionInfo);
                 final double n2 = ValuesConverter.getDouble(o2, connectionInfo);
-                return Math.abs(n1 - n2) < EPSILON;
+                return equals(n1, n2);
             } catch (final NumberFormatException e) {
                 connectionInfo.addWarning(e);
             }
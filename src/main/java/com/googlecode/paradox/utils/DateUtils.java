@@ -15,13 +15,15 @@ import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 
 import java.sql.Date;
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.TimeZone;
 
 /**
  * Utility class for date formats.
  *
- * @version 1.2
+ * @version 1.4
  * @since 1.0
  */
 public final class DateUtils {
@@ -46,6 +48,26 @@ public final class DateUtils {
      */
     private static final int SDN_OFFSET = 32_045;
 
+    /**
+     * The SDN of January 1, 1 A.D.
+     */
+    private static final long SDN_FIRST_YEAR = 1_721_426;
+
+    /**
+     * The SDN of January 1, 1970.
+     */
+    private static final long SDN_EPOCH = 2_440_588;
+
+    /**
+     * Amount of days in cache (must be a power of two).
+     */
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * The date cache for the current default time zone.
+     */
+    private static volatile DateCache cache;
+
     /**
      * Utility class.
      */
@@ -95,11 +117,74 @@ public final class DateUtils {
      * @return the Java {@link Date}.
      */
     public static Date sdnToGregorian(final long sdn) {
+        return sdnToGregorian(sdn, getCache());
+    }
 
+    /**
+     * Convert the Paradox date to Gregorian format using an already resolved date cache.
+     *
+     * @param sdn     the Paradox date to convert.
+     * @param current the date cache of the time zone to use.
+     * @return the Java {@link Date}.
+     */
+    public static Date sdnToGregorian(final long sdn, final DateCache current) {
         if (sdn <= 0) {
             return null;
+        } else if (sdn < SDN_FIRST_YEAR) {
+            return sdnToCalendar(sdn);
+        }
+
+        final int index = (int) sdn & (CACHE_SIZE - 1);
+        DateEntry entry = current.dates[index];
+        if (entry == null || entry.sdn != sdn) {
+            // Same instant of the calendar based conversion: local midnight in the cache time zone.
+            final LocalDate date = LocalDate.ofEpochDay(sdn - SDN_EPOCH);
+            final Calendar calendar = new GregorianCalendar(current.zone);
+            calendar.clear();
+            calendar.set(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth());
+            entry = new DateEntry(sdn, calendar.getTimeInMillis());
+            current.dates[index] = entry;
         }
 
+        return new Date(entry.time);
+    }
+
+    /**
+     * Gets the origin of Paradox time values (December 31, 1 B.C. in the default time zone).
+     *
+     * @return the time origin in milliseconds.
+     */
+    public static long getTimeOrigin() {
+        return getCache().timeOrigin;
+    }
+
+    /**
+     * Gets the date cache for the current default time zone.
+     * <p>
+     * Resolving the default time zone clones it, so readers of many values should get the cache once and use it for
+     * all of them.
+     *
+     * @return the date cache.
+     */
+    public static DateCache getCache() {
+        final TimeZone zone = TimeZone.getDefault();
+
+        DateCache current = cache;
+        if (current == null || !current.zone.getID().equals(zone.getID())) {
+            current = new DateCache(zone);
+            cache = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * Convert the Paradox date to Gregorian format using the calendar, for dates before 1 A.D.
+     *
+     * @param sdn the Paradox date to convert.
+     * @return the Java {@link Date}.
+     */
+    private static Date sdnToCalendar(final long sdn) {
         long temp = ((sdn + DateUtils.SDN_OFFSET) * 4) - 1;
 
         /* Calculate the century (year/100). */
@@ -194,4 +279,75 @@ public final class DateUtils {
         }
         return year;
     }
+
+    /**
+     * A converted date.
+     */
+    private static final class DateEntry {
+
+        /**
+         * The Paradox date.
+         */
+        private final long sdn;
+
+        /**
+         * The date in milliseconds.
+         */
+        private final long time;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param sdn  the Paradox date.
+         * @param time the date in milliseconds.
+         */
+        DateEntry(final long sdn, final long time) {
+            this.sdn = sdn;
+            this.time = time;
+        }
+    }
+
+    /**
+     * The converted dates of a time zone.
+     */
+    public static final class DateCache {
+
+        /**
+         * The time zone.
+         */
+        private final TimeZone zone;
+
+        /**
+         * The Paradox time origin.
+         */
+        private final long timeOrigin;
+
+        /**
+         * The converted dates, by SDN.
+         */
+        private final DateEntry[] dates = new DateEntry[CACHE_SIZE];
+
+        /**
+         * Creates a new instance.
+         *
+         * @param zone the time zone.
+         */
+        private DateCache(final TimeZone zone) {
+            this.zone = zone;
+
+            final Calendar calendar = new GregorianCalendar(zone);
+            calendar.clear();
+            calendar.set(1, Calendar.JANUARY, 0);
+            this.timeOrigin = calendar.getTimeInMillis();
+        }
+
+        /**
+         * Gets the origin of Paradox time values in this time zone.
+         *
+         * @return the time origin in milliseconds.
+         */
+        public long getTimeOrigin() {
+            return timeOrigin;
+        }
+    }
 }
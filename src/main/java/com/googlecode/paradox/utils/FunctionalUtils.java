@@ -15,7 +15,6 @@ import com.googlecode.paradox.exceptions.InternalException;
 import com.googlecode.paradox.function.aggregate.IGroupingContext;
 import com.googlecode.paradox.planner.context.SelectContext;
 import com.googlecode.paradox.results.Column;
-import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -25,7 +24,7 @@ import java.util.function.Predicate;
 /**
  * Utility class to use with functional programming, mostly in Java Stream API.
  *
- * @version 1.1
+ * @version 1.2
  * @since 1.6.0
  */
 public final class FunctionalUtils {
@@ -98,38 +97,6 @@ public final class FunctionalUtils {
         };
     }
 
-    /**
-     * Predicate to filter values for group by expressions.
-     *
-     * @param indexes        fields with grouping functions.
-     * @param columns        the grouping columns.
-     * @param connectionInfo the connection information.
-     * @return the predicate to grouping fields.
-     */
-    @SuppressWarnings({"unchecked", "java:S5612", "rawtypes"})
-    public static Predicate<Object[]> groupingByKeys(final int[] indexes, final int[] columns,
-                                                     final ConnectionInfo connectionInfo) {
-        final List<Object[]> seen = new ArrayList<>();
-        return (Object[] value) -> {
-            final Object[] current = seen.stream()
-                    .filter(o -> equalsAggregate(o, value, columns, connectionInfo))
-                    .findAny().orElse(null);
-
-            if (current == null) {
-                // Just add, no grouping.
-                seen.add(value);
-                return true;
-            } else {
-                // Do grouping.
-                Arrays.stream(indexes).forEach((int index) ->
-                        ((IGroupingContext<?>) current[index]).process((IGroupingContext) value[index],
-                                connectionInfo));
-            }
-
-            return false;
-        };
-    }
-
     public static FunctionWithExceptions<Object[], Object[], SQLException> removeGrouping(
             final SelectContext context, final int[] indexes, final List<Column> columnsLoaded) {
         return (Object[] value) -> {
@@ -155,32 +122,6 @@ public final class FunctionalUtils {
         }
     }
 
-    /**
-     * Compute an equals in array ignores grouping values.
-     *
-     * @param o1             the first array to compare.
-     * @param o2             the second array to compare.
-     * @param columns        the columns to compare.
-     * @param connectionInfo the connection information.
-     * @return <code>true</code> if the two arrays are equals.
-     */
-    private static boolean equalsAggregate(final Object[] o1, final Object[] o2, final int[] columns,
-                                           final ConnectionInfo connectionInfo) {
-        for (int i : columns) {
-            // NULL are equals only in aggregation.
-            if (o1[i] == o2[i]) {
-                return true;
-            }
-
-            final boolean ret = ValuesComparator.equals(o1[i], o2[i], connectionInfo);
-            if (!ret) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     /**
      * Predicate to simulate the distinct on Object array.
      *
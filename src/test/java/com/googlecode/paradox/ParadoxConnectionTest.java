@@ -10,6 +10,7 @@
  */
 package com.googlecode.paradox;
 
+import com.googlecode.paradox.data.ScanMode;
 import com.googlecode.paradox.exceptions.ParadoxConnectionException;
 import com.googlecode.paradox.exceptions.ParadoxNotSupportedException;
 import org.junit.Assert;
@@ -200,6 +201,22 @@ public class ParadoxConnectionTest {
         }
     }
 
+    /**
+     * Test for scan mode changing.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testScanModeChanging() throws SQLException {
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.SCAN_MODE_KEY, "mmap");
+
+        try (final Connection conn = DriverManager.getConnection(CONNECTION_STRING, info)) {
+            Assert.assertEquals("Invalid scan mode", ScanMode.MMAP,
+                    ((ParadoxConnection) conn).getConnectionInfo().getScanMode());
+        }
+    }
+
     /**
      * Test for create array of.
      *
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.Table;
+import org.junit.*;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Unit test for {@link BlockCache}.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public class BlockCacheTest {
+
+    /**
+     * Connection string used in tests.
+     */
+    public static final String CONNECTION_STRING = "jdbc:paradox:target/test-classes/db";
+
+    /**
+     * Register the driver.
+     */
+    @BeforeClass
+    public static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Disable the shared cache.
+     */
+    @After
+    public void disableCache() {
+        BlockCache.getInstance().setMaxSize(0);
+        BlockCache.getInstance().clear();
+    }
+
+    /**
+     * Opens a connection using the block cache.
+     *
+     * @param size the cache size.
+     * @return the connection.
+     * @throws SQLException in case of failures.
+     */
+    private static ParadoxConnection connect(final long size) throws SQLException {
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.BLOCK_CACHE_SIZE_KEY, Long.toString(size));
+        return (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING, info);
+    }
+
+    /**
+     * Test for cache hits.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testHits() throws SQLException {
+        try (final ParadoxConnection conn = connect(0x100000)) {
+            BlockCache.getInstance().clear();
+
+            final Table table = conn.getConnectionInfo().getCurrentSchema()
+                    .findTable(conn.getConnectionInfo(), "customer");
+            final List<Object[]> first = table.load(table.getFields());
+            final long misses = BlockCache.getInstance().getMisses();
+            Assert.assertEquals("Invalid cache hits.", 0, BlockCache.getInstance().getHits());
+            Assert.assertTrue("Invalid cache misses.", misses > 0);
+
+            final List<Object[]> second = table.load(table.getFields());
+            Assert.assertEquals("Invalid cache hits.", misses, BlockCache.getInstance().getHits());
+            Assert.assertEquals("Invalid cache misses.", misses, BlockCache.getInstance().getMisses());
+
+            Assert.assertEquals("Invalid row count.", first.size(), second.size());
+            for (int i = 0; i < first.size(); i++) {
+                Assert.assertArrayEquals("Invalid row value.", first.get(i), second.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test for memory budget.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testMemoryBudget() throws SQLException {
+        try (final ParadoxConnection conn = connect(1)) {
+            BlockCache.getInstance().clear();
+
+            final Table table = conn.getConnectionInfo().getCurrentSchema()
+                    .findTable(conn.getConnectionInfo(), "customer");
+            table.load(table.getFields());
+
+            Assert.assertEquals("Invalid cache size.", 0, BlockCache.getInstance().getSize());
+        }
+    }
+
+    /**
+     * Test for connections without cache.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testDisabled() throws SQLException {
+        try (final ParadoxConnection conn = connect(0)) {
+            BlockCache.getInstance().clear();
+
+            final Table table = conn.getConnectionInfo().getCurrentSchema()
+                    .findTable(conn.getConnectionInfo(), "customer");
+            table.load(table.getFields());
+
+            Assert.assertEquals("Invalid cache misses.", 0, BlockCache.getInstance().getMisses());
+        }
+    }
+
+    /**
+     * Test for connections with different budgets.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSharedBudget() throws SQLException {
+        try (final ParadoxConnection large = connect(0x100000); final ParadoxConnection small = connect(1)) {
+            Assert.assertNotNull("Invalid connection.", large);
+            Assert.assertNotNull("Invalid connection.", small);
+            Assert.assertEquals("Invalid cache budget.", 0x100000, BlockCache.getInstance().getMaxSize());
+        }
+    }
+
+    /**
+     * Test for blocks of old file versions.
+     */
+    @Test
+    public void testNewFileVersion() {
+        final BlockCache cache = BlockCache.getInstance();
+        cache.setMaxSize(0x100000);
+        cache.clear();
+
+        cache.put(new BlockCache.BlockKey("a", 0x100, 1, 1), new byte[0x10]);
+        cache.put(new BlockCache.BlockKey("a", 0x100, 1, 2), new byte[0x10]);
+        cache.put(new BlockCache.BlockKey("b", 0x100, 1, 1), new byte[0x10]);
+        Assert.assertEquals("Invalid cache size.", 0x30, cache.getSize());
+
+        Assert.assertNull("Invalid block.", cache.get(new BlockCache.BlockKey("a", 0x200, 2, 1)));
+        Assert.assertEquals("Old file version blocks not removed.", 0x10, cache.getSize());
+        Assert.assertNotNull("Invalid block.", cache.get(new BlockCache.BlockKey("b", 0x100, 1, 1)));
+    }
+}
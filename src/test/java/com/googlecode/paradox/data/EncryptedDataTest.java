@@ -10,17 +10,21 @@
  */
 package com.googlecode.paradox.data;
 
+import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.Driver;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.*;
+import java.util.Properties;
 
 /**
  * Unit test for encrypted data.
  *
- * @version 1.2
+ * @version 1.3
  * @since 1.5.0
  */
 public class EncryptedDataTest {
@@ -84,6 +88,58 @@ public class EncryptedDataTest {
         }
     }
 
+    /**
+     * Test for encrypted table with memory mapped scan.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testEncryptedMapped() throws SQLException {
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.SCAN_MODE_KEY, "mmap");
+
+        try (final Connection conn = DriverManager.getConnection(CONNECTION_STRING + "encrypt", info);
+             final Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM encrypt.encrypted35")) {
+
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertEquals("Invalid id value", 1.0D, rs.getDouble("A"), 0.0001D);
+            Assert.assertEquals("Invalid id value", "Test 1", rs.getString("B"));
+
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertEquals("Invalid id value", 2.0D, rs.getInt("A"), 0.0001D);
+            Assert.assertEquals("Invalid id value", "Test2", rs.getString("B"));
+
+            Assert.assertFalse("Invalid ResultSet state.", rs.next());
+        }
+    }
+
+    /**
+     * Test for encrypted table read from the block cache.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testEncryptedCached() throws SQLException {
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.BLOCK_CACHE_SIZE_KEY, "1048576");
+
+        try (final Connection conn = DriverManager.getConnection(CONNECTION_STRING + "encrypt", info);
+             final Statement stmt = conn.createStatement()) {
+            for (int i = 0; i < 2; i++) {
+                try (ResultSet rs = stmt.executeQuery("SELECT * FROM encrypt.encrypted35")) {
+                    Assert.assertTrue("Invalid ResultSet state.", rs.next());
+                    Assert.assertEquals("Invalid id value", "Test 1", rs.getString("B"));
+
+                    Assert.assertTrue("Invalid ResultSet state.", rs.next());
+                    Assert.assertEquals("Invalid id value", "Test2", rs.getString("B"));
+
+                    Assert.assertFalse("Invalid ResultSet state.", rs.next());
+                }
+            }
+        }
+    }
+
     /**
      * Test for encrypted blob.
      *
@@ -101,4 +157,30 @@ public class EncryptedDataTest {
             Assert.assertFalse("Invalid ResultSet state", rs.next());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for encrypted memo streaming.
+     *
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of I/O errors.
+     */
+    @Test
+    public void testEncryptedMemoStream() throws SQLException, IOException {
+        try (final Connection conn = DriverManager.getConnection(CONNECTION_STRING + "encrypt");
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery("select TEXT from encrypt.encryptedmemo")) {
+            while (rs.next()) {
+                final StringBuilder value = new StringBuilder();
+                try (Reader reader = rs.getCharacterStream("TEXT")) {
+                    final char[] buffer = new char[1000];
+                    int read;
+                    while ((read = reader.read(buffer)) != -1) {
+                        value.append(buffer, 0, read);
+                    }
+                }
+
+                Assert.assertEquals("Invalid value", rs.getString("TEXT"), value.toString());
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ package com.googlecode.paradox.data;
 
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.data.field.*;
 import com.googlecode.paradox.metadata.paradox.ParadoxField;
 import com.googlecode.paradox.results.ParadoxType;
 import com.googlecode.paradox.utils.TestUtil;
@@ -26,7 +27,7 @@ import java.sql.SQLException;
 /**
  * Unit test for {@link ParadoxFieldFactory} class.
  *
- * @version 1.3
+ * @version 1.4
  * @since 1.3
  */
 public class FieldFactoryTest {
@@ -75,4 +76,39 @@ public class FieldFactoryTest {
         final ParadoxField field = new ParadoxField(ParadoxType.NULL);
         ParadoxFieldFactory.parse(null, null, field);
     }
+
+    /**
+     * Test for the parser of each type, comparing with the parser matching the type.
+     */
+    @Test
+    public void testParserByType() {
+        final FieldParser[] parsers = {
+                new AutoIncrementField(),
+                new BCDField(),
+                new BlobField(),
+                new BooleanField(),
+                new BytesField(),
+                new DateField(),
+                new IntegerField(),
+                new LongField(),
+                new MemoField(),
+                new NumberField(),
+                new TimeField(),
+                new TimestampField(),
+                new VarcharField()
+        };
+
+        for (final ParadoxType type : ParadoxType.values()) {
+            Class<?> expected = null;
+            for (final FieldParser parser : parsers) {
+                if (parser.match(type)) {
+                    expected = parser.getClass();
+                    break;
+                }
+            }
+
+            final FieldParser parser = ParadoxFieldFactory.find(type);
+            Assert.assertEquals("Invalid parser: " + type, expected, parser == null ? null : parser.getClass());
+        }
+    }
 }
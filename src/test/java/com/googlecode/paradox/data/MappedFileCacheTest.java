@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.metadata.RowCursor;
+import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.schema.DirectorySchema;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for {@link MappedFileCache}.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public class MappedFileCacheTest {
+
+    /**
+     * The test tables directory.
+     */
+    private static final Path DB = Paths.get("target", "test-classes", "db");
+
+    /**
+     * The temporary directory.
+     */
+    private Path directory;
+
+    /**
+     * The cache to test.
+     */
+    private MappedFileCache cache;
+
+    /**
+     * Creates the temporary directory.
+     *
+     * @throws IOException in case of I/O errors.
+     */
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped");
+        cache = new MappedFileCache();
+    }
+
+    /**
+     * Removes the temporary directory.
+     *
+     * @throws IOException in case of I/O errors.
+     */
+    @After
+    public void tearDown() throws IOException {
+        cache.close();
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Creates a file with the specified length.
+     *
+     * @param name   the file name.
+     * @param length the file length.
+     * @return the file created.
+     * @throws IOException in case of I/O errors.
+     */
+    private File createFile(final String name, final int length) throws IOException {
+        final File file = directory.resolve(name).toFile();
+        Files.write(file.toPath(), new byte[length]);
+        return file;
+    }
+
+    /**
+     * Test for shared mappings.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testShared() throws IOException, SQLException {
+        final File file = createFile("a.db", 0x100);
+        final MappedFileCache.MappedFile first = cache.acquire(file);
+        final MappedFileCache.MappedFile second = cache.acquire(file);
+        Assert.assertSame("Mapping not shared.", first, second);
+        Assert.assertEquals("Invalid mapped bytes.", 0x100, cache.getMappedBytes());
+
+        cache.release(first);
+        cache.release(second);
+        Assert.assertEquals("Invalid mapped bytes.", 0x100, cache.getMappedBytes());
+    }
+
+    /**
+     * Test for changed files.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testChangedFile() throws IOException, SQLException {
+        final File file = createFile("a.db", 0x100);
+        final MappedFileCache.MappedFile first = cache.acquire(file);
+        cache.release(first);
+
+        createFile("a.db", 0x200);
+        final MappedFileCache.MappedFile second = cache.acquire(file);
+        Assert.assertNotSame("Stale mapping.", first, second);
+        Assert.assertEquals("Invalid mapped bytes.", 0x200, cache.getMappedBytes());
+        Assert.assertEquals("Invalid mapping.", 0x200, second.view().capacity());
+        cache.release(second);
+    }
+
+    /**
+     * Test for close with mappings in use.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testClose() throws IOException, SQLException {
+        final File file = createFile("a.db", 0x100);
+        final MappedFileCache.MappedFile mapped = cache.acquire(file);
+        cache.close();
+        Assert.assertEquals("Invalid mapped bytes.", 0, cache.getMappedBytes());
+
+        // Still valid until released.
+        Assert.assertEquals("Invalid mapping.", 0, mapped.view().get(0));
+        cache.release(mapped);
+        Assert.assertNotSame("Released mapping reused.", mapped, cache.acquire(file));
+    }
+
+    /**
+     * Creates a connection over a copy of the test table using memory mapped files.
+     *
+     * @return the connection information.
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    private ConnectionInfo createConnection() throws IOException, SQLException {
+        Files.copy(DB.resolve("AREACODES.DB"), directory.resolve("AREACODES.DB"));
+        final ConnectionInfo connectionInfo = new ConnectionInfo("jdbc:paradox:" + directory);
+        connectionInfo.put(ConnectionInfo.SCAN_MODE_KEY, "mmap");
+        connectionInfo.setCurrentSchema(new DirectorySchema(directory.toFile()));
+        return connectionInfo;
+    }
+
+    /**
+     * Test for closing a cursor more than once.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testCloseTwice() throws IOException, SQLException {
+        final ConnectionInfo connectionInfo = createConnection();
+        try {
+            final Table table = connectionInfo.getCurrentSchema().findTable(connectionInfo, "areacodes");
+            for (int i = 0; i < 2; i++) {
+                try (final RowCursor cursor = table.cursor(table.getFields())) {
+                    // Closed by the cursor end and again by the try.
+                    cursor.forEachRemaining(row -> {
+                        // Nothing to do.
+                    });
+                }
+            }
+
+            final MappedFileCache mappedFileCache = connectionInfo.getMappedFileCache();
+            final MappedFileCache.MappedFile mapped = mappedFileCache.acquire(
+                    directory.resolve("AREACODES.DB").toFile());
+            Assert.assertEquals("Invalid reference count.", 1, mappedFileCache.getReferences(mapped));
+            mappedFileCache.release(mapped);
+            Assert.assertEquals("Invalid reference count.", 0, mappedFileCache.getReferences(mapped));
+        } finally {
+            connectionInfo.close();
+        }
+    }
+
+    /**
+     * Test for releasing a mapping not in use.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testReleaseTwice() throws IOException, SQLException {
+        final MappedFileCache.MappedFile mapped = cache.acquire(createFile("a.db", 0x100));
+        cache.release(mapped);
+        cache.release(mapped);
+    }
+
+    /**
+     * Test for reading a file truncated by other process.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testTruncatedFile() throws IOException, SQLException {
+        final ConnectionInfo connectionInfo = createConnection();
+        final Table table = connectionInfo.getCurrentSchema().findTable(connectionInfo, "areacodes");
+        try {
+            try (final RowCursor cursor = table.cursor(table.getFields())) {
+                Assert.assertTrue("Invalid row count.", cursor.hasNext());
+            }
+
+            try (final RandomAccessFile file = new RandomAccessFile(directory.resolve("AREACODES.DB").toFile(),
+                    "rw")) {
+                file.setLength(0x800);
+            }
+
+            // The mapping is checked when the next cursor opens.
+            try (final RowCursor cursor = table.cursor(table.getFields())) {
+                cursor.forEachRemaining(row -> {
+                    // Nothing to do.
+                });
+                Assert.fail("Truncated file read.");
+            } catch (final InternalException e) {
+                Assert.assertNotNull("Invalid exception.", e.getCause());
+            }
+        } finally {
+            connectionInfo.close();
+        }
+    }
+}
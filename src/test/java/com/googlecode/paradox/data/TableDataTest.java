@@ -10,21 +10,32 @@
  */
 package com.googlecode.paradox.data;
 
+import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
 import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.Index;
+import com.googlecode.paradox.metadata.IndexType;
+import com.googlecode.paradox.metadata.KeyRange;
+import com.googlecode.paradox.metadata.RowCursor;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.rowset.ValuesComparator;
 import com.googlecode.paradox.utils.TestUtil;
 import org.junit.*;
 
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
 
 /**
  * Unit test for {@link TableData}.
  *
- * @version 1.6
+ * @version 1.9
  * @since 1.0
  */
 public class TableDataTest {
@@ -165,6 +176,319 @@ public class TableDataTest {
         Assert.assertNotNull("Error loading table data.", table.load(fields));
     }
 
+    /**
+     * Test for table cursor.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testCursor() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "areacodes");
+        final List<Object[]> data = table.load(table.getFields());
+
+        int count = 0;
+        try (final RowCursor cursor = table.cursor(table.getFields())) {
+            while (cursor.hasNext()) {
+                Assert.assertArrayEquals("Invalid row value.", data.get(count), cursor.next());
+                count++;
+            }
+        }
+
+        Assert.assertEquals("Invalid row count.", data.size(), count);
+    }
+
+    /**
+     * Test for cursor filter decoding only the filter columns.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testCursorFilter() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "customer");
+        final List<Object[]> data = table.load(table.getFields());
+        final Object first = data.get(0)[0];
+
+        final List<Object[]> filtered = new ArrayList<>();
+        try (final RowCursor cursor = table.cursor(table.getFields()).filter(new int[]{0}, (Object[] row) -> {
+            Assert.assertNull("Column loaded before filter.", row[1]);
+            return first.equals(row[0]);
+        })) {
+            cursor.forEachRemaining(filtered::add);
+        }
+
+        Assert.assertEquals("Invalid row count.", 1, filtered.size());
+        Assert.assertArrayEquals("Invalid row value.", data.get(0), filtered.get(0));
+    }
+
+    /**
+     * Test for field projection out of table order.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testProjection() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "customer");
+        final Field[] all = table.getFields();
+        final List<Object[]> data = table.load(all);
+
+        final Field[] fields = new Field[]{all[all.length - 1], all[0]};
+        final List<Object[]> projected = table.load(fields);
+
+        Assert.assertEquals("Invalid row count.", data.size(), projected.size());
+        for (int i = 0; i < data.size(); i++) {
+            Assert.assertEquals("Invalid row value.", data.get(i)[all.length - 1], projected.get(i)[0]);
+            Assert.assertEquals("Invalid row value.", data.get(i)[0], projected.get(i)[1]);
+        }
+    }
+
+    /**
+     * Test for memory mapped scan.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testMappedScan() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "customer");
+        final List<Object[]> data = table.load(table.getFields());
+
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.SCAN_MODE_KEY, "mmap");
+        try (final ParadoxConnection mapped = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING + "db",
+                info)) {
+            final Table mappedTable = mapped.getConnectionInfo().getCurrentSchema()
+                    .findTable(mapped.getConnectionInfo(), "customer");
+            final List<Object[]> mappedData = mappedTable.load(mappedTable.getFields());
+
+            Assert.assertEquals("Invalid row count.", data.size(), mappedData.size());
+            for (int i = 0; i < data.size(); i++) {
+                Assert.assertArrayEquals("Invalid row value.", data.get(i), mappedData.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test for parallel scan.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testParallelScan() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "areacodes");
+        final List<Object[]> data = table.load(table.getFields());
+
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.PARALLEL_SCAN_KEY, "true");
+        try (final ParadoxConnection parallel = (ParadoxConnection) DriverManager.getConnection(
+                CONNECTION_STRING + "db", info)) {
+            final Table parallelTable = parallel.getConnectionInfo().getCurrentSchema()
+                    .findTable(parallel.getConnectionInfo(), "areacodes");
+            final List<Object[]> parallelData = parallelTable.load(parallelTable.getFields());
+
+            Assert.assertEquals("Invalid row count.", data.size(), parallelData.size());
+            for (int i = 0; i < data.size(); i++) {
+                Assert.assertArrayEquals("Invalid row value.", data.get(i), parallelData.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test for primary key seek.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSeek() throws SQLException {
+        try (final ParadoxConnection areas = (ParadoxConnection) DriverManager.getConnection(
+                CONNECTION_STRING + "areas")) {
+            final Table table = areas.getConnectionInfo().getCurrentSchema()
+                    .findTable(areas.getConnectionInfo(), "zipcodes");
+            final Index index = Arrays.stream(table.getIndexes()).filter(i -> i.type() == IndexType.PRIMARY_KEY)
+                    .findFirst().orElseThrow(AssertionError::new);
+            final List<Object[]> data = table.load(table.getFields());
+
+            assertSeek(areas.getConnectionInfo(), table, index, data, new KeyRange("35004", "35004"));
+            assertSeek(areas.getConnectionInfo(), table, index, data, new KeyRange("50000", "50100"));
+            assertSeek(areas.getConnectionInfo(), table, index, data, new KeyRange(null, "10000"));
+            assertSeek(areas.getConnectionInfo(), table, index, data, new KeyRange("99000", null));
+            assertSeek(areas.getConnectionInfo(), table, index, data, new KeyRange("invalid", "invalid"));
+        }
+    }
+
+    /**
+     * Test for primary key seek with numeric keys.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSeekNumeric() throws SQLException {
+        try (final ParadoxConnection fields = (ParadoxConnection) DriverManager.getConnection(
+                CONNECTION_STRING + "fields")) {
+            final Table table = fields.getConnectionInfo().getCurrentSchema()
+                    .findTable(fields.getConnectionInfo(), "long");
+            final Index index = Arrays.stream(table.getIndexes()).filter(i -> i.type() == IndexType.PRIMARY_KEY)
+                    .findFirst().orElseThrow(AssertionError::new);
+            final List<Object[]> data = table.load(table.getFields());
+
+            assertSeek(fields.getConnectionInfo(), table, index, data, new KeyRange(1, 1));
+            assertSeek(fields.getConnectionInfo(), table, index, data, new KeyRange(null, 0));
+            assertSeek(fields.getConnectionInfo(), table, index, data, new KeyRange(2L, null));
+        }
+    }
+
+    /**
+     * Test for primary key seek with values not converted to the key type.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSeekInvalidValueWithoutWarnings() throws SQLException {
+        try (final ParadoxConnection fields = (ParadoxConnection) DriverManager.getConnection(
+                CONNECTION_STRING + "fields")) {
+            final Table table = fields.getConnectionInfo().getCurrentSchema()
+                    .findTable(fields.getConnectionInfo(), "long");
+            final Index index = Arrays.stream(table.getIndexes()).filter(i -> i.type() == IndexType.PRIMARY_KEY)
+                    .findFirst().orElseThrow(AssertionError::new);
+
+            Assert.assertNull("Invalid seek.", table.seek(table.getFields(), index,
+                    Collections.singletonList(KeyRange.of("invalid"))));
+            for (SQLWarning warning = fields.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+                Assert.assertFalse("Invalid conversion warning.",
+                        warning.getCause() instanceof IllegalArgumentException);
+            }
+        }
+    }
+
+    /**
+     * Test for primary key seek with key values in a different order.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSeekUnordered() throws SQLException {
+        try (final ParadoxConnection areas = (ParadoxConnection) DriverManager.getConnection(
+                CONNECTION_STRING + "areas")) {
+            final Table table = areas.getConnectionInfo().getCurrentSchema()
+                    .findTable(areas.getConnectionInfo(), "zipcodes");
+            final Index index = Arrays.stream(table.getIndexes()).filter(i -> i.type() == IndexType.PRIMARY_KEY)
+                    .findFirst().orElseThrow(AssertionError::new);
+
+            Assert.assertNull("Invalid seek.", table.seek(table.getFields(), index,
+                    Collections.singletonList(KeyRange.of(35004))));
+        }
+    }
+
+    /**
+     * Test for secondary index seek.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSeekSecondaryIndex() throws SQLException {
+        try (final ParadoxConnection joins = (ParadoxConnection) DriverManager.getConnection(
+                CONNECTION_STRING + "joins")) {
+            final Table table = joins.getConnectionInfo().getCurrentSchema()
+                    .findTable(joins.getConnectionInfo(), "c");
+            final Field field = table.getFields()[2];
+            final Index index = Arrays.stream(table.getIndexes())
+                    .filter(i -> i.type() != IndexType.PRIMARY_KEY
+                            && i.getFields()[0].getName().equals(field.getName()))
+                    .findFirst().orElseThrow(AssertionError::new);
+            final List<Object[]> data = table.load(table.getFields());
+
+            assertSeek(joins.getConnectionInfo(), table, index, data, KeyRange.of(5));
+            assertSeek(joins.getConnectionInfo(), table, index, data, new KeyRange(5, null));
+            assertSeek(joins.getConnectionInfo(), table, index, data, new KeyRange(null, 4L));
+
+            try (final RowCursor cursor = table.seek(table.getFields(), index,
+                    Collections.singletonList(KeyRange.of(100)))) {
+                Assert.assertNotNull("Index not used.", cursor);
+                Assert.assertFalse("Invalid row.", cursor.hasNext());
+            }
+        }
+    }
+
+    /**
+     * Test for secondary index seek not used with other sort orders.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSeekSecondaryIndexSortOrder() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "customer");
+        final Index index = Arrays.stream(table.getIndexes()).filter(i -> i.type() != IndexType.PRIMARY_KEY)
+                .findFirst().orElseThrow(AssertionError::new);
+
+        Assert.assertNull("Invalid seek.", table.seek(table.getFields(), index,
+                Collections.singletonList(KeyRange.of("Aptos"))));
+    }
+
+    /**
+     * Checks if the seek reads all rows in the range.
+     *
+     * @param connectionInfo the connection information.
+     * @param table          the table.
+     * @param index          the index.
+     * @param data           all table rows.
+     * @param range          the key range.
+     * @throws SQLException in case of failures.
+     */
+    private static void assertSeek(final ConnectionInfo connectionInfo, final Table table, final Index index,
+                                   final List<Object[]> data, final KeyRange range) throws SQLException {
+        int column = 0;
+        while (!table.getFields()[column].getName().equals(index.getFields()[0].getName())) {
+            column++;
+        }
+
+        final List<Object[]> expected = new ArrayList<>();
+        for (final Object[] row : data) {
+            if (inRange(row[column], range, connectionInfo)) {
+                expected.add(row);
+            }
+        }
+
+        final List<Object[]> actual = new ArrayList<>();
+        int read = 0;
+        try (final RowCursor cursor = table.seek(table.getFields(), index, Collections.singletonList(range))) {
+            Assert.assertNotNull("Primary key not used.", cursor);
+            while (cursor.hasNext()) {
+                final Object[] row = cursor.next();
+                read++;
+                if (inRange(row[column], range, connectionInfo)) {
+                    actual.add(row);
+                }
+            }
+        }
+
+        Assert.assertEquals("Invalid row count.", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals("Invalid row value.", expected.get(i), actual.get(i));
+        }
+
+        if (expected.size() < data.size() / 2) {
+            Assert.assertTrue("Too many rows read.", read < data.size());
+        }
+    }
+
+    /**
+     * Gets if the key is in the range.
+     *
+     * @param key            the key.
+     * @param range          the key range.
+     * @param connectionInfo the connection information.
+     * @return {@code true} if the key is in the range.
+     */
+    private static boolean inRange(final Object key, final KeyRange range, final ConnectionInfo connectionInfo) {
+        return key != null && (range.getLow() == null
+                || ValuesComparator.compare(key, range.getLow(), connectionInfo) >= 0)
+                && (range.getHigh() == null || ValuesComparator.compare(key, range.getHigh(), connectionInfo) <= 0);
+    }
+
     /**
      * Test for class sanity.
      */
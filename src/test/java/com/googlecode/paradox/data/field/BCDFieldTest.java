@@ -10,16 +10,23 @@
  */
 package com.googlecode.paradox.data.field;
 
+import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.paradox.ParadoxField;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.results.ParadoxType;
 import org.junit.*;
 
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.sql.*;
 
 /**
  * Unit test for BCD field.
  *
- * @version 1.2
+ * @version 1.3
  * @since 1.5.0
  */
 public class BCDFieldTest {
@@ -151,4 +158,108 @@ public class BCDFieldTest {
             Assert.assertFalse("Invalid Result Set state.", rs.next());
         }
     }
+
+    /**
+     * Test for BCD parsing in decimal mode.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testParseDecimal() throws SQLException {
+        final ParadoxTable table = createTable(false);
+        Assert.assertEquals("Invalid value.", new BigDecimal("1.23"), parse(table, "123", 2, false));
+        Assert.assertEquals("Invalid value.", new BigDecimal("-1.23"), parse(table, "123", 2, true));
+        Assert.assertEquals("Invalid value.", new BigDecimal("12.0"), parse(table, "12", 0, false));
+        Assert.assertEquals("Invalid value.", new BigDecimal("0.00"), parse(table, "0", 2, true));
+        Assert.assertEquals("Invalid value.", new BigDecimal("0.12345678901234567890123456789012"),
+                parse(table, "12345678901234567890123456789012", BCDField.MAX_DIGITS, false));
+        Assert.assertEquals("Invalid value.", new BigDecimal("-1234567890123456789012.3456789012"),
+                parse(table, "12345678901234567890123456789012", 10, true));
+    }
+
+    /**
+     * Test for BCD parsing in rounding mode.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testParseRounding() throws SQLException {
+        final ParadoxTable table = createTable(true);
+        Assert.assertEquals("Invalid value.", 1.23D, parse(table, "123", 2, false));
+        Assert.assertEquals("Invalid value.", -0.9999D, parse(table, "9999", 4, true));
+        Assert.assertEquals("Invalid value.", -0.0D, parse(table, "0", 2, true));
+        Assert.assertEquals("Invalid value.", Double.valueOf("0.12345678901234567890123456789012"),
+                parse(table, "12345678901234567890123456789012", BCDField.MAX_DIGITS, false));
+        Assert.assertEquals("Invalid value.", Double.valueOf("1234567890123456789012.3456789012"),
+                parse(table, "12345678901234567890123456789012", 10, false));
+    }
+
+    /**
+     * Test for null BCD values.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testParseNull() throws SQLException {
+        final ParadoxField field = new ParadoxField(ParadoxType.BCD);
+        field.setSize(2);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(BCDField.BCD_SIZE);
+        Assert.assertNull("Invalid value.", new BCDField().parse(createTable(false), buffer, field));
+        Assert.assertEquals("Invalid position.", BCDField.BCD_SIZE, buffer.position());
+    }
+
+    /**
+     * Creates a table to parse values.
+     *
+     * @param rounding if the values are loaded as double.
+     * @return the table.
+     * @throws SQLException in case of failures.
+     */
+    private static ParadoxTable createTable(final boolean rounding) throws SQLException {
+        final ConnectionInfo info = new ConnectionInfo(CONNECTION_STRING);
+        info.put(ConnectionInfo.BCD_ROUNDING_KEY, Boolean.toString(rounding));
+        return new ParadoxTable(new File("table.db"), info);
+    }
+
+    /**
+     * Encodes and parses a BCD value.
+     *
+     * @param table     the table.
+     * @param digits    the value digits.
+     * @param precision the field precision.
+     * @param negative  if the value is negative.
+     * @return the parsed value.
+     */
+    private static Object parse(final ParadoxTable table, final String digits, final int precision,
+                                final boolean negative) {
+        final ParadoxField field = new ParadoxField(ParadoxType.BCD);
+        field.setSize(precision);
+
+        final StringBuilder nibbles = new StringBuilder(digits);
+        while (nibbles.length() < BCDField.MAX_DIGITS) {
+            nibbles.insert(0, '0');
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(BCDField.BCD_SIZE);
+        final int mask;
+        if (negative) {
+            buffer.put((byte) 0x02);
+            mask = 0xFF;
+        } else {
+            buffer.put((byte) 0x82);
+            mask = 0;
+        }
+
+        for (int i = 0; i < BCDField.MAX_DIGITS; i += 2) {
+            final int value = Character.digit(nibbles.charAt(i), 10) << BCDField.SECOND_BYTE
+                    | Character.digit(nibbles.charAt(i + 1), 10);
+            buffer.put((byte) (value ^ mask));
+        }
+
+        buffer.flip();
+        final Object value = new BCDField().parse(table, buffer, field);
+        Assert.assertEquals("Invalid position.", BCDField.BCD_SIZE, buffer.position());
+        return value;
+    }
 }
@@ -18,6 +18,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -26,7 +27,7 @@ import java.sql.*;
 /**
  * Unit test for blob fields.
  *
- * @version 1.0
+ * @version 1.1
  * @since 1.6.0
  */
 @SuppressWarnings({"java:S109", "java:S1192"})
@@ -228,4 +229,34 @@ public class BlobFieldTest {
 
         Assert.assertArrayEquals("Invalid values written", pattern, blob.getBytes(1, (int) blob.length()));
     }
+
+    /**
+     * Test for big blob streaming.
+     *
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of I/O errors.
+     */
+    @Test
+    public void testBigBlobStream() throws SQLException, IOException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("select Graphic from fields.graphic where Id = 3")) {
+            Assert.assertTrue("Invalid ResultSet state", rs.next());
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream is = rs.getBinaryStream("Graphic")) {
+                out.write(is.read());
+
+                final byte[] buffer = new byte[1000];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+
+                Assert.assertEquals("Invalid stream state", -1, is.read());
+            }
+
+            Assert.assertArrayEquals("Invalid binary stream", rs.getBytes("Graphic"), out.toByteArray());
+            Assert.assertFalse("Invalid ResultSet state", rs.next());
+        }
+    }
 }
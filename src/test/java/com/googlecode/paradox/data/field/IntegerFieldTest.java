@@ -19,7 +19,7 @@ import java.nio.ByteBuffer;
 /**
  * Unit test for {@link IntegerField} class.
  *
- * @version 1.3
+ * @version 1.4
  * @since 1.3
  */
 public class IntegerFieldTest {
@@ -50,6 +50,18 @@ public class IntegerFieldTest {
         Assert.assertEquals("Invalid number value.", -16295, value);
     }
 
+    /**
+     * Test for the static parse method.
+     */
+    @Test
+    public void testParseValue() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{(byte) 0x87, (byte) 0xE1});
+        Assert.assertEquals("Invalid number value.", Integer.valueOf(2017), IntegerField.parseValue(buffer));
+
+        buffer = ByteBuffer.wrap(new byte[]{(byte) 0x00, (byte) 0x00});
+        Assert.assertNull("Invalid null value.", IntegerField.parseValue(buffer));
+    }
+
     /**
      * Test for valid match.
      */
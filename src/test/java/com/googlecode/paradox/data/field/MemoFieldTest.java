@@ -12,17 +12,23 @@ package com.googlecode.paradox.data.field;
 
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.RowCursor;
+import com.googlecode.paradox.metadata.Table;
 import org.junit.*;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Unit test for MEMO field.
  *
- * @version 1.0
+ * @version 1.1
  * @since 1.5.0
  */
 public class MemoFieldTest {
@@ -108,4 +114,71 @@ public class MemoFieldTest {
             Assert.assertFalse("Invalid Result Set state.", rs.next());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for memo values loaded only when used.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testDeferredMemo() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "memo");
+        final List<Object[]> data = table.load(table.getFields());
+
+        final List<Object[]> deferred = new ArrayList<>();
+        try (final RowCursor cursor = table.cursor(table.getFields()).deferLobs(new int[]{1})) {
+            cursor.forEachRemaining(deferred::add);
+        }
+
+        Assert.assertEquals("Invalid row count.", data.size(), deferred.size());
+        Assert.assertTrue("Invalid value.", deferred.get(0)[1] instanceof LobReference);
+
+        final LobReference reference = (LobReference) deferred.get(0)[1];
+        Assert.assertEquals("Invalid size.", 555, reference.getSize());
+        Assert.assertEquals("Invalid value.", data.get(0)[1], reference.load());
+        Assert.assertEquals("Invalid value.", data.get(0)[0], deferred.get(0)[0]);
+    }
+
+    /**
+     * Test for memo reading with conditions.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testReadMemoWithCondition() throws SQLException {
+        try (Statement stmt = this.conn.createStatement(); ResultSet rs = stmt.executeQuery(
+                "SELECT MEMO FROM fields.memo where Id = 1")) {
+            Assert.assertTrue("Invalid Result Set state.", rs.next());
+            Assert.assertEquals("Invalid value.", 555, rs.getString("MEMO").length());
+            Assert.assertEquals("Invalid value.", 555, rs.getClob("MEMO").length());
+            Assert.assertFalse("Invalid Result Set state.", rs.next());
+        }
+    }
+
+    /**
+     * Test for memo streaming.
+     *
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of I/O errors.
+     */
+    @Test
+    public void testMemoStream() throws SQLException, IOException {
+        try (Statement stmt = this.conn.createStatement(); ResultSet rs = stmt.executeQuery(
+                "SELECT MEMO FROM fields.memo where Id = 1")) {
+            Assert.assertTrue("Invalid Result Set state.", rs.next());
+
+            final StringBuilder value = new StringBuilder();
+            try (Reader reader = rs.getCharacterStream("MEMO")) {
+                final char[] buffer = new char[100];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    value.append(buffer, 0, read);
+                }
+            }
+
+            Assert.assertEquals("Invalid value.", rs.getString("MEMO"), value.toString());
+            Assert.assertFalse("Invalid Result Set state.", rs.next());
+        }
+    }
+}
@@ -10,14 +10,20 @@
  */
 package com.googlecode.paradox.data.field;
 
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
 /**
  * Unit test for {@link VarcharField} class.
  *
- * @version 1.5
+ * @version 1.6
  * @since 1.3
  */
 public class VarcharFieldTest {
@@ -39,4 +45,63 @@ public class VarcharFieldTest {
         final VarcharField field = new VarcharField();
         Assert.assertTrue("Field doesn't match.", field.match(ParadoxType.VARCHAR));
     }
+
+    /**
+     * Test for ASCII values.
+     */
+    @Test
+    public void testParseAscii() {
+        Assert.assertEquals("Invalid value.", "Test",
+                parse("cp1252", ByteBuffer.wrap(new byte[]{'T', 'e', 's', 't', 0, 0})));
+    }
+
+    /**
+     * Test for single byte charset values.
+     */
+    @Test
+    public void testParseSingleByte() {
+        final byte[] value = {'S', (byte) 0xE3, 'o', 0};
+        Assert.assertEquals("Invalid value.", "S\u00e3o", parse("cp1252", ByteBuffer.wrap(value)));
+        Assert.assertEquals("Invalid value.", "S\u03c0o", parse("cp437", ByteBuffer.wrap(value)));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(value.length);
+        direct.put(value);
+        direct.flip();
+        Assert.assertEquals("Invalid value.", "S\u00e3o", parse("cp1252", direct));
+    }
+
+    /**
+     * Test for multi byte charset values.
+     */
+    @Test
+    public void testParseMultiByte() {
+        Assert.assertEquals("Invalid value.", "\u3042",
+                parse("windows-31j", ByteBuffer.wrap(new byte[]{(byte) 0x82, (byte) 0xA0, 0, 0})));
+    }
+
+    /**
+     * Test for null values.
+     */
+    @Test
+    public void testParseNull() {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0, 0, 0, 0});
+        Assert.assertNull("Invalid value.", parse("cp1252", buffer));
+        Assert.assertEquals("Invalid buffer position.", 4, buffer.position());
+    }
+
+    /**
+     * Parses a value using the full buffer as field.
+     *
+     * @param charset the table charset.
+     * @param buffer  the buffer to parse.
+     * @return the parsed value.
+     */
+    private static Object parse(final String charset, final ByteBuffer buffer) {
+        final ParadoxTable table = new ParadoxTable(new File("table.db"), null);
+        table.setCharset(Charset.forName(charset));
+
+        final Field field = new Field();
+        field.setSize(buffer.remaining());
+        return new VarcharField().parse(table, buffer, field);
+    }
 }
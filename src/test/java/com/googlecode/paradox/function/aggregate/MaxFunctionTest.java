@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.function.aggregate;
+
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.function.aggregate.context.MaxContext;
+import com.googlecode.paradox.function.aggregate.context.MinContext;
+import com.googlecode.paradox.results.ParadoxType;
+import org.junit.*;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Unit test for {@link MaxFunction}.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public class MaxFunctionTest {
+
+    /**
+     * The connection string used in this tests.
+     */
+    private static final String CONNECTION_STRING = "jdbc:paradox:target/test-classes/";
+
+    /**
+     * The database connection.
+     */
+    private ParadoxConnection conn;
+
+    /**
+     * Creates a new instance.
+     */
+    public MaxFunctionTest() {
+        super();
+    }
+
+    /**
+     * Register the database driver.
+     */
+    @BeforeClass
+    public static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Close the test connection.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @After
+    public void closeConnection() throws SQLException {
+        if (this.conn != null) {
+            this.conn.close();
+        }
+    }
+
+    /**
+     * Connect to the test database.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Before
+    @SuppressWarnings("java:S2115")
+    public void connect() throws SQLException {
+        this.conn = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING + "db");
+    }
+
+    /**
+     * Test for max function.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testMax() throws SQLException {
+        try (final PreparedStatement stmt = this.conn.prepareStatement("select max(id), min(id) from fields.long");
+             final ResultSet rs = stmt.executeQuery()) {
+            Assert.assertTrue("Invalid result set state", rs.next());
+            Assert.assertEquals("Invalid value", new BigDecimal("3.0"), rs.getBigDecimal(1));
+            Assert.assertEquals("Invalid value", new BigDecimal("1.0"), rs.getBigDecimal(2));
+            Assert.assertFalse("Invalid result set state", rs.next());
+        }
+    }
+
+    /**
+     * Test for contexts without value, ignored as in min function.
+     */
+    @Test
+    public void testNullValue() {
+        final MaxContext max = new MaxContext(null);
+        max.process(new MaxContext(2, ParadoxType.INTEGER, this.conn.getConnectionInfo()),
+                this.conn.getConnectionInfo());
+        max.process(new MaxContext(null), this.conn.getConnectionInfo());
+        Assert.assertEquals("Invalid value", new BigDecimal("2.0"), max.toValue());
+
+        final MinContext min = new MinContext(null);
+        min.process(new MinContext(2, ParadoxType.INTEGER, this.conn.getConnectionInfo()),
+                this.conn.getConnectionInfo());
+        min.process(new MinContext(null), this.conn.getConnectionInfo());
+        Assert.assertEquals("Invalid value", new BigDecimal("2.0"), min.toValue());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.googlecode.paradox.function.aggregate;
+
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.function.aggregate.context.MaxContext;
+import com.googlecode.paradox.function.aggregate.context.SumContext;
+import com.googlecode.paradox.results.ParadoxType;
+import org.junit.*;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Unit test for {@link SumFunction}.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public class SumFunctionTest {
+
+    /**
+     * The connection string used in this tests.
+     */
+    private static final String CONNECTION_STRING = "jdbc:paradox:target/test-classes/";
+
+    /**
+     * The database connection.
+     */
+    private ParadoxConnection conn;
+
+    /**
+     * Creates a new instance.
+     */
+    public SumFunctionTest() {
+        super();
+    }
+
+    /**
+     * Register the database driver.
+     */
+    @BeforeClass
+    public static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Close the test connection.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @After
+    public void closeConnection() throws SQLException {
+        if (this.conn != null) {
+            this.conn.close();
+        }
+    }
+
+    /**
+     * Connect to the test database.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Before
+    @SuppressWarnings("java:S2115")
+    public void connect() throws SQLException {
+        this.conn = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING + "db");
+    }
+
+    /**
+     * Test for integer values.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testIntegerSum() throws SQLException {
+        try (final PreparedStatement stmt = this.conn.prepareStatement(
+                "select sum(Id), sum(\"LONG\") from fields.long");
+             final ResultSet rs = stmt.executeQuery()) {
+            Assert.assertTrue("Invalid result set state", rs.next());
+            Assert.assertEquals("Invalid value", new BigDecimal("6.0"), rs.getBigDecimal(1));
+            Assert.assertEquals("Invalid value", new BigDecimal("3.0"), rs.getBigDecimal(2));
+            Assert.assertFalse("Invalid result set state", rs.next());
+        }
+    }
+
+    /**
+     * Test for BCD values.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testBcdSum() throws SQLException {
+        try (final PreparedStatement stmt = this.conn.prepareStatement("select sum(A), sum(C) from fields.bcd");
+             final ResultSet rs = stmt.executeQuery()) {
+            Assert.assertTrue("Invalid result set state", rs.next());
+            Assert.assertEquals("Invalid value", 0, BigDecimal.ZERO.compareTo(rs.getBigDecimal(1)));
+            Assert.assertEquals("Invalid value", new BigDecimal("0.9999"), rs.getBigDecimal(2));
+            Assert.assertFalse("Invalid result set state", rs.next());
+        }
+    }
+
+    /**
+     * Test for integer overflow.
+     */
+    @Test
+    public void testOverflow() {
+        final SumContext context = new SumContext(Long.MAX_VALUE, ParadoxType.LONG, this.conn.getConnectionInfo());
+        context.process(new SumContext(Long.MAX_VALUE, ParadoxType.LONG, this.conn.getConnectionInfo()),
+                this.conn.getConnectionInfo());
+        context.process(new SumContext(2, ParadoxType.INTEGER, this.conn.getConnectionInfo()),
+                this.conn.getConnectionInfo());
+
+        Assert.assertEquals("Invalid value", 0, new BigDecimal("18446744073709551616")
+                .compareTo(context.toValue()));
+    }
+
+    /**
+     * Test for floating point values.
+     */
+    @Test
+    public void testFloatingPointSum() {
+        final SumContext context = new SumContext(1E16, ParadoxType.NUMBER, this.conn.getConnectionInfo());
+        for (int i = 0; i < 10; i++) {
+            context.process(new SumContext(1D, ParadoxType.NUMBER, this.conn.getConnectionInfo()),
+                    this.conn.getConnectionInfo());
+        }
+
+        // Each value is lost in a plain double sum.
+        Assert.assertEquals("Invalid value", 0, BigDecimal.valueOf(1E16 + 10).compareTo(context.toValue()));
+    }
+
+    /**
+     * Test for values of different types.
+     */
+    @Test
+    public void testMixedTypes() {
+        final SumContext context = new SumContext(1, ParadoxType.INTEGER, this.conn.getConnectionInfo());
+        context.process(new SumContext(0.5D, ParadoxType.NUMBER, this.conn.getConnectionInfo()),
+                this.conn.getConnectionInfo());
+        context.process(new SumContext(new BigDecimal("0.25")), this.conn.getConnectionInfo());
+
+        Assert.assertEquals("Invalid value", 0, new BigDecimal("1.75").compareTo(context.toValue()));
+
+        final MaxContext max = new MaxContext(3, ParadoxType.INTEGER, this.conn.getConnectionInfo());
+        max.process(new MaxContext(3.5D, ParadoxType.NUMBER, this.conn.getConnectionInfo()),
+                this.conn.getConnectionInfo());
+        Assert.assertEquals("Invalid value", 0, new BigDecimal("3.5").compareTo(max.toValue()));
+    }
+}
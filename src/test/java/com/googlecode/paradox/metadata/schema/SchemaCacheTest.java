@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata.schema;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.metadata.Table;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for {@link SchemaCache}.
+ *
+ * @version 1.1
+ * @since 1.6.0
+ */
+public class SchemaCacheTest {
+
+    /**
+     * The test tables directory.
+     */
+    private static final Path AREAS = Paths.get("target", "test-classes", "areas");
+
+    /**
+     * The temporary schema directory.
+     */
+    private Path schema;
+
+    /**
+     * The connection information.
+     */
+    private ConnectionInfo connectionInfo;
+
+    /**
+     * Creates the temporary schema.
+     *
+     * @throws IOException in case of I/O errors.
+     */
+    @Before
+    public void setUp() throws IOException {
+        schema = Files.createTempDirectory("schema");
+        connectionInfo = new ConnectionInfo("jdbc:paradox:" + schema);
+        connectionInfo.setCurrentSchema(new DirectorySchema(schema.toFile()));
+    }
+
+    /**
+     * Removes the temporary schema.
+     *
+     * @throws IOException in case of I/O errors.
+     */
+    @After
+    public void tearDown() throws IOException {
+        try (final Stream<Path> paths = Files.walk(schema)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Copies a test table to the temporary schema.
+     *
+     * @param source the source table file name.
+     * @param target the target table file name.
+     * @throws IOException in case of I/O errors.
+     */
+    private void copy(final String source, final String target) throws IOException {
+        final Path file = schema.resolve(target);
+        Files.copy(AREAS.resolve(source), file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Test for cached tables.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testCachedTable() throws IOException, SQLException {
+        copy("STATES.DB", "T.DB");
+
+        final DirectorySchema directorySchema = new DirectorySchema(schema.toFile());
+        final Table table = directorySchema.findTable(connectionInfo, "T");
+        Assert.assertNotNull("Invalid table", table);
+        Assert.assertSame("Table not cached", table, directorySchema.findTable(connectionInfo, "t"));
+        Assert.assertSame("Table not cached", table, new DirectorySchema(schema.toFile())
+                .findTable(connectionInfo, "T"));
+    }
+
+    /**
+     * Test for the same directory by other path.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testCanonicalDirectory() throws IOException, SQLException {
+        copy("STATES.DB", "T.DB");
+
+        final File other = schema.resolve("..").resolve(schema.getFileName()).toFile();
+        Assert.assertSame("Cache not shared", connectionInfo.getSchemaCache(schema.toFile()),
+                connectionInfo.getSchemaCache(other));
+
+        final Table table = new DirectorySchema(schema.toFile()).findTable(connectionInfo, "T");
+        Assert.assertSame("Table not cached", table, new DirectorySchema(other).findTable(connectionInfo, "T"));
+
+        connectionInfo.close();
+        Assert.assertNotSame("Cache not released", table, new DirectorySchema(schema.toFile())
+                .findTable(connectionInfo, "T"));
+    }
+
+    /**
+     * Test for changed tables.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testChangedTable() throws IOException, SQLException {
+        copy("STATES.DB", "T.DB");
+
+        final DirectorySchema directorySchema = new DirectorySchema(schema.toFile());
+        final Table table = directorySchema.findTable(connectionInfo, "T");
+        Assert.assertNotNull("Invalid table", table);
+
+        copy("AREACODE.DB", "T.DB");
+        final Table changed = directorySchema.findTable(connectionInfo, "T");
+        Assert.assertNotSame("Table not reloaded", table, changed);
+        Assert.assertNotEquals("Invalid row count", table.getRowCount(), changed.getRowCount());
+    }
+
+    /**
+     * Test for removed tables.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testRemovedTable() throws IOException, SQLException {
+        copy("STATES.DB", "T.DB");
+
+        final DirectorySchema directorySchema = new DirectorySchema(schema.toFile());
+        Assert.assertNotNull("Invalid table", directorySchema.findTable(connectionInfo, "T"));
+
+        Files.delete(schema.resolve("T.DB"));
+        Assert.assertNull("Table not removed", directorySchema.findTable(connectionInfo, "T"));
+    }
+
+    /**
+     * Test for changed views.
+     *
+     * @throws IOException  in case of I/O errors.
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testChangedView() throws IOException, SQLException {
+        copy("STATES.DB", "T.DB");
+        final Path view = schema.resolve("V.sql");
+        Files.write(view, "select * from T".getBytes(StandardCharsets.UTF_8));
+
+        final DirectorySchema directorySchema = new DirectorySchema(schema.toFile());
+        Assert.assertEquals("Invalid view", 4, directorySchema.findTable(connectionInfo, "V").getFields().length);
+
+        Files.write(view, "select State from T".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("View not reloaded", 1,
+                directorySchema.findTable(connectionInfo, "V").getFields().length);
+    }
+}
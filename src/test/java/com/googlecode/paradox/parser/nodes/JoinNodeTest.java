@@ -25,7 +25,7 @@ import java.sql.Statement;
 /**
  * Unit test {@link JoinNode} class.
  *
- * @version 1.4
+ * @version 1.5
  * @since 1.3
  */
 public class JoinNodeTest {
@@ -246,4 +246,66 @@ public class JoinNodeTest {
         }
     }
 
+    /**
+     * Test for inner join with conditions on the joined table only.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testInnerJoinWithTableCondition() throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(
+                "select a.id a, b.id b from joins.joina A inner join joins.joinb b on b.Id = a.ID and b.Id > 2")) {
+
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertEquals("Invalid value.", 3, rs.getInt("a"));
+            Assert.assertEquals("Invalid value.", 3, rs.getInt("b"));
+            Assert.assertFalse("Invalid ResultSet state.", rs.next());
+        }
+    }
+
+    /**
+     * Test for left join with conditions on the joined table only.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testLeftJoinWithTableCondition() throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(
+                "select a.id a, b.id b from joins.joina A left join joins.joinb b on b.Id = a.ID and b.Id = 3")) {
+
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertEquals("Invalid value.", 1, rs.getInt("a"));
+            Assert.assertNull("Invalid value.", rs.getObject("b"));
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertEquals("Invalid value.", 2, rs.getInt("a"));
+            Assert.assertNull("Invalid value.", rs.getObject("b"));
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertEquals("Invalid value.", 3, rs.getInt("a"));
+            Assert.assertEquals("Invalid value.", 3, rs.getInt("b"));
+            Assert.assertFalse("Invalid ResultSet state.", rs.next());
+        }
+    }
+
+    /**
+     * Test for right join with conditions on the preserved table only.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testRightJoinWithTableCondition() throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(
+                "select a.id a, b.id b from joins.joina A right join joins.joinb b on b.Id = a.ID and b.Id = 3")) {
+
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertNull("Invalid value.", rs.getObject("a"));
+            Assert.assertEquals("Invalid value.", 2, rs.getInt("b"));
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertEquals("Invalid value.", 3, rs.getInt("a"));
+            Assert.assertEquals("Invalid value.", 3, rs.getInt("b"));
+            Assert.assertTrue("Invalid ResultSet state.", rs.next());
+            Assert.assertNull("Invalid value.", rs.getObject("a"));
+            Assert.assertEquals("Invalid value.", 4, rs.getInt("b"));
+            Assert.assertFalse("Invalid ResultSet state.", rs.next());
+        }
+    }
 }
@@ -10,23 +10,34 @@
  */
 package com.googlecode.paradox.planner.plan;
 
+import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
 import com.googlecode.paradox.exceptions.ParadoxException;
+import com.googlecode.paradox.metadata.RowCursor;
 import com.googlecode.paradox.parser.SQLParser;
 import com.googlecode.paradox.parser.nodes.StatementNode;
 import com.googlecode.paradox.planner.Planner;
+import com.googlecode.paradox.planner.context.SelectContext;
 import com.googlecode.paradox.planner.nodes.comparable.EqualsNode;
 import com.googlecode.paradox.planner.nodes.join.ANDNode;
 import com.googlecode.paradox.planner.nodes.join.ORNode;
 import org.junit.*;
 
+import java.io.File;
+import java.io.FilenameFilter;
+import java.math.BigDecimal;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
 
 /**
  * Unit test for {@link SelectPlan} class.
  *
- * @version 1.9
+ * @version 1.22
  * @since 1.3
  */
 @SuppressWarnings({"java:S109", "java:S1192"})
@@ -546,4 +557,386 @@ public class SelectPlanTest {
             Assert.assertNotEquals("Invalid value", "--", rs.getString(1));
         }
     }
+
+    /**
+     * Test for vectorized filters.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testVectorized() throws SQLException {
+        final String[] queries = {
+                "select * from geog.County where CountyID > 200 and CountyID <= 250",
+                "select * from geog.County where 205 > CountyID",
+                "select * from geog.County where CountyID <> 205 and not CountyID >= 300",
+                "select * from geog.County where CountyID = '205.5' or CountyID = 207",
+                "select * from AREACODES where AC = 202",
+                "select * from joins.joinb where Id = 2 or not (Id = 2 or Id = 3)"
+        };
+
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.VECTORIZED_KEY, "true");
+        try (final Connection vectorized = DriverManager.getConnection(CONNECTION_STRING + "db", info)) {
+            for (final String query : queries) {
+                final List<Object[]> expected = query(this.conn, query);
+                final List<Object[]> values = query(vectorized, query);
+
+                Assert.assertFalse("Invalid result: " + query, expected.isEmpty());
+                Assert.assertEquals("Invalid row count: " + query, expected.size(), values.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Assert.assertArrayEquals("Invalid row value: " + query, expected.get(i), values.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test for primary key seek results.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testPrimaryKeySeek() throws SQLException {
+        final String[] conditions = {
+                "%s = '35004'",
+                "'35004' = %s",
+                "%s in ('35004', '50001', '99950')",
+                "%s between '50000' and '50100'",
+                "%s > '99000'",
+                "'10000' >= %s",
+                "%s < '10000' and State = 'MA'",
+                "%s >= '35004' and %s < '35010' and State = 'AL'"
+        };
+
+        for (final String condition : conditions) {
+            final String seek = "select * from areas.zipcodes where " + condition.replace("%s", "Zip");
+            final String scan = "select * from areas.zipcodes where " + condition.replace("%s", "upper(Zip)");
+            final List<Object[]> expected = query(this.conn, scan);
+            final List<Object[]> values = query(this.conn, seek);
+
+            Assert.assertFalse("Invalid result: " + seek, expected.isEmpty());
+            Assert.assertEquals("Invalid row count: " + seek, expected.size(), values.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertArrayEquals("Invalid row value: " + seek, expected.get(i), values.get(i));
+            }
+        }
+
+        try (final PreparedStatement stmt = this.conn.prepareStatement(
+                "select count(*) from areas.zipcodes where Zip = ?")) {
+            stmt.setString(1, "35004");
+            try (final ResultSet rs = stmt.executeQuery()) {
+                Assert.assertTrue("Invalid result set state", rs.next());
+                Assert.assertEquals("Invalid value", 1, rs.getInt(1));
+            }
+        }
+    }
+
+    /**
+     * Test for secondary index seek results.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testSecondaryIndexSeek() throws SQLException {
+        try (final PreparedStatement stmt = this.conn.prepareStatement(
+                "select C from joins.c where B = ? and A between 1 and 3")) {
+            stmt.setInt(1, 5);
+            try (final ResultSet rs = stmt.executeQuery()) {
+                Assert.assertTrue("Invalid result set state", rs.next());
+                Assert.assertEquals("Invalid value", 2, rs.getInt("C"));
+                Assert.assertFalse("Invalid result set state", rs.next());
+            }
+        }
+
+        Assert.assertTrue("Invalid result", query(this.conn, "select C from joins.c where B = 100").isEmpty());
+        final List<Object[]> values = query(this.conn, "select C from joins.c where B in (4, 6)");
+        Assert.assertEquals("Invalid row count", 2, values.size());
+    }
+
+    /**
+     * Test for hash join results, comparing with the nested loop join.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testHashJoin() throws SQLException {
+        final String[] queries = {
+                "select * from geog.tblAC ac inner join geog.tblsttes st on %s",
+                "select * from geog.tblsttes st inner join geog.tblAC ac on %s",
+                "select * from geog.tblsttes st inner join geog.tblAC ac on %s and ac.AreaCode > '500'",
+                "select * from geog.tblsttes st cross join geog.tblAC ac where %s",
+                "select * from geog.tblAC ac left join geog.tblsttes st on %s",
+                "select * from geog.tblsttes st left join geog.tblAC ac on %s and ac.AreaCode > '500'",
+                "select * from geog.tblAC ac right join geog.tblsttes st on %s",
+                "select * from geog.tblsttes st right join geog.tblAC ac on %s and ac.AreaCode > '500'",
+                "select * from geog.tblAC ac full join geog.tblsttes st on %s and ac.AreaCode > '500'",
+                "select * from geog.tblsttes st full join geog.tblAC ac on %s and ac.AreaCode > '500'"
+        };
+
+        for (final String query : queries) {
+            final String hash = String.format(query, "st.State = ac.State");
+            final String loop = String.format(query, "upper(st.State) = upper(ac.State)");
+            final List<Object[]> expected = query(this.conn, loop);
+            final List<Object[]> values = query(this.conn, hash);
+
+            Assert.assertFalse("Invalid result: " + hash, expected.isEmpty());
+            Assert.assertEquals("Invalid row count: " + hash, expected.size(), values.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertArrayEquals("Invalid row value: " + hash, expected.get(i), values.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test for group by results, comparing with the distinct values.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testGroupByKeys() throws SQLException {
+        final String[] keys = {"State", "State, Effective", "Effective, State", "AreaCode"};
+        for (final String key : keys) {
+            final List<Object[]> expected = query(this.conn, "select distinct " + key + " from geog.tblAC");
+            final List<Object[]> values = query(this.conn,
+                    "select " + key + ", count(*) from geog.tblAC group by " + key);
+
+            Assert.assertEquals("Invalid group count: " + key, expected.size(), values.size());
+            long total = 0;
+            for (int i = 0; i < expected.size(); i++) {
+                final Object[] row = values.get(i);
+                Assert.assertArrayEquals("Invalid group key: " + key, expected.get(i),
+                        Arrays.copyOf(row, row.length - 1));
+                total += ((Number) row[row.length - 1]).longValue();
+            }
+
+            Assert.assertEquals("Invalid row count: " + key, query(this.conn, "select * from geog.tblAC").size(),
+                    total);
+        }
+    }
+
+    /**
+     * Test for parallel group by results.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testParallelAggregation() throws SQLException {
+        final String[] queries = {
+                "select State, count(*), count(City) from areas.zipcodes group by State",
+                "select City, State, count(Zip) from areas.zipcodes group by State, City",
+                "select count(*) from areas.zipcodes"
+        };
+
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.PARALLEL_AGGREGATION_KEY, "true");
+        try (final Connection parallel = DriverManager.getConnection(CONNECTION_STRING + "db", info)) {
+            for (final String query : queries) {
+                final List<Object[]> expected = query(this.conn, query);
+                final List<Object[]> values = query(parallel, query);
+
+                Assert.assertFalse("Invalid result: " + query, expected.isEmpty());
+                Assert.assertEquals("Invalid row count: " + query, expected.size(), values.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Assert.assertArrayEquals("Invalid row value: " + query, expected.get(i), values.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test for order by with max rows, comparing with the first rows of the full result.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testOrderByMaxRows() throws SQLException {
+        final String[] queries = {
+                "select AreaCode, State from geog.tblAC order by State",
+                "select AreaCode, State from geog.tblAC order by State desc, AreaCode",
+                "select State, count(*) from geog.tblAC group by State order by 2 desc"
+        };
+
+        for (final String query : queries) {
+            final List<Object[]> expected = query(this.conn, query);
+            for (final int maxRows : new int[]{1, 10, expected.size() + 1}) {
+                final List<Object[]> values = new ArrayList<>();
+                try (final Statement stmt = this.conn.createStatement()) {
+                    stmt.setMaxRows(maxRows);
+                    try (final ResultSet rs = stmt.executeQuery(query)) {
+                        while (rs.next()) {
+                            values.add(new Object[]{rs.getObject(1), rs.getObject(2)});
+                        }
+                    }
+                }
+
+                Assert.assertEquals("Invalid row count: " + query, Math.min(maxRows, expected.size()),
+                        values.size());
+                for (int i = 0; i < values.size(); i++) {
+                    Assert.assertArrayEquals("Invalid row value: " + query, expected.get(i), values.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test for order by with temporary files, comparing with the sort in memory.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testOrderBySortMemory() throws SQLException {
+        final String[] queries = {
+                "select Zip, State, City from areas.zipcodes order by State, City",
+                "select distinct State, City from areas.zipcodes order by City desc",
+                "select AreaCode, State from geog.tblAC order by State"
+        };
+
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.SORT_MEMORY_KEY, "65536");
+        try (final Connection sorted = DriverManager.getConnection(CONNECTION_STRING + "db", info)) {
+            for (final String query : queries) {
+                final List<Object[]> expected = query(this.conn, query);
+                final List<Object[]> values = query(sorted, query);
+
+                Assert.assertFalse("Invalid result: " + query, expected.isEmpty());
+                Assert.assertEquals("Invalid row count: " + query, expected.size(), values.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Assert.assertArrayEquals("Invalid row value: " + query, expected.get(i), values.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test for scrolling the order by rows kept in a temporary file.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testOrderBySortMemoryScroll() throws SQLException {
+        final String query = "select Zip, State, City from areas.zipcodes order by State, City";
+        final List<Object[]> expected = query(this.conn, query);
+
+        final File directory = new File(System.getProperty("java.io.tmpdir"));
+        final FilenameFilter filter = (dir, name) -> name.startsWith("paradox") && name.endsWith(".rows");
+        final int before = Objects.requireNonNull(directory.list(filter)).length;
+
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.SORT_MEMORY_KEY, "65536");
+        try (final Connection sorted = DriverManager.getConnection(CONNECTION_STRING + "db", info);
+             final Statement stmt = sorted.createStatement()) {
+            final ResultSet rs = stmt.executeQuery(query);
+            Assert.assertEquals("Rows not in a temporary file", before + 1,
+                    Objects.requireNonNull(directory.list(filter)).length);
+
+            Assert.assertTrue("Invalid result set state", rs.last());
+            Assert.assertEquals("Invalid row count", expected.size(), rs.getRow());
+            Assert.assertEquals("Invalid row value", expected.get(expected.size() - 1)[0], rs.getObject(1));
+
+            Assert.assertTrue("Invalid result set state", rs.absolute(2));
+            Assert.assertEquals("Invalid row value", expected.get(1)[0], rs.getObject(1));
+            Assert.assertTrue("Invalid result set state", rs.previous());
+            Assert.assertEquals("Invalid row value", expected.get(0)[0], rs.getObject(1));
+
+            rs.close();
+            Assert.assertEquals("Temporary file not removed", before,
+                    Objects.requireNonNull(directory.list(filter)).length);
+        }
+    }
+
+    /**
+     * Test for group by with a null function argument in the first row of the group.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testGroupByNullArgument() throws SQLException {
+        final List<Object[]> values = query(this.conn, "select State, max(nullif(AreaCode, '201')), "
+                + "min(nullif(AreaCode, '201')), count(*) from geog.tblAC where State = 'NJ' group by State");
+
+        Assert.assertEquals("Invalid group count", 1, values.size());
+        Assert.assertEquals("Invalid maximum", 0, new BigDecimal("973").compareTo((BigDecimal) values.get(0)[1]));
+        Assert.assertEquals("Invalid minimum", 0, new BigDecimal("609").compareTo((BigDecimal) values.get(0)[2]));
+        Assert.assertEquals("Invalid row count", 5, ((Number) values.get(0)[3]).intValue());
+    }
+
+    /**
+     * Test for the parallel cursor in single table queries.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testParallelScanCursor() throws SQLException {
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.PARALLEL_SCAN_KEY, "true");
+        try (final ParadoxConnection parallel = (ParadoxConnection) DriverManager.getConnection(
+                CONNECTION_STRING + "db", info)) {
+            final SQLParser parser = new SQLParser("select * from areas.zipcodes");
+            final SelectPlan plan = (SelectPlan) Planner.create(parallel.getConnectionInfo(), parser.parse());
+            final SelectContext context = plan.createContext(parallel.getConnectionInfo(), null, null);
+
+            try (final RowCursor cursor = IndexScan.open(context, plan.getTables().get(0), null)) {
+                Assert.assertEquals("Invalid cursor", "ParallelBlockCursor", cursor.getClass().getSimpleName());
+                Assert.assertEquals("Invalid row count", query(this.conn, "select * from areas.zipcodes").size(),
+                        cursor.stream().count());
+            }
+        }
+    }
+
+    /**
+     * Test for parallel scan results, with and without table filters.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    public void testParallelScan() throws SQLException {
+        final String[] queries = {
+                "select * from customer",
+                "select CustNo, Comments from customer where CustNo > 2",
+                "select * from customer where Comments is not null",
+                "select * from areacodes where State = 'NY'",
+                "select * from areas.zipcodes",
+                "select a.AC, c.CustNo from areacodes a join customer c on a.State = c.State/Prov"
+        };
+
+        final Properties info = new Properties();
+        info.put(ConnectionInfo.PARALLEL_SCAN_KEY, "true");
+        try (final Connection parallel = DriverManager.getConnection(CONNECTION_STRING + "db", info)) {
+            for (final String query : queries) {
+                final List<Object[]> expected = query(this.conn, query);
+                final List<Object[]> values = query(parallel, query);
+
+                Assert.assertEquals("Invalid row count: " + query, expected.size(), values.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Assert.assertArrayEquals("Invalid row value: " + query, expected.get(i), values.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Execute a query and gets all values.
+     *
+     * @param conn  the connection to use.
+     * @param query the query to execute.
+     * @return the query values.
+     * @throws SQLException in case of failures.
+     */
+    private static List<Object[]> query(final Connection conn, final String query) throws SQLException {
+        final List<Object[]> ret = new ArrayList<>();
+        try (final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery(query)) {
+            final int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                final Object[] row = new Object[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+
+                ret.add(row);
+            }
+        }
+
+        return ret;
+    }
 }
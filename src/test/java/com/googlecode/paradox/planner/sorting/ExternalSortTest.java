@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.sorting;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for {@link ExternalSort}.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public class ExternalSortTest {
+
+    /**
+     * Compares the rows by the first column.
+     */
+    private static final Comparator<Object[]> COMPARATOR = Comparator.comparing(row -> (Integer) row[0]);
+
+    /**
+     * Test for sort in memory.
+     */
+    @Test
+    public void testInMemory() {
+        final List<Object[]> rows = createRows(100);
+        Assert.assertEquals("Invalid temporary files.", 0, sort(rows, Long.MAX_VALUE));
+    }
+
+    /**
+     * Test for sort with temporary files merged at once.
+     */
+    @Test
+    public void testRuns() {
+        final List<Object[]> rows = createRows(1000);
+        Assert.assertTrue("Invalid temporary files.", sort(rows, 0x2000) > 1);
+    }
+
+    /**
+     * Test for sort with temporary files merged in more than one pass.
+     */
+    @Test
+    public void testMergePasses() {
+        final List<Object[]> rows = createRows(1000);
+        Assert.assertTrue("Invalid temporary files.", sort(rows, 1) > 64 * 4);
+    }
+
+    /**
+     * Test for the values written to the temporary files.
+     */
+    @Test
+    public void testValues() {
+        final Object reference = new Object();
+        final List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{2, "text", 3L, 1.5D, new BigDecimal("-12.345"), true, false, null});
+        rows.add(new Object[]{1, new Date(86_400_000L), new Time(3_600_000L), Timestamp.valueOf(
+                "2020-01-02 03:04:05.123456789"), new byte[]{1, 2}, reference, "", null});
+
+        final ExternalSort sort = new ExternalSort(COMPARATOR, 1);
+        rows.forEach(sort);
+        try (final Stream<Object[]> stream = sort.getRows()) {
+            final List<Object[]> values = stream.collect(Collectors.toList());
+            Assert.assertEquals("Invalid row count.", 2, values.size());
+            Assert.assertArrayEquals("Invalid row value.", rows.get(1), values.get(0));
+            Assert.assertArrayEquals("Invalid row value.", rows.get(0), values.get(1));
+            Assert.assertSame("Invalid reference.", reference, values.get(0)[5]);
+        }
+    }
+
+    /**
+     * Creates rows with repeated keys, with the arrival order in the second column.
+     *
+     * @param count the row count.
+     * @return the rows.
+     */
+    private static List<Object[]> createRows(final int count) {
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{(i * 7919) % 31, i, "Row " + i});
+        }
+
+        return rows;
+    }
+
+    /**
+     * Sorts the rows, comparing with a stable sort in memory.
+     *
+     * @param rows   the rows to sort.
+     * @param memory the memory budget.
+     * @return the temporary files created.
+     */
+    private static int sort(final List<Object[]> rows, final long memory) {
+        final File directory = new File(System.getProperty("java.io.tmpdir"));
+        final int before = countFiles(directory);
+
+        final List<Object[]> expected = new ArrayList<>(rows);
+        expected.sort(COMPARATOR);
+
+        final ExternalSort sort = new ExternalSort(COMPARATOR, memory);
+        rows.forEach(sort);
+        final int files = countFiles(directory) - before;
+        try (final Stream<Object[]> stream = sort.getRows()) {
+            final List<Object[]> values = stream.collect(Collectors.toList());
+            Assert.assertEquals("Invalid row count.", expected.size(), values.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertArrayEquals("Invalid row value.", expected.get(i), values.get(i));
+            }
+        }
+
+        Assert.assertEquals("Temporary files not removed.", before, countFiles(directory));
+        return files;
+    }
+
+    /**
+     * Counts the sort temporary files.
+     *
+     * @param directory the temporary directory.
+     * @return the file count.
+     */
+    private static int countFiles(final File directory) {
+        return (int) Stream.of(Objects.requireNonNull(directory.listFiles()))
+                .filter(file -> file.getName().startsWith("paradox") && file.getName().endsWith(".sort"))
+                .count();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.sorting;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for {@link RowFile}.
+ *
+ * @version 1.0
+ * @since 1.6.0
+ */
+public class RowFileTest {
+
+    /**
+     * Test for rows within the memory budget.
+     */
+    @Test
+    public void testInMemory() {
+        final List<Object[]> rows = createRows(100);
+        final List<Object[]> values = RowFile.collect(rows.stream(), Long.MAX_VALUE);
+        Assert.assertFalse("Invalid row list.", values instanceof RowFile);
+        Assert.assertEquals("Invalid row count.", rows.size(), values.size());
+    }
+
+    /**
+     * Test for rows in a temporary file, read in any order.
+     */
+    @Test
+    public void testFile() {
+        final File directory = new File(System.getProperty("java.io.tmpdir"));
+        final int before = countFiles(directory);
+
+        final List<Object[]> rows = createRows(5000);
+        final List<Object[]> values = RowFile.collect(rows.stream(), 0x1000);
+        try {
+            Assert.assertTrue("Invalid row list.", values instanceof RowFile);
+            Assert.assertEquals("Temporary file not created.", before + 1, countFiles(directory));
+            Assert.assertEquals("Invalid row count.", rows.size(), values.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Assert.assertArrayEquals("Invalid row value.", rows.get(i), values.get(i));
+            }
+
+            for (int i = rows.size() - 1; i >= 0; i -= 7) {
+                Assert.assertArrayEquals("Invalid row value.", rows.get(i), values.get(i));
+            }
+        } finally {
+            ((RowFile) values).close();
+        }
+
+        Assert.assertEquals("Temporary file not removed.", before, countFiles(directory));
+        Assert.assertEquals("Invalid row count.", 0, values.size());
+    }
+
+    /**
+     * Test for rows larger than the read buffer.
+     */
+    @Test
+    public void testLargeRows() {
+        final char[] text = new char[0x5000];
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            text[i] = 'a';
+            rows.add(new Object[]{i, new String(text), new BigDecimal("12345678901234567890.5")});
+        }
+
+        try (final RowFile values = (RowFile) RowFile.collect(rows.stream(), 1)) {
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                Assert.assertArrayEquals("Invalid row value.", rows.get(i), values.get(i));
+            }
+        }
+    }
+
+    /**
+     * Creates rows with the row number.
+     *
+     * @param count the row count.
+     * @return the rows.
+     */
+    private static List<Object[]> createRows(final int count) {
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{i, "Row " + i, (long) i * i, null});
+        }
+
+        return rows;
+    }
+
+    /**
+     * Counts the row temporary files.
+     *
+     * @param directory the temporary directory.
+     * @return the file count.
+     */
+    private static int countFiles(final File directory) {
+        return (int) Stream.of(Objects.requireNonNull(directory.listFiles()))
+                .filter(file -> file.getName().startsWith("paradox") && file.getName().endsWith(".rows"))
+                .count();
+    }
+}
@@ -19,12 +19,14 @@ import org.junit.Test;
 
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.TimeZone;
 
 /**
  * Unit test for {@link DateUtils}.
  *
- * @version 1.0
+ * @version 1.2
  * @since 1.3
  */
 public class DateUtilsTest {
@@ -136,4 +138,51 @@ public class DateUtilsTest {
         Assert.assertNull("Date is not null.", DateUtils.sdnToGregorian(0));
         Assert.assertNull("Date is not null.", DateUtils.sdnToGregorian(-1));
     }
+
+    /**
+     * Test the SDN conversion against the calendar date.
+     */
+    @Test
+    public void testSdnToGregorianDates() {
+        for (long sdn = 1_721_426; sdn < 2_600_000; sdn += 997) {
+            final LocalDate expected = LocalDate.ofEpochDay(sdn - 2_440_588);
+            Assert.assertEquals("Invalid date.", expected.toString(), DateUtils.sdnToGregorian(sdn).toString());
+        }
+    }
+
+    /**
+     * Test the cached dates with time zone changes.
+     */
+    @Test
+    public void testSdnToGregorianTimeZone() {
+        final TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("GMT"));
+            Assert.assertEquals("Invalid date.", 0L, DateUtils.sdnToGregorian(2_440_588).getTime());
+
+            TimeZone.setDefault(TimeZone.getTimeZone("GMT-03:00"));
+            Assert.assertEquals("Invalid date.", 10_800_000L, DateUtils.sdnToGregorian(2_440_588).getTime());
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    /**
+     * Test the conversion with a resolved date cache.
+     */
+    @Test
+    public void testSdnToGregorianResolvedCache() {
+        final TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("GMT"));
+            final DateUtils.DateCache dates = DateUtils.getCache();
+            Assert.assertEquals("Invalid time origin.", DateUtils.getTimeOrigin(), dates.getTimeOrigin());
+
+            TimeZone.setDefault(TimeZone.getTimeZone("GMT-03:00"));
+            Assert.assertEquals("Invalid date.", 0L, DateUtils.sdnToGregorian(2_440_588, dates).getTime());
+            Assert.assertEquals("Invalid date.", 10_800_000L, DateUtils.sdnToGregorian(2_440_588).getTime());
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
 }